@@ -0,0 +1,110 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick target selection cost against quarry area.
+ *
+ * One invocation = one mining tick: find the next mineable cell after the
+ * previous target and mine it (clear its bit). A drained layer is re-armed
+ * from the same random pattern, so every invocation does the same work.
+ *
+ * - maskNextTarget: QuarryLayerMask, the live path minus the single
+ *   shouldMine re-check of the cell handed out
+ * - cellWalkBaseline: the pre-mask forward scan, one cell per step in sweep
+ *   order over a plain array (a lower bound: the real scan also read the
+ *   world for every cell)
+ *
+ * Expected: maskNextTarget stays flat across size for a given density;
+ * cellWalkBaseline grows as density drops (about 1 / density cells per tick).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QuarryLayerMaskBenchmark {
+
+    /** Outer frame size, as in the "quarry.size" config. */
+    @Param({"11", "33", "65", "129"})
+    int size;
+
+    /** Fraction of cells that are mineable. */
+    @Param({"0.5", "0.05", "0.005"})
+    double density;
+
+    private QuarryLayerMask mask;
+    private int[] pattern;      // sweep indices of the mineable cells, re-armed when drained
+    private boolean[] cells;    // baseline: same layer as a flat array in sweep order
+    private int maskCursor;
+    private int cellCursor;
+
+    @Setup
+    public void setup() {
+        QuarryGeometryHelper.Bounds b = QuarryGeometryHelper.boundsForFacing(BlockPos.ZERO, Direction.NORTH, size / 2, 5);
+        mask = new QuarryLayerMask(b, Direction.NORTH, 0, true, true);
+
+        int n = mask.size();
+        Random rnd = new Random(1234L);
+        int[] tmp = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (rnd.nextDouble() < density) tmp[count++] = i;
+        }
+        if (count == 0) tmp[count++] = n - 1;
+        pattern = Arrays.copyOf(tmp, count);
+
+        cells = new boolean[n];
+        rearmMask();
+        rearmCells();
+        maskCursor = -1;
+        cellCursor = -1;
+    }
+
+    @Benchmark
+    public int maskNextTarget() {
+        int i = mask.nextMarked(maskCursor + 1);
+        if (i < 0) {
+            rearmMask();
+            i = mask.nextMarked(0);
+        }
+        int x = mask.xAt(i), z = mask.zAt(i);
+        mask.mark(x, z, false);
+        maskCursor = i;
+        return x ^ z;
+    }
+
+    @Benchmark
+    public int cellWalkBaseline() {
+        int n = cells.length;
+        int i = cellCursor + 1;
+        while (i < n && !cells[i]) i++;
+        if (i == n) {
+            rearmCells();
+            i = 0;
+            while (!cells[i]) i++;
+        }
+        cells[i] = false;
+        cellCursor = i;
+        return i;
+    }
+
+    private void rearmMask() {
+        for (int i : pattern) mask.mark(mask.xAt(i), mask.zAt(i), true);
+    }
+
+    private void rearmCells() {
+        for (int i : pattern) cells[i] = true;
+    }
+}
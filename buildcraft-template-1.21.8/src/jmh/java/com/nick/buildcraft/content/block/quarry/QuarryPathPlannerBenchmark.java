@@ -0,0 +1,93 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gantry path planning over a quarry interior with random impassable columns.
+ *
+ * One invocation = one plan between a pre-drawn start / goal pair (pairs
+ * cycle, so the JIT cannot specialise on a single route).
+ *
+ * - reusedPlanner: the live setup, one planner per quarry reused across plans
+ * - freshPlanner: a new planner per plan, i.e. the cost of growing the arrays
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuarryPathPlannerBenchmark {
+
+    private static final int PAIRS = 64;
+    private static final int WALL = 1000;   // far above any lift: impassable
+
+    /** Outer frame size, as in the "quarry.size" config. */
+    @Param({"11", "65", "129"})
+    int size;
+
+    /** Fraction of interior columns that are impassable. */
+    @Param({"0.0", "0.2"})
+    double obstacles;
+
+    private QuarryGeometryHelper.Bounds bounds;
+    private QuarryObstacleMap map;
+    private final QuarryPathPlanner planner = new QuarryPathPlanner();
+    private final BlockPos[] starts = new BlockPos[PAIRS];
+    private final BlockPos[] goals = new BlockPos[PAIRS];
+    private int next;
+
+    @Setup
+    public void setup() {
+        bounds = QuarryGeometryHelper.boundsForFacing(BlockPos.ZERO, Direction.NORTH, size / 2, 5);
+        map = new QuarryObstacleMap(bounds, bounds.y0);
+
+        int xMin = bounds.x0 + 1, xMax = bounds.x1 - 1;
+        int zMin = bounds.z0 + 1, zMax = bounds.z1 - 1;
+        Random rnd = new Random(99L);
+        boolean[][] blocked = new boolean[xMax - xMin + 1][zMax - zMin + 1];
+        for (int x = xMin; x <= xMax; x++) {
+            for (int z = zMin; z <= zMax; z++) {
+                if (rnd.nextDouble() < obstacles) {
+                    map.setColumn(x, z, WALL, false);
+                    blocked[x - xMin][z - zMin] = true;
+                }
+            }
+        }
+
+        for (int k = 0; k < PAIRS; k++) {
+            starts[k] = freeCell(rnd, blocked, xMin, zMin);
+            goals[k] = freeCell(rnd, blocked, xMin, zMin);
+        }
+        next = 0;
+    }
+
+    private BlockPos freeCell(Random rnd, boolean[][] blocked, int xMin, int zMin) {
+        while (true) {
+            int xi = rnd.nextInt(blocked.length), zi = rnd.nextInt(blocked[0].length);
+            if (!blocked[xi][zi]) return new BlockPos(xMin + xi, bounds.y0, zMin + zi);
+        }
+    }
+
+    @Benchmark
+    public ArrayDeque<BlockPos> reusedPlanner() {
+        int k = next++ & (PAIRS - 1);
+        return planner.plan(map, bounds, starts[k], goals[k]);
+    }
+
+    @Benchmark
+    public ArrayDeque<BlockPos> freshPlanner() {
+        int k = next++ & (PAIRS - 1);
+        return new QuarryPathPlanner().plan(map, bounds, starts[k], goals[k]);
+    }
+}
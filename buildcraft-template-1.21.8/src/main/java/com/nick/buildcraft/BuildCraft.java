@@ -7,8 +7,10 @@ import com.nick.buildcraft.registry.ModCapabilities;
 import com.nick.buildcraft.registry.ModEntities;
 import com.nick.buildcraft.registry.ModFeatures;
 import com.nick.buildcraft.registry.ModFluids;
+import com.nick.buildcraft.registry.ModGameTests;
 import com.nick.buildcraft.registry.ModItems;
 import com.nick.buildcraft.registry.ModMenus;
+import com.nick.buildcraft.registry.ModPayloads;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.CreativeModeTab;
@@ -75,6 +77,7 @@ public class BuildCraft {
 
                                 // Tools
                                 out.accept(ModItems.WRENCH);
+                                out.accept(ModItems.QUARRY_HEAD_UPGRADE);
 
                                 // Fluids (buckets)
                                 out.accept(ModFluids.BUCKET_OIL.get());
@@ -101,11 +104,15 @@ public class BuildCraft {
         ModMenus.MENUS.register(modEventBus);
         ModFluids.register(modEventBus);
         ModFeatures.FEATURES.register(modEventBus);
+        ModGameTests.TEST_FUNCTIONS.register(modEventBus);
         CREATIVE_MODE_TABS.register(modEventBus);
 
         // NEW: attach capability registration (fluid/tank/pump/pipe/etc)
         ModCapabilities.register(modEventBus);
 
+        // custom packets (fluid pipe render deltas, ...)
+        ModPayloads.register(modEventBus);
+
         modContainer.registerConfig(ModConfig.Type.COMMON, Config.SPEC);
 
         NeoForge.EVENT_BUS.addListener(this::onServerStarting);
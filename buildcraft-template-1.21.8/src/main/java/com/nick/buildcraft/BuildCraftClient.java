@@ -1,6 +1,7 @@
 package com.nick.buildcraft;
 
 import com.nick.buildcraft.client.render.EngineRenderer;
+import com.nick.buildcraft.client.render.FluidPipeModel;
 import com.nick.buildcraft.client.render.FluidPipeRenderer;
 import com.nick.buildcraft.client.render.LaserEntityRenderer;
 import com.nick.buildcraft.client.render.MiningWellRenderer;
@@ -27,6 +28,7 @@ import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
 import net.neoforged.neoforge.client.event.EntityRenderersEvent;
+import net.neoforged.neoforge.client.event.ModelEvent;
 import net.neoforged.neoforge.client.event.RegisterMenuScreensEvent;
 import net.neoforged.neoforge.client.extensions.common.IClientFluidTypeExtensions;
 import net.neoforged.neoforge.client.extensions.common.RegisterClientExtensionsEvent;
@@ -111,7 +113,7 @@ public final class BuildCraftClient {
         );
 
         // *** NEW: Fluid pipes (stone / cobble fluid pipes)
-        // Shows moving fluid blobs inside pipes
+        // Shows moving fluid fronts inside pipes; full pipes are drawn by FluidPipeModel
         event.registerBlockEntityRenderer(
                 ModBlockEntity.FLUID_PIPE.get(),
                 FluidPipeRenderer::new
@@ -149,6 +151,16 @@ public final class BuildCraftClient {
 
     }
 
+    /**
+     * Wrap every fluid pipe blockstate model so full pipes put their fluid
+     * into the chunk mesh (see FluidPipeModel).
+     */
+    @SubscribeEvent
+    static void onModifyBakingResult(ModelEvent.ModifyBakingResult event) {
+        event.getBakingResult().blockStateModels().replaceAll((state, model) ->
+                ModBlockEntity.FLUID_PIPE.get().isValid(state) ? new FluidPipeModel(model) : model);
+    }
+
     /**
      * Per-fluid client visual data (textures etc.) for custom fluids.
      * This tells the client which still/flow sprites to use in-world,
@@ -34,7 +34,51 @@ public class Config {
             .comment("A list of items to log on common setup.")
             .defineListAllowEmpty("items", List.of("minecraft:iron_ingot"), () -> "", Config::validateItemName);
 
-    static final ModConfigSpec SPEC = BUILDER.build();
+    // ---------------------------------------------------------------------
+    // Fluid pipes
+    // ---------------------------------------------------------------------
+
+    public static final ModConfigSpec.BooleanValue FLUID_PIPE_SOLVER = BUILDER
+            .comment("Experimental: move fluid with the network-level volumetric solver instead of the wave model")
+            .define("fluidPipes.volumetricSolver", false);
+
+    // ---------------------------------------------------------------------
+    // Quarry
+    // ---------------------------------------------------------------------
+
+    public static final ModConfigSpec.IntValue QUARRY_SIZE = BUILDER
+            .comment("Outer frame size (blocks per side, frame included) of newly placed quarries. Even values round up.")
+            .defineInRange("quarry.size", 11, 5, 129);
+
+    public static final ModConfigSpec.IntValue QUARRY_FRAME_HEIGHT = BUILDER
+            .comment("Gantry height above the controller for newly placed quarries")
+            .defineInRange("quarry.frameHeight", 5, 4, 32);
+
+    public static final ModConfigSpec.BooleanValue QUARRY_BATCH_MINING = BUILDER
+            .comment("High-throughput mode: quarries at high power remove several blocks of one chunk section per tick in a single batched write")
+            .define("quarry.batchMining", false);
+
+    public static final ModConfigSpec.IntValue QUARRY_BATCH_SIZE = BUILDER
+            .comment("Most blocks one quarry removes per batch (each still costs one world mining token)")
+            .defineInRange("quarry.batchSize", 8, 1, 64);
+
+    public static final ModConfigSpec.IntValue QUARRY_OUTPUT_BUFFER = BUILDER
+            .comment("Items a quarry holds when nothing takes its output; it stops mining once this many are buffered")
+            .defineInRange("quarry.outputBuffer", 640, 64, 1_000_000);
+
+    public static final ModConfigSpec.IntValue QUARRY_PLAN_AHEAD = BUILDER
+            .comment("Layers below the current one a quarry prepares in the background (0 = build each layer when it starts)")
+            .defineInRange("quarry.planAhead", 3, 0, 8);
+
+    public static final ModConfigSpec.IntValue QUARRY_TICK_BUDGET_MICROS = BUILDER
+            .comment("CPU time per tick (microseconds) all quarries of one world may use together; scaled down as MSPT rises. Work that does not fit waits for a later tick")
+            .defineInRange("quarry.tickBudgetMicros", 2000, 100, 50_000);
+
+    public static final ModConfigSpec.BooleanValue QUARRY_CATCH_UP = BUILDER
+            .comment("Quarries no player is tracking skip gantry motion and break animation and mine at their powered rate in periodic batches")
+            .define("quarry.catchUpMining", true);
+
+    public static final ModConfigSpec SPEC = BUILDER.build();
 
     private static boolean validateItemName(final Object obj) {
         return obj instanceof String itemName && BuiltInRegistries.ITEM.containsKey(ResourceLocation.parse(itemName));
@@ -11,4 +11,13 @@ public interface EnginePowerAcceptorApi {
      * @param power integer power value (e.g., engine’s getGenerationPerTick())
      */
     void acceptEnginePower(Direction from, int power);
+
+    /**
+     * Called by an engine on the neighbor it's facing when its speed changes
+     * (started, stopped, heat phase), never per tick. Cache it instead of
+     * polling engines.
+     * @param from direction from the acceptor back toward the engine
+     * @param rpm  the engine's RPM; 0 once it stops, turns away or is removed
+     */
+    default void onEngineRpmChanged(Direction from, int rpm) {}
 }
@@ -0,0 +1,243 @@
+package com.nick.buildcraft.client.render;
+
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.nick.buildcraft.content.block.fluidpipe.FluidPipeRenderState;
+import com.nick.buildcraft.registry.ModFluids;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureAtlas;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.material.Fluids;
+import net.neoforged.neoforge.client.extensions.common.IClientFluidTypeExtensions;
+import net.neoforged.neoforge.client.model.pipeline.QuadBakingVertexConsumer;
+import net.neoforged.neoforge.fluids.FluidStack;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pre-built fluid geometry for one pipe render snapshot.
+ *
+ * Built once per FluidPipeRenderState (the snapshot only changes when a sync
+ * arrives) and replayed every frame: box extents, UVs and normals are already
+ * resolved, so a steady pipe costs one array walk instead of recomputing the
+ * core + arm boxes per frame. The same vertices are baked into quads for
+ * FluidPipeModel when the pipe is static (see FluidPipeRenderState.isStatic).
+ *
+ * Vertex layout: x, y, z, u, v, nx, ny, nz (STRIDE floats).
+ */
+final class FluidPipeMesh {
+
+    private static final int STRIDE = 8;
+    private static final int FLOATS_PER_BOX = 6 * 4 * STRIDE;
+
+    // Fluid fills slightly less than pipe interior
+    private static final float FLUID_RADIUS = 0.23f;
+
+    // Same alpha as tank
+    static final int ALPHA = 210;
+
+    final FluidPipeRenderState source;
+    final TextureAtlasSprite sprite;
+    private final float[] verts;
+    private final int r, g, b, a;
+
+    private FluidPipeMesh(FluidPipeRenderState source, TextureAtlasSprite sprite, float[] verts, int rgb, int a) {
+        this.source = source;
+        this.sprite = sprite;
+        this.verts = verts;
+        this.r = (rgb >> 16) & 0xFF;
+        this.g = (rgb >> 8) & 0xFF;
+        this.b = rgb & 0xFF;
+        this.a = a;
+    }
+
+    /** Still texture of the fluid on the block atlas, or null if it has none. */
+    @Nullable
+    static TextureAtlasSprite sprite(FluidStack stack) {
+        Fluid fluid = stack.getFluid();
+        if (fluid == null || fluid == Fluids.EMPTY) return null;
+
+        IClientFluidTypeExtensions attrs = IClientFluidTypeExtensions.of(fluid);
+        ResourceLocation tex = attrs.getStillTexture(stack);
+        if (tex == null) tex = attrs.getFlowingTexture(stack);
+        if (tex == null) return null;
+
+        return Minecraft.getInstance().getModelManager()
+                .getAtlas(TextureAtlas.LOCATION_BLOCKS)
+                .getSprite(tex);
+    }
+
+    /** Use SAME color logic as TankBlockEntityRenderer. */
+    static int tint(Fluid fluid) {
+        if (fluid == Fluids.LAVA || fluid == Fluids.FLOWING_LAVA) {
+            return 0xFF6000;  // lava orange
+        } else if (fluid == ModFluids.OIL.get() || fluid == ModFluids.FUEL.get()) {
+            return 0xFFFFFF;  // no tint for custom fluids (already colored)
+        } else {
+            return 0x3F76E4;  // water blue fallback
+        }
+    }
+
+    /** True if this mesh still matches the snapshot and atlas sprite (both compared by identity). */
+    boolean isFor(FluidPipeRenderState snap, TextureAtlasSprite sprite) {
+        return this.source == snap && this.sprite == sprite;
+    }
+
+    static FluidPipeMesh build(FluidPipeRenderState snap, TextureAtlasSprite sprite, int rgb, int alpha) {
+        float fillAmount = Math.min(1.0f, snap.fill());
+        float size = FLUID_RADIUS;
+
+        int boxes = 1 + Integer.bitCount(snap.connectionMask());
+        float[] out = new float[boxes * FLOATS_PER_BOX];
+        int[] cursor = {0};
+
+        // Front inside this pipe: fluid comes in through the other arms, reaches the
+        // core at half fill and then runs out along frontDir. Otherwise (full pipe,
+        // or no known direction) every arm is filled evenly from the core.
+        Direction front = fillAmount < 1.0f ? snap.frontDir() : null;
+        float upstream = front != null ? Math.min(1f, fillAmount * 2f) : fillAmount;
+        float downstream = front != null ? Math.max(0f, fillAmount * 2f - 1f) : fillAmount;
+
+        // Core - solid box from -size to +size
+        if (front == null || fillAmount >= 0.5f) {
+            addBox(out, cursor, 0.5f - size, 0.5f - size, 0.5f - size,
+                    0.5f + size, 0.5f + size, 0.5f + size, sprite);
+        }
+
+        // Arm along each connected direction: [inner, outer] measured outward from the core face
+        for (Direction dir : Direction.values()) {
+            if (!snap.isConnected(dir)) continue;
+
+            float inner, outer;
+            if (front == null || dir == front) {
+                inner = 0f;
+                outer = (dir == front ? downstream : fillAmount) * 0.5f;  // Max extends to block edge (0.5)
+            } else {
+                inner = (1f - upstream) * 0.5f;                             // Filled from the far end inward
+                outer = 0.5f;
+            }
+            if (outer <= inner) continue;
+
+            float x0 = 0.5f - size, y0 = 0.5f - size, z0 = 0.5f - size;
+            float x1 = 0.5f + size, y1 = 0.5f + size, z1 = 0.5f + size;
+            float lo = 0.5f - size, hi = 0.5f + size;
+
+            switch (dir) {
+                case DOWN -> { y1 = lo - inner; y0 = lo - outer; }
+                case UP -> { y0 = hi + inner; y1 = hi + outer; }
+                case NORTH -> { z1 = lo - inner; z0 = lo - outer; }
+                case SOUTH -> { z0 = hi + inner; z1 = hi + outer; }
+                case WEST -> { x1 = lo - inner; x0 = lo - outer; }
+                case EAST -> { x0 = hi + inner; x1 = hi + outer; }
+            }
+
+            addBox(out, cursor, x0, y0, z0, x1, y1, z1, sprite);
+        }
+
+        if (cursor[0] < out.length) out = Arrays.copyOf(out, cursor[0]);
+        return new FluidPipeMesh(snap, sprite, out, rgb, alpha);
+    }
+
+    void emit(VertexConsumer vc, Matrix4f mat, int light, int overlay) {
+        float[] v = verts;
+        for (int i = 0; i < v.length; i += STRIDE) {
+            vc.addVertex(mat, v[i], v[i + 1], v[i + 2])
+                    .setColor(r, g, b, a)
+                    .setUv(v[i + 3], v[i + 4])
+                    .setOverlay(overlay)
+                    .setLight(light)
+                    .setNormal(v[i + 5], v[i + 6], v[i + 7]);
+        }
+    }
+
+    /**
+     * Bake this mesh into unculled quads for the chunk mesh. Color and alpha go
+     * into the vertices; light comes from the level when the section is built.
+     */
+    List<BakedQuad> bakeQuads() {
+        float[] v = verts;
+        List<BakedQuad> quads = new ArrayList<>(v.length / (4 * STRIDE));
+        for (int q = 0; q < v.length; q += 4 * STRIDE) {
+            QuadBakingVertexConsumer baker = new QuadBakingVertexConsumer();
+            baker.setSprite(sprite);
+            baker.setDirection(Direction.getApproximateNearest(v[q + 5], v[q + 6], v[q + 7]));
+            baker.setShade(true);
+            for (int i = q; i < q + 4 * STRIDE; i += STRIDE) {
+                baker.addVertex(v[i], v[i + 1], v[i + 2])
+                        .setColor(r, g, b, a)
+                        .setUv(v[i + 3], v[i + 4])
+                        .setNormal(v[i + 5], v[i + 6], v[i + 7]);
+            }
+            quads.add(baker.bakeQuad());
+        }
+        return quads;
+    }
+
+    // Same face order / winding as TankBlockEntityRenderer
+    private static void addBox(float[] out, int[] cursor,
+                               float x0, float y0, float z0,
+                               float x1, float y1, float z1,
+                               TextureAtlasSprite sprite) {
+
+        float u0 = sprite.getU0(), v0 = sprite.getV0();
+        float u1 = sprite.getU1(), v1 = sprite.getV1();
+
+        // Top face (Y+)
+        put(out, cursor, x0, y1, z0, u0, v0, 0, 1, 0);
+        put(out, cursor, x1, y1, z0, u1, v0, 0, 1, 0);
+        put(out, cursor, x1, y1, z1, u1, v1, 0, 1, 0);
+        put(out, cursor, x0, y1, z1, u0, v1, 0, 1, 0);
+
+        // Bottom face (Y-)
+        put(out, cursor, x0, y0, z1, u0, v1, 0, -1, 0);
+        put(out, cursor, x1, y0, z1, u1, v1, 0, -1, 0);
+        put(out, cursor, x1, y0, z0, u1, v0, 0, -1, 0);
+        put(out, cursor, x0, y0, z0, u0, v0, 0, -1, 0);
+
+        // North face (Z-)
+        put(out, cursor, x0, y1, z0, u0, v0, 0, 0, -1);
+        put(out, cursor, x1, y1, z0, u1, v0, 0, 0, -1);
+        put(out, cursor, x1, y0, z0, u1, v1, 0, 0, -1);
+        put(out, cursor, x0, y0, z0, u0, v1, 0, 0, -1);
+
+        // South face (Z+)
+        put(out, cursor, x1, y1, z1, u0, v0, 0, 0, 1);
+        put(out, cursor, x0, y1, z1, u1, v0, 0, 0, 1);
+        put(out, cursor, x0, y0, z1, u1, v1, 0, 0, 1);
+        put(out, cursor, x1, y0, z1, u0, v1, 0, 0, 1);
+
+        // West face (X-)
+        put(out, cursor, x0, y1, z1, u0, v0, -1, 0, 0);
+        put(out, cursor, x0, y1, z0, u1, v0, -1, 0, 0);
+        put(out, cursor, x0, y0, z0, u1, v1, -1, 0, 0);
+        put(out, cursor, x0, y0, z1, u0, v1, -1, 0, 0);
+
+        // East face (X+)
+        put(out, cursor, x1, y1, z0, u0, v0, 1, 0, 0);
+        put(out, cursor, x1, y1, z1, u1, v0, 1, 0, 0);
+        put(out, cursor, x1, y0, z1, u1, v1, 1, 0, 0);
+        put(out, cursor, x1, y0, z0, u0, v1, 1, 0, 0);
+    }
+
+    private static void put(float[] out, int[] cursor,
+                            float x, float y, float z, float u, float v,
+                            float nx, float ny, float nz) {
+        int i = cursor[0];
+        out[i] = x;
+        out[i + 1] = y;
+        out[i + 2] = z;
+        out[i + 3] = u;
+        out[i + 4] = v;
+        out[i + 5] = nx;
+        out[i + 6] = ny;
+        out[i + 7] = nz;
+        cursor[0] = i + STRIDE;
+    }
+}
@@ -0,0 +1,89 @@
+package com.nick.buildcraft.client.render;
+
+import com.nick.buildcraft.content.block.fluidpipe.FluidPipeRenderState;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.BlockModelPart;
+import net.minecraft.client.renderer.block.model.BlockStateModel;
+import net.minecraft.client.renderer.chunk.ChunkSectionLayer;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.BlockAndTintGetter;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.Fluid;
+import net.neoforged.neoforge.client.model.DelegateBlockStateModel;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fluid pipe block model: the pipe itself plus, for a full pipe, its fluid.
+ *
+ * The block entity hands a static snapshot over as model data
+ * (FluidPipeRenderState.MODEL_PROPERTY); its fluid is emitted as a translucent
+ * part of the chunk mesh, so a settled network costs nothing per frame. Pipes
+ * with a moving front expose no model data and stay with FluidPipeRenderer.
+ *
+ * A full pipe's geometry only depends on the fluid and the connection mask,
+ * so baked quads are shared between all pipes with the same pair. The cache
+ * lives as long as this model, which is replaced on every resource reload.
+ * Sections are meshed off-thread, hence the concurrent map.
+ */
+public class FluidPipeModel extends DelegateBlockStateModel {
+
+    private record Key(Fluid fluid, int connectionMask) {}
+
+    private final Map<Key, BlockModelPart> fluidParts = new ConcurrentHashMap<>();
+
+    public FluidPipeModel(BlockStateModel delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public void collectParts(BlockAndTintGetter level, BlockPos pos, BlockState state, RandomSource random, List<BlockModelPart> parts) {
+        super.collectParts(level, pos, state, random, parts);
+
+        FluidPipeRenderState snap = level.getModelData(pos).get(FluidPipeRenderState.MODEL_PROPERTY);
+        if (snap == null || !snap.isStatic()) return;
+
+        BlockModelPart part = fluidPart(snap);
+        if (part != null) parts.add(part);
+    }
+
+    @Nullable
+    private BlockModelPart fluidPart(FluidPipeRenderState snap) {
+        Key key = new Key(snap.fluid().getFluid(), snap.connectionMask());
+        BlockModelPart part = fluidParts.get(key);
+        if (part != null) return part;
+
+        TextureAtlasSprite sprite = FluidPipeMesh.sprite(snap.fluid());
+        if (sprite == null) return null;
+
+        FluidPipeMesh mesh = FluidPipeMesh.build(snap, sprite, FluidPipeMesh.tint(key.fluid()), FluidPipeMesh.ALPHA);
+        part = new FluidPart(mesh.bakeQuads(), sprite);
+        fluidParts.put(key, part);
+        return part;
+    }
+
+    /** Unculled translucent quads, no AO (the fluid sits inside the pipe walls). */
+    private record FluidPart(List<BakedQuad> quads, TextureAtlasSprite particleIcon) implements BlockModelPart {
+
+        @Override
+        public List<BakedQuad> getQuads(@Nullable Direction side) {
+            return side == null ? quads : List.of();
+        }
+
+        @Override
+        public boolean useAmbientOcclusion() {
+            return false;
+        }
+
+        @Override
+        public ChunkSectionLayer getRenderType(BlockState state) {
+            return ChunkSectionLayer.TRANSLUCENT;
+        }
+    }
+}
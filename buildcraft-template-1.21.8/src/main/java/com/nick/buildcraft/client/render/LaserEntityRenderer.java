@@ -76,6 +76,15 @@ public class LaserEntityRenderer extends EntityRenderer<LaserEntity, LaserEntity
         drawBox(ps, vc, a, b, HALF_W, HALF_H, s.color, packedLight);
     }
 
+    /**
+     * Draw one default (red guide wire) beam between two points in the PoseStack's
+     * current space, without an entity. Used for the quarry's frame outline.
+     */
+    static void renderBeam(PoseStack ps, MultiBufferSource buffers, Vec3 start, Vec3 end, int rgb, int packedLight) {
+        VertexConsumer vc = buffers.getBuffer(RenderType.entityCutoutNoCull(TEXTURE_DEFAULT));
+        drawBox(ps, vc, start, end, HALF_W, HALF_H, rgb, packedLight);
+    }
+
     /** Render a thin rectangular prism (four side quads, no end caps). */
     private static void drawBox(
             PoseStack ps, VertexConsumer vc,
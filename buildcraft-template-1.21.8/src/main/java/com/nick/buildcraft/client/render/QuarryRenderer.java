@@ -4,11 +4,12 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.nick.buildcraft.content.block.quarry.FrameBlock;
 import com.nick.buildcraft.content.block.quarry.QuarryBlock;
 import com.nick.buildcraft.content.block.quarry.QuarryBlockEntity;
+import com.nick.buildcraft.content.block.quarry.QuarryClientCache;
 import com.nick.buildcraft.content.block.quarry.QuarryGeometryHelper;
-import com.nick.buildcraft.content.block.quarry.QuarryMiningManager;
+import com.nick.buildcraft.content.block.quarry.QuarryHead;
 import com.nick.buildcraft.registry.ModBlocks;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.LevelRenderer;
+import net.minecraft.client.renderer.LightTexture;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.block.BlockRenderDispatcher;
 import net.minecraft.client.renderer.blockentity.BlockEntityRenderer;
@@ -22,8 +23,6 @@ import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 
-import java.util.*;
-
 /**
  * Client gantry renderer with smooth XY motion + one-per-cell slam
  * (down/hold/up) and strict centering when drilling.
@@ -39,20 +38,17 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
     private static final int SLAM_UP_T = 6;
     private static final int SLAM_TOTAL = SLAM_DOWN_T + SLAM_HOLD_T + SLAM_UP_T;
     private static final double SLAM_DIP_BLOCKS = 1.0;
+    private static final int OUTLINE_COLOR = 0xFF0000;
 
     private final BlockRenderDispatcher brd;
-
-    private static final class Anim {
-        int stillTicks;
-        long slamStartGT = -1;
-        int curCellX = Integer.MIN_VALUE;
-        int curCellZ = Integer.MIN_VALUE;
-        boolean slammedThisCell = false;
-    }
-    private static final Map<BlockPos, Anim> ANIMS = new HashMap<>();
+    private final BlockState railX, railZ, riser;
 
     public QuarryRenderer(BlockEntityRendererProvider.Context ctx) {
         this.brd = Minecraft.getInstance().getBlockRenderer();
+        BlockState frame = ModBlocks.FRAME.get().defaultBlockState().setValue(FrameBlock.CORNER, FrameBlock.Corner.NONE);
+        this.railX = frame.setValue(FrameBlock.AXIS, Direction.Axis.X);
+        this.railZ = frame.setValue(FrameBlock.AXIS, Direction.Axis.Z);
+        this.riser = frame.setValue(FrameBlock.AXIS, Direction.Axis.Y);
     }
 
     @Override
@@ -61,11 +57,14 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
         Level level = be.getLevel();
         if (level == null) return;
         final BlockPos base = be.getBlockPos();
-        if (be.isRemoved()) { ANIMS.remove(base); return; }
-        if (!edgesAreFrames(level, be)) return;
+        if (be.isRemoved()) return;
+        if (!be.isFrameComplete()) { // synced from the server's event-driven frame check
+            renderFrameOutline(be, pose, buffers);
+            return;
+        }
 
         final Direction facing = be.getBlockState().getValue(QuarryBlock.FACING);
-        final QuarryGeometryHelper.Bounds b = QuarryGeometryHelper.boundsForFacing(base, facing);
+        final QuarryGeometryHelper.Bounds b = be.getBounds();
         final int xMin = b.x0 + 1, xMax = b.x1 - 1;
         final int zMin = b.z0 + 1, zMax = b.z1 - 1;
         if (xMax < xMin || zMax < zMin) return;
@@ -96,7 +95,8 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
         double cxW = Mth.clamp(dispW.x, xMin + 0.5, xMax + 0.5);
         double czW = Mth.clamp(dispW.z, zMin + 0.5, zMax + 0.5);
 
-        Anim anim = ANIMS.computeIfAbsent(base, k -> new Anim());
+        // Per-BE render state: animation + column data rebuilt on sync (no world queries per frame)
+        QuarryClientCache anim = be.getClientCache();
         final long gt = level.getGameTime();
 
         int wx = Mth.floor(cxW), wz = Mth.floor(czW);
@@ -110,10 +110,8 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
         boolean segmentIsStill = movementDelta.lengthSqr() <= STILL_SEG_EPS * STILL_SEG_EPS;
         if (segmentIsStill) anim.stillTicks++; else { anim.stillTicks = 0; anim.slamStartGT = -1; }
 
-        int minY = level.dimensionType().minY();
-        boolean ceilingBlocked = columnBlockedAtCeiling(level, b, wx, wz);
-        int firstMineY = ceilingBlocked ? Integer.MIN_VALUE : findFirstMineableYDown(level, wx, wz, b.y0 - 1, minY);
-        boolean mineableHere = firstMineY != Integer.MIN_VALUE;
+        QuarryClientCache.Column col = anim.column(level, b, wx, wz);
+        boolean mineableHere = col.firstMineY != Integer.MIN_VALUE;
 
         // Don't snap - let smooth interpolation handle positioning
         // The server will center the gantry naturally through atTarget logic
@@ -130,14 +128,7 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
         double prevLift = be.prevGantryLiftY;
         double interpolatedLiftY = prevLift + (currentLift - prevLift) * partialTick;
 
-        int tipYWorld;
-        if (ceilingBlocked) tipYWorld = b.y0;
-        else if (mineableHere) tipYWorld = firstMineY;
-        else {
-            int floorY = findTopNonAirYDown(level, wx, wz, b.y0 - 1, minY);
-            tipYWorld = (floorY != Integer.MIN_VALUE) ? floorY : b.y0;
-        }
-        final int tipLocalYi = tipYWorld - base.getY();
+        final int tipLocalYi = col.tipY - base.getY();
 
         // "Mechanic loosening stuck bolt" animation:
         // - Drill stays UP while breaking (drillTicks 0-9)
@@ -181,13 +172,8 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
             anim.slamStartGT = -1;
         }
 
-        BlockState railX = ModBlocks.FRAME.get().defaultBlockState().setValue(FrameBlock.AXIS, Direction.Axis.X).setValue(FrameBlock.CORNER, FrameBlock.Corner.NONE);
-        BlockState railZ = ModBlocks.FRAME.get().defaultBlockState().setValue(FrameBlock.AXIS, Direction.Axis.Z).setValue(FrameBlock.CORNER, FrameBlock.Corner.NONE);
-        BlockState riser = ModBlocks.FRAME.get().defaultBlockState().setValue(FrameBlock.AXIS, Direction.Axis.Y).setValue(FrameBlock.CORNER, FrameBlock.Corner.NONE);
-
         // Sample light from gantry center position for consistent lighting across all components
-        BlockPos gantryLightPos = new BlockPos(Mth.floor(cxW), b.y0, Mth.floor(czW));
-        int gantryLight = LevelRenderer.getLightColor(level, gantryLightPos);
+        int gantryLight = col.light(b.y0);
 
         pose.pushPose();
 
@@ -225,12 +211,8 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
         // SKIP rendering if there's a solid block at that position (prevents clipping through obstacles)
         // Use unified gantry light to avoid checkered lighting artifacts
         for (int y = yRailLocal; y >= liftedDrillTipY + 1; y--) {
-            // Check if there's a solid block at this position
-            BlockPos checkPos = new BlockPos(Mth.floor(cxW), base.getY() + y, Mth.floor(czW));
-            BlockState stateAtPos = level.getBlockState(checkPos);
-
             // Only render riser if the position is air or non-solid (don't clip through blocks)
-            if (stateAtPos.isAir() || !stateAtPos.isSolidRender()) {
+            if (!col.isSolid(base.getY() + y)) {
                 pose.pushPose();
                 pose.translate(cx - 0.5, y, cz - 0.5);
                 brd.renderSingleBlock(riser, pose, buffers, gantryLight, packedOverlay);
@@ -241,10 +223,7 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
         // Render partial fractional block at the BOTTOM (drill tip retracting upward)
         // Only render if not clipping through a solid block
         if (bottomFraction > 0.01) {
-            BlockPos checkPosFrac = new BlockPos(Mth.floor(cxW), base.getY() + liftedDrillTipY, Mth.floor(czW));
-            BlockState stateAtFrac = level.getBlockState(checkPosFrac);
-
-            if (stateAtFrac.isAir() || !stateAtFrac.isSolidRender()) {
+            if (!col.isSolid(base.getY() + liftedDrillTipY)) {
                 pose.pushPose();
                 // Position at the lifted drill tip, scale down from bottom
                 pose.translate(cx - 0.5, liftedDrillTipY + bottomFraction, cz - 0.5);
@@ -258,15 +237,13 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
         // Only render if not clipping through a solid block
         double capH = 0.25;
         double yLipExact = liftedDrillTipYExact; // Use exact fractional position
-        int yLipWorld = (int)Math.floor(liftedDrillTipYExact);
-        BlockPos posLip = new BlockPos(Mth.floor(cxW), base.getY() + yLipWorld, Mth.floor(czW));
-        BlockState stateAtLip = level.getBlockState(posLip);
+        int yLipWorld = base.getY() + (int)Math.floor(liftedDrillTipYExact);
 
-        if (stateAtLip.isAir() || !stateAtLip.isSolidRender()) {
+        if (!col.isSolid(yLipWorld)) {
             pose.pushPose();
             pose.translate(cx - 0.5, yLipExact + (1.0 - capH) + 0.05, cz - 0.5);
             pose.scale(1.0f, (float)capH, 1.0f);
-            int lightLip = LevelRenderer.getLightColor(level, posLip);
+            int lightLip = col.light(yLipWorld);
             brd.renderSingleBlock(riser, pose, buffers, lightLip, packedOverlay);
             pose.popPose();
         }
@@ -277,11 +254,9 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
         // Position the tip at the EXACT lifted position (using fractional lift for smooth movement)
         double tipYLocalF = liftedDrillTipYExact - slamDipBlocks + (0.5 - sy * 0.5);
         int tipWorldY = base.getY() + (int)Math.floor(liftedDrillTipYExact - slamDipBlocks);
-        BlockPos posTip = new BlockPos(Mth.floor(cxW), tipWorldY, Mth.floor(czW));
-        BlockState stateAtTip = level.getBlockState(posTip);
 
-        if (stateAtTip.isAir() || !stateAtTip.isSolidRender()) {
-            int lightTip = LevelRenderer.getLightColor(level, posTip);
+        if (!col.isSolid(tipWorldY)) {
+            int lightTip = col.light(tipWorldY);
             pose.pushPose();
             pose.translate((cx - 0.5) + (0.5 - sx * 0.5), tipYLocalF, (cz - 0.5) + (0.5 - sz * 0.5));
             pose.scale(sx, sy, sz); // Keep tip at full size - doesn't shrink!
@@ -291,43 +266,88 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
         }
 
         pose.popPose();
-    }
 
-    // Easing helper
-    private static double easeOutCubic(double x) {
-        x = Mth.clamp(x, 0.0, 1.0);
-        return 1.0 - Math.pow(1.0 - x, 3.0);
+        // Extra heads (head upgrades): own X rail, riser and tip; lifted over obstacles between targets
+        for (QuarryHead h : be.heads) {
+            renderExtraHead(h, be, anim, b, level, partialTick, pose, buffers, packedOverlay);
+        }
     }
 
-    private static boolean edgesAreFrames(Level level, QuarryBlockEntity be) {
-        BlockPos base = be.getBlockPos();
-        Direction facing = be.getBlockState().getValue(QuarryBlock.FACING);
-        QuarryGeometryHelper.Bounds b = QuarryGeometryHelper.boundsForFacing(base, facing);
-        for (BlockPos p : frameEdges(b)) if (!level.getBlockState(p).is(ModBlocks.FRAME.get())) return false;
-        return true;
-    }
+    private void renderExtraHead(QuarryHead h, QuarryBlockEntity be, QuarryClientCache cache, QuarryGeometryHelper.Bounds b,
+                                 Level level, float partialTick, PoseStack pose, MultiBufferSource buffers, int packedOverlay) {
+        final BlockPos base = be.getBlockPos();
+        double hxW = Mth.clamp(h.prevX + (h.x - h.prevX) * partialTick, b.x0 + 1 + 0.5, b.x1 - 1 + 0.5);
+        double hzW = Mth.clamp(h.prevZ + (h.z - h.prevZ) * partialTick, b.z0 + 1 + 0.5, b.z1 - 1 + 0.5);
+        double hx = hxW - base.getX(), hz = hzW - base.getZ();
+        int wx = Mth.floor(hxW), wz = Mth.floor(hzW);
+        final int yRailLocal = b.y1 - base.getY();
 
-    private static int findFirstMineableYDown(Level level, int x, int z, int startY, int minY) {
-        for (int y = startY; y >= minY; y--) if (QuarryMiningManager.shouldMine(level, new BlockPos(x, y, z))) return y;
-        return Integer.MIN_VALUE;
-    }
+        QuarryClientCache.Column col = cache.column(level, b, wx, wz);
+        double lift = h.prevLift + (h.lift - h.prevLift) * partialTick;
+        int tipYWorld = h.atTarget && col.firstMineY != Integer.MIN_VALUE ? col.firstMineY : b.y0 + Mth.floor(lift);
+        final int tipLocalY = tipYWorld + 1 - base.getY();
+
+        int light = col.light(b.y0);
 
-    private static int findTopNonAirYDown(Level level, int x, int z, int startY, int minY) {
-        for (int y = startY; y >= minY; y--) {
-            BlockState bs = level.getBlockState(new BlockPos(x, y, z));
-            if (!bs.isAir()) return y;
+        for (int ix = (b.x0 - base.getX()); ix <= (b.x1 - base.getX()); ix++) {
+            pose.pushPose();
+            pose.translate(ix, yRailLocal, hz - 0.5);
+            brd.renderSingleBlock(railX, pose, buffers, light, packedOverlay);
+            pose.popPose();
+        }
+
+        for (int y = yRailLocal; y >= tipLocalY; y--) {
+            if (col.isSolid(base.getY() + y)) continue;
+            pose.pushPose();
+            pose.translate(hx - 0.5, y, hz - 0.5);
+            brd.renderSingleBlock(riser, pose, buffers, light, packedOverlay);
+            pose.popPose();
+        }
+
+        float sx = 0.28f, sy = 0.90f, sz = 0.28f;
+        int tipWorldY = base.getY() + tipLocalY - 1;
+        if (!col.isSolid(tipWorldY)) {
+            pose.pushPose();
+            pose.translate((hx - 0.5) + (0.5 - sx * 0.5), tipLocalY - 1 + (0.5 - sy * 0.5), (hz - 0.5) + (0.5 - sz * 0.5));
+            pose.scale(sx, sy, sz);
+            brd.renderSingleBlock(net.minecraft.world.level.block.Blocks.DIAMOND_BLOCK.defaultBlockState(),
+                    pose, buffers, col.light(tipWorldY), packedOverlay);
+            pose.popPose();
         }
-        return Integer.MIN_VALUE;
     }
 
-    private static boolean columnBlockedAtCeiling(Level level, QuarryGeometryHelper.Bounds b, int x, int z) {
-        int y0 = b.y0;
-        for (int dy = 0; dy <= 2; dy++) {
-            BlockPos p = new BlockPos(x, y0 + dy, z);
-            BlockState bs = level.getBlockState(p);
-            if (!bs.isAir() && !bs.getCollisionShape(level, p).isEmpty()) return true;
+    /**
+     * Red guide-wire outline of the frame while it is incomplete: 12 beams from the
+     * synced bounds, drawn here instead of as server-side laser entities.
+     */
+    private static void renderFrameOutline(QuarryBlockEntity be, PoseStack pose, MultiBufferSource buffers) {
+        QuarryGeometryHelper.Bounds b = be.getBounds();
+        if (b == null) return;
+        BlockPos base = be.getBlockPos();
+
+        double xL = b.x0 + 0.5 - base.getX(), xR = b.x1 + 0.5 - base.getX();
+        double zN = b.z0 + 0.5 - base.getZ(), zS = b.z1 + 0.5 - base.getZ();
+        double yB = b.y0 + 0.5 - base.getY(), yT = b.y1 + 0.5 - base.getY();
+
+        Vec3 b00 = new Vec3(xL, yB, zN), b10 = new Vec3(xR, yB, zN),
+                b11 = new Vec3(xR, yB, zS), b01 = new Vec3(xL, yB, zS);
+        Vec3 t00 = new Vec3(xL, yT, zN), t10 = new Vec3(xR, yT, zN),
+                t11 = new Vec3(xR, yT, zS), t01 = new Vec3(xL, yT, zS);
+
+        Vec3[][] edges = {
+                {t00, t10}, {t10, t11}, {t11, t01}, {t01, t00},
+                {b00, b10}, {b10, b11}, {b11, b01}, {b01, b00},
+                {b00, t00}, {b10, t10}, {b11, t11}, {b01, t01}
+        };
+        for (Vec3[] e : edges) {
+            LaserEntityRenderer.renderBeam(pose, buffers, e[0], e[1], OUTLINE_COLOR, LightTexture.FULL_BRIGHT);
         }
-        return false;
+    }
+
+    // Easing helper
+    private static double easeOutCubic(double x) {
+        x = Mth.clamp(x, 0.0, 1.0);
+        return 1.0 - Math.pow(1.0 - x, 3.0);
     }
 
     @Override
@@ -349,19 +369,4 @@ public class QuarryRenderer implements BlockEntityRenderer<QuarryBlockEntity> {
 
     @Override
     public int getViewDistance() { return 256; }
-
-    private static List<BlockPos> frameEdges(QuarryGeometryHelper.Bounds b) {
-        List<BlockPos> out = new ArrayList<>();
-        int x0=b.x0, x1=b.x1, y0=b.y0, y1=b.y1, z0=b.z0, z1=b.z1;
-        for (int y : new int[]{y0, y1})
-            for (int z : new int[]{z0, z1})
-                for (int x = x0; x <= x1; x++) out.add(new BlockPos(x, y, z));
-        for (int y : new int[]{y0, y1})
-            for (int x : new int[]{x0, x1})
-                for (int z = z0; z <= z1; z++) out.add(new BlockPos(x, y, z));
-        for (int x : new int[]{x0, x1})
-            for (int z : new int[]{z0, z1})
-                for (int y = y0; y <= y1; y++) out.add(new BlockPos(x, y, z));
-        return out;
-    }
 }
@@ -7,8 +7,6 @@ import com.nick.buildcraft.registry.ModBlockEntity;
 import com.nick.buildcraft.registry.ModTags;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.server.level.ServerLevel;
-import net.minecraft.util.RandomSource;
 import net.minecraft.util.StringRepresentable;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Player;
@@ -27,7 +25,6 @@ import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
-import net.minecraft.world.level.block.state.properties.BooleanProperty;
 import net.minecraft.world.level.block.state.properties.EnumProperty;
 import net.minecraft.world.level.redstone.Orientation;
 import net.minecraft.world.phys.AABB;
@@ -61,7 +58,7 @@ public class EngineBlock extends BaseEngineBlock implements Wrenchable {
         }
     }
 
-    /** Engine heat phase for texture selection (BLUE, GREEN, ORANGE, RED). */
+    /** Engine heat phase (BLUE, GREEN, ORANGE, RED); the BlockState copy only selects the base texture, EngineBlockEntity owns it. */
     public enum Phase implements StringRepresentable {
         BLUE, GREEN, ORANGE, RED;
         @Override public String getSerializedName() { return name().toLowerCase(Locale.ROOT); }
@@ -72,9 +69,6 @@ public class EngineBlock extends BaseEngineBlock implements Wrenchable {
     public static final EnumProperty<Direction> FACING =
             EnumProperty.create("facing", Direction.class, Direction.values());
 
-    /** Transient 2-tick pulse used to emit a redstone blip on pump completion. */
-    public static final BooleanProperty PULSING = BooleanProperty.create("pulsing");
-
     private final EngineType type;
 
     public EngineBlock(EngineType type, BlockBehaviour.Properties props) {
@@ -83,7 +77,6 @@ public class EngineBlock extends BaseEngineBlock implements Wrenchable {
         registerDefaultState(this.stateDefinition.any()
                 .setValue(BlockStateProperties.POWERED, Boolean.FALSE)
                 .setValue(FACING, Direction.NORTH)
-                .setValue(PULSING, Boolean.FALSE)
                 .setValue(PHASE, Phase.BLUE));
     }
 
@@ -93,7 +86,6 @@ public class EngineBlock extends BaseEngineBlock implements Wrenchable {
     protected void createBlockStateDefinition(StateDefinition.Builder<Block, BlockState> b) {
         b.add(BlockStateProperties.POWERED);
         b.add(FACING);
-        b.add(PULSING);
         b.add(PHASE);
     }
 
@@ -105,7 +97,8 @@ public class EngineBlock extends BaseEngineBlock implements Wrenchable {
 
     @Override
     protected int getSignal(BlockState state, BlockGetter level, BlockPos pos, Direction dir) {
-        return state.getValue(PULSING) ? 15 : 0;
+        // The 2-tick blip lives on the block entity (no BlockState change per pump)
+        return level.getBlockEntity(pos) instanceof EngineBlockEntity be && be.isPulsing() ? 15 : 0;
     }
 
     @Override
@@ -175,8 +168,7 @@ public class EngineBlock extends BaseEngineBlock implements Wrenchable {
 
         return defaultBlockState()
                 .setValue(BlockStateProperties.POWERED, hasNonEnginePower(level, pos))
-                .setValue(FACING, facing)
-                .setValue(PULSING, Boolean.FALSE);
+                .setValue(FACING, facing);
     }
 
     /** Purely position-driven facing selection (all 6 directions). */
@@ -254,6 +246,8 @@ public class EngineBlock extends BaseEngineBlock implements Wrenchable {
 
         // Re-snap if our facing is no longer valid but another side is
         if (!level.isClientSide) {
+            if (level.getBlockEntity(pos) instanceof EngineBlockEntity be) be.onNeighborChanged();
+
             Direction cur = state.getValue(FACING);
             if (!isFacingValid(level, pos, cur)) {
                 Direction snap = findAcceptor(level, pos);
@@ -266,15 +260,6 @@ public class EngineBlock extends BaseEngineBlock implements Wrenchable {
         super.neighborChanged(state, level, pos, neighborBlock, o, movedByPiston);
     }
 
-    /* -------------------- scheduled pulse reset (2-tick blip) -------------------- */
-
-    @Override
-    public void tick(BlockState state, ServerLevel level, BlockPos pos, RandomSource rand) {
-        if (state.getValue(PULSING)) {
-            level.setBlock(pos, state.setValue(PULSING, Boolean.FALSE), Block.UPDATE_CLIENTS);
-        }
-    }
-
     /* -------------------------------- rotation/mirror --------------------------- */
 
     @Override
@@ -390,19 +375,23 @@ public class EngineBlock extends BaseEngineBlock implements Wrenchable {
 
         VoxelShape out = Shapes.empty();
         for (AABB box : shape.toAabbs()) {
-            AABB r = switch (to) {
-                case DOWN  -> rotateDown(box);
-                case NORTH -> rotateNorth(box);
-                case SOUTH -> rotateSouth(box);
-                case WEST  -> rotateWest(box);
-                case EAST  -> rotateEast(box);
-                case UP    -> box;
-            };
-            out = Shapes.or(out, Shapes.create(r));
+            out = Shapes.or(out, Shapes.create(rotateBoxFromUp(box, to)));
         }
         return out.optimize();
     }
 
+    /** One block-local box modelled facing UP, turned to face 'to'. */
+    static AABB rotateBoxFromUp(AABB box, Direction to) {
+        return switch (to) {
+            case DOWN  -> rotateDown(box);
+            case NORTH -> rotateNorth(box);
+            case SOUTH -> rotateSouth(box);
+            case WEST  -> rotateWest(box);
+            case EAST  -> rotateEast(box);
+            case UP    -> box;
+        };
+    }
+
     private static AABB rotateDown(AABB b)  { return aabbMap(b, (x,y,z) -> new double[]{x, 1 - y, 1 - z}); }
     private static AABB rotateNorth(AABB b) { return aabbMap(b, (x,y,z) -> new double[]{x, z, 1 - y}); }
     private static AABB rotateSouth(AABB b) { return aabbMap(b, (x,y,z) -> new double[]{x, 1 - z, y}); }
@@ -1,13 +1,22 @@
 // src/main/java/com/nick/buildcraft/content/block/engine/EngineBlockEntity.java
 package com.nick.buildcraft.content.block.engine;
 
+import com.nick.buildcraft.api.engine.EnginePowerAcceptorApi;
 import com.nick.buildcraft.api.engine.EnginePulseAcceptorApi;
+import com.nick.buildcraft.network.EngineStrokePayload;
 import com.nick.buildcraft.registry.ModBlockEntity;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.MoverType;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
@@ -17,13 +26,18 @@ import net.minecraft.world.level.storage.ValueInput;
 import net.minecraft.world.level.storage.ValueOutput;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
-import net.minecraft.world.phys.shapes.VoxelShape;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+import net.neoforged.neoforge.network.PacketDistributor;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class EngineBlockEntity extends BaseEngineBlockEntity {
     private static final double PUSH_EPSILON = 1.0E-5;
+    private static final int ENTITY_PROBE_TICKS = 20; // Real entity lookup at least this often while the section hint says empty
     private static final int FE_PER_PULSE = com.nick.buildcraft.energy.Energy.ENGINE_ENERGY_PER_PUMP;
 
     // Base periods for BLUE phase (matched to original Buildcraft 1.6.4 speeds):
@@ -40,9 +54,35 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
     private float progress  = 0.0f;
     private float progressO = 0.0f;
 
-    private int  pumpTick     = 0;
     private int  cachedPeriod = 20;
-    private boolean wasPowered = false;
+
+    // ===== STROKE (server-authoritative, mirrored to clients) =====
+    // The stroke is a pure function of game time: pumpTick = (gameTime - strokeStartGT) % strokePeriod + 1.
+    // The server re-anchors it when the rate changes and sends the three fields (EngineStrokePayload);
+    // clients animate from their own game time in between, so nothing is sent per tick.
+    private long    strokeStartGT  = 0L;
+    private int     strokePeriod   = 20;
+    private boolean strokeRunning  = false;
+
+    // Redstone blip after a pump, in ticks (read by EngineBlock.getSignal; server only)
+    private static final int PULSE_TICKS = 2;
+    private int pulseTicks = 0;
+
+    private long nextEntityProbeGT = 0L;
+
+    // ===== LOAD & RPM (server) =====
+    // Whether a load sits in front is cached and recomputed only after a neighbour change,
+    // a capability invalidation in front or a facing change. The RPM goes to the consumer
+    // in front (EnginePowerAcceptorApi.onEngineRpmChanged) only when it changes.
+    @Nullable private BlockCapabilityCache<IEnergyStorage, Direction> frontEnergy;
+    @Nullable private Direction workingFacing;
+    private boolean working = false;
+    private int publishedRpm = -1;                    // -1 = send again (after load or a neighbour change)
+    @Nullable private Direction publishedFacing;
+    private boolean unloading = false;
+
+    // Heat phase; the BlockState PHASE only mirrors it for the baked base model
+    private EngineBlock.Phase phase = EngineBlock.Phase.BLUE;
 
     // ===== HEAT SYSTEM =====
     // Heat accumulation (0.0 = cool, 1.0 = RED phase, will explode)
@@ -93,14 +133,73 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
     }
 
     protected void tick(Level level, BlockPos pos, BlockState state) {
+        if (level.isClientSide) {
+            animate(level);
+            return;
+        }
+
         boolean powered = isActive(state);
         cachedPeriod = basePeriodFor(type);
+        if (pulseTicks > 0) pulseTicks--;
+
+        if (!powered) {
+            // HARD stop: clear pulse, zero progress, freeze client & server
+            pulseTicks = 0;
+            progress = progressO = 0f;
+            setStroke(level, pos, strokeStartGT, strokePeriod, false);
+            // Cool down the engine when powered off
+            heat = Math.max(0f, heat - HEAT_COOLDOWN_RATE);
+            updatePhaseFromHeat(level, pos, state);
+            publishRpm(level, pos, state);
+            setChanged();
+            return;
+        }
 
-        // Calculate dynamic period based on current phase
-        // Period determines animation speed: speed per tick = 2 / period
-        BlockState worldState = level.getBlockState(pos);
-        EngineBlock.Phase phase = worldState.getValue(EngineBlock.PHASE);
+        // Update heat and phase system
+        updateHeatAccumulation(level, pos, state);
+        updatePhaseFromHeat(level, pos, state);
+        handleRedExplosion(level, pos, state);
+        if (isRemoved()) return; // exploded
+
+        long gt = level.getGameTime();
+        int period = currentPeriod();
+        if (!strokeRunning) {
+            progress = progressO = 0f;
+            setStroke(level, pos, gt, period, true);
+        } else if (period != strokePeriod) {
+            // Keep the piston where it is; wrap to the start if the shorter stroke is already past it
+            int at = pumpTickAt(gt);
+            if (at > period) at = 1;
+            setStroke(level, pos, gt - (at - 1), period, true);
+        }
+
+        progressO = progress;
+        int pumpTick = pumpTickAt(gt);
+        setProgress(level, pos, state, strokeAt(pumpTick));
+
+        if (pumpTick == strokePeriod / 2) {
+            firePumpPulse(level, pos, state);
+        }
+
+        publishRpm(level, pos, state);
+        setChanged();
+    }
+
+    /** Client: derive the piston position from the last stroke the server sent. */
+    private void animate(Level level) {
+        if (!strokeRunning) {
+            progress = progressO = 0f;
+            return;
+        }
+        progressO = progress;
+        progress = strokeAt(pumpTickAt(level.getGameTime()));
+    }
 
+    /**
+     * Stroke period for the current phase and speed.
+     * Period determines animation speed: speed per tick = 2 / period
+     */
+    private int currentPeriod() {
         float periodMultiplier = switch (phase) {
             case BLUE -> 1.0f;      // base speed
             case GREEN -> 0.5f;     // 2x faster
@@ -118,77 +217,71 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
             };
         }
 
-        int period = Math.max(1, (int)(cachedPeriod * periodMultiplier * currentSpeedMultiplier));
-
-        // DEBUG: log period calculation
-        if (!level.isClientSide && pumpTick == 1) {
-            System.out.println("[ENGINE] " + type + " phase=" + phase + " cachedPeriod=" + cachedPeriod + " multiplier=" + periodMultiplier + " speedMult=" + currentSpeedMultiplier + " finalPeriod=" + period);
-        }
-
-        if (!powered) {
-            // HARD stop: clear pulse, zero progress, freeze client & server
-            if (!level.isClientSide && state.getBlock() instanceof EngineBlock eb && state.getValue(EngineBlock.PULSING)) {
-                level.setBlock(pos, state.setValue(EngineBlock.PULSING, Boolean.FALSE), Block.UPDATE_CLIENTS);
-            }
-            pumpTick = 0;
-            progress = progressO = 0f;
-            wasPowered = false;
-            // Cool down the engine when powered off
-            if (!level.isClientSide) {
-                heat = Math.max(0f, heat - HEAT_COOLDOWN_RATE);
-                updatePhaseFromHeat(level, pos, state);
-            }
-            setChanged();
-            return;
-        }
-
-        if (!wasPowered) {
-            pumpTick = 0;
-            progress = progressO = 0f;
-            wasPowered = true;
-        }
-
-        // Update heat and phase system
-        if (!level.isClientSide) {
-            updateHeatAccumulation(level, pos, state);
-            updatePhaseFromHeat(level, pos, state);
-            handleRedExplosion(level, pos, state);
-        }
-
-        progressO = progress;
+        return Math.max(1, (int)(cachedPeriod * periodMultiplier * currentSpeedMultiplier));
+    }
 
-        pumpTick++;
-        if (pumpTick > period) pumpTick = 1;
+    /** 1..strokePeriod at game time gt. */
+    private int pumpTickAt(long gt) {
+        return (int) Math.floorMod(gt - strokeStartGT, (long) strokePeriod) + 1;
+    }
 
-        int half = period / 2;
-        float stroke = (pumpTick <= half)
+    private float strokeAt(int pumpTick) {
+        int half = strokePeriod / 2;
+        return (pumpTick <= half)
                 ? (pumpTick / (float)Math.max(1, half))
-                : (1f - ((pumpTick - half) / (float)Math.max(1, period - half)));
-        setProgress(level, pos, stroke);
+                : (1f - ((pumpTick - half) / (float)Math.max(1, strokePeriod - half)));
+    }
 
-        if (!level.isClientSide && pumpTick == half) {
-            firePumpPulse(level, pos, state);
+    /** Server: change the stroke and tell tracking clients, only if something changed. */
+    private void setStroke(Level level, BlockPos pos, long startGT, int period, boolean running) {
+        if (startGT == strokeStartGT && period == strokePeriod && running == strokeRunning) return;
+        strokeStartGT = startGT;
+        strokePeriod = period;
+        strokeRunning = running;
+        if (level instanceof ServerLevel sl) {
+            PacketDistributor.sendToPlayersTrackingChunk(sl, new ChunkPos(pos),
+                    new EngineStrokePayload(pos, startGT, period, running));
         }
+    }
 
-        setChanged();
+    /** Client: stroke received from the server (EngineStrokePayload). */
+    public void applyStroke(long startGT, int period, boolean running) {
+        strokeStartGT = startGT;
+        strokePeriod = Math.max(1, period);
+        strokeRunning = running;
     }
 
-    private void setProgress(Level level, BlockPos pos, float next) {
+    /** True while the redstone blip after a pump is on. */
+    public boolean isPulsing() { return pulseTicks > 0; }
+
+    private void setProgress(Level level, BlockPos pos, BlockState state, float next) {
         double offPrev = offset(progress);
         double offNow  = offset(next);
-        if (!level.isClientSide && offPrev != offNow) {
-            pushLikePiston(level, pos, offPrev, offNow);
+        // Only the extending stroke can push anything: retracting, the ring moves back into its own block
+        if (level instanceof ServerLevel sl && offNow > offPrev && state.hasProperty(EngineBlock.FACING)
+                && mayTouchEntities(sl, pos)) {
+            pushLikePiston(level, pos, state.getValue(EngineBlock.FACING), offPrev, offNow);
         }
         progress = next;
     }
 
+    /**
+     * Cheap occupancy test before any entity lookup: no lookup while the section
+     * entity counts (EngineEntitySections) say nothing is near. Those counts are a
+     * hint, so an engine that sees "empty" still looks for real every ENTITY_PROBE_TICKS.
+     */
+    private boolean mayTouchEntities(ServerLevel level, BlockPos pos) {
+        if (EngineEntitySections.mayHaveEntitiesNear(level, pos)) return true;
+        long gt = level.getGameTime();
+        if (gt < nextEntityProbeGT) return false;
+        nextEntityProbeGT = gt + ENTITY_PROBE_TICKS;
+        return true;
+    }
+
     private void firePumpPulse(Level level, BlockPos pos, BlockState state) {
-        if (state.getBlock() instanceof EngineBlock eb) {
-            level.setBlock(pos, state.setValue(EngineBlock.PULSING, Boolean.TRUE), Block.UPDATE_CLIENTS);
-            if (!level.isClientSide) {
-                ((net.minecraft.server.level.ServerLevel) level).scheduleTick(pos, state.getBlock(), 2);
-            }
-        }
+        // Like the old PULSING state (set with UPDATE_CLIENTS only), neighbours are not
+        // notified: the signal is there for whoever reads it during the blip
+        pulseTicks = PULSE_TICKS;
 
         Direction facing = state.getValue(EngineBlock.FACING);
         BlockPos neighborPos = pos.relative(facing);
@@ -206,33 +299,27 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
 
     private double offset(float prog) { return RingShapes.MAX_TRAVEL_BLOCKS * prog; }
 
-    private void pushLikePiston(Level level, BlockPos pos, double offPrev, double offNow) {
-        boolean movingUp = offNow > offPrev;
-        double moveAmt   = Math.abs(offNow - offPrev);
+    /** Push entities in the ring's path out along 'facing' (the ring shapes are modelled facing UP). */
+    private void pushLikePiston(Level level, BlockPos pos, Direction facing, double offPrev, double offNow) {
+        double moveAmt = offNow - offPrev;
         if (moveAmt <= 0) return;
 
-        VoxelShape start = type.spec.ring().plateAt(offPrev);
-        VoxelShape end   = type.spec.ring().plateAt(offNow);
-
-        AABB a0 = start.bounds(), a1 = end.bounds();
-        AABB sweep = new AABB(
-                Math.min(a0.minX, a1.minX), Math.min(a0.minY, a1.minY), Math.min(a0.minZ, a1.minZ),
-                Math.max(a0.maxX, a1.maxX), Math.max(a0.maxY, a1.maxY), Math.max(a0.maxZ, a1.maxZ)
-        );
-
-        List<Entity> candidates = level.getEntities(null, sweep);
-        if (candidates.isEmpty()) return;
-
-        List<AABB> partsStart = start.toAabbs();
-        List<AABB> partsEnd   = end.toAabbs();
+        List<AABB> partsStart = type.spec.ring().plateAt(offPrev).toAabbs();
+        List<AABB> partsEnd   = type.spec.ring().plateAt(offNow).toAabbs();
         List<AABB> sweptParts = new ArrayList<>(partsStart.size());
+        AABB sweep = null;
         for (int i = 0; i < partsStart.size(); i++) {
-            AABB s = partsStart.get(i), e = partsEnd.get(i);
-            sweptParts.add(new AABB(
-                    s.minX, Math.min(s.minY, e.minY), s.minZ,
-                    s.maxX, Math.max(s.maxY, e.maxY), s.maxZ
-            ));
+            AABB part = EngineBlock.rotateBoxFromUp(partsStart.get(i).minmax(partsEnd.get(i)), facing).move(pos);
+            sweptParts.add(part);
+            sweep = sweep == null ? part : sweep.minmax(part);
         }
+        if (sweep == null) return;
+
+        List<Entity> candidates = level.getEntities((Entity) null, sweep);
+        if (candidates.isEmpty()) return;
+
+        Direction.Axis axis = facing.getAxis();
+        boolean positive = facing.getAxisDirection() == Direction.AxisDirection.POSITIVE;
 
         for (Entity ent : candidates) {
             if (ent.isSpectator() || ent.getPistonPushReaction() == PushReaction.IGNORE) continue;
@@ -241,17 +328,16 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
             AABB bb = ent.getBoundingBox();
             for (AABB sp : sweptParts) {
                 if (!sp.intersects(bb)) continue;
-                double pen = movingUp ? (sp.maxY - bb.minY) : (bb.maxY - sp.minY);
+                double pen = positive ? (sp.max(axis) - bb.min(axis)) : (bb.max(axis) - sp.min(axis));
                 if (pen > needed) needed = pen;
                 if (needed >= moveAmt) break;
             }
             if (needed <= 0.0) continue;
 
             double push = Math.min(needed + PUSH_EPSILON, moveAmt);
-            if (!movingUp) push = -push;
 
             Vec3 before = ent.position();
-            ent.move(MoverType.PISTON, new Vec3(0.0, push, 0.0));
+            ent.move(MoverType.PISTON, new Vec3(facing.getStepX() * push, facing.getStepY() * push, facing.getStepZ() * push));
             ent.applyEffectsFromBlocks(before, ent.position());
             ent.fallDistance = 0.0f;
         }
@@ -283,30 +369,32 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
      * This prevents flickering when heat dips temporarily during countdown.
      */
     private void updatePhaseFromHeat(Level level, BlockPos pos, BlockState state) {
-        if (state.getBlock() instanceof EngineBlock) {
-            EngineBlock.Phase newPhase = switch ((int)(heat * 4)) {  // 0-1 heat * 4 = 0-4
-                case 0, 1 -> EngineBlock.Phase.BLUE;       // 0.0-0.25
-                case 2 -> EngineBlock.Phase.GREEN;         // 0.25-0.50
-                case 3 -> EngineBlock.Phase.ORANGE;        // 0.50-0.75
-                default -> EngineBlock.Phase.RED;          // 0.75+
-            };
+        EngineBlock.Phase newPhase = switch ((int)(heat * 4)) {  // 0-1 heat * 4 = 0-4
+            case 0, 1 -> EngineBlock.Phase.BLUE;       // 0.0-0.25
+            case 2 -> EngineBlock.Phase.GREEN;         // 0.25-0.50
+            case 3 -> EngineBlock.Phase.ORANGE;        // 0.50-0.75
+            default -> EngineBlock.Phase.RED;          // 0.75+
+        };
 
-            BlockState worldState = level.getBlockState(pos);
-            EngineBlock.Phase currentPhase = worldState.getValue(EngineBlock.PHASE);
+        EngineBlock.Phase currentPhase = phase;
 
-            // HEALING STATE: When reconnected and countdown is active (0 < countdown < 1200)
-            // Lock phase to RED even though speed is ORANGE - shows engine is recovering
-            if (redCountdownTicks > 0 && redCountdownTicks < RED_EXPLOSION_COUNTDOWN && currentPhase == EngineBlock.Phase.RED) {
-                newPhase = EngineBlock.Phase.RED;
-            }
+        // HEALING STATE: When reconnected and countdown is active (0 < countdown < 1200)
+        // Lock phase to RED even though speed is ORANGE - shows engine is recovering
+        if (redCountdownTicks > 0 && redCountdownTicks < RED_EXPLOSION_COUNTDOWN && currentPhase == EngineBlock.Phase.RED) {
+            newPhase = EngineBlock.Phase.RED;
+        }
 
-            // FULLY HEALED: When countdown reaches 1200 (fully recovered from RED state)
-            // Force phase to ORANGE to show healing is complete
-            if (redCountdownTicks >= RED_EXPLOSION_COUNTDOWN) {
-                newPhase = EngineBlock.Phase.ORANGE;
-            }
+        // FULLY HEALED: When countdown reaches 1200 (fully recovered from RED state)
+        // Force phase to ORANGE to show healing is complete
+        if (redCountdownTicks >= RED_EXPLOSION_COUNTDOWN) {
+            newPhase = EngineBlock.Phase.ORANGE;
+        }
 
-            if (newPhase != currentPhase) {
+        if (newPhase != currentPhase) {
+            phase = newPhase;
+            // Mirror for the base model texture (only on a transition, a few times per run)
+            BlockState worldState = level.getBlockState(pos);
+            if (worldState.hasProperty(EngineBlock.PHASE)) {
                 level.setBlock(pos, worldState.setValue(EngineBlock.PHASE, newPhase), Block.UPDATE_CLIENTS);
             }
         }
@@ -319,7 +407,7 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
      * Once in RED countdown: heat is controlled by countdown timer, not accumulation.
      */
     private void updateHeatAccumulation(Level level, BlockPos pos, BlockState state) {
-        EngineBlock.Phase currentPhase = state.getValue(EngineBlock.PHASE);
+        EngineBlock.Phase currentPhase = phase;
 
         // If in RED phase with countdown, don't modify heat here - it's controlled by countdown
         if (currentPhase == EngineBlock.Phase.RED && redCountdownTicks > 0) {
@@ -352,23 +440,63 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
      */
     private boolean isEngineWorking(Level level, BlockPos pos, BlockState state) {
         Direction facing = state.getValue(EngineBlock.FACING);
+        if (facing == workingFacing) return working;
+
         BlockPos neighborPos = pos.relative(facing);
+        if (frontEnergy == null || !frontEnergy.pos().equals(neighborPos)) {
+            frontEnergy = level instanceof ServerLevel sl
+                    ? BlockCapabilityCache.create(Capabilities.EnergyStorage.BLOCK, sl, neighborPos, facing.getOpposite(),
+                            () -> !isRemoved(), () -> workingFacing = null)
+                    : null;
+        }
 
         // Check if there's an energy acceptor at the front
         // It's "working" if the capability exists (can receive), even if currently full
-        var sink = net.neoforged.neoforge.capabilities.Capabilities.EnergyStorage.BLOCK;
-        var ie = level.getCapability(sink, neighborPos, facing.getOpposite());
-        if (ie != null && ie.canReceive()) {
-            return true;  // Connected to energy acceptor - working/safe
-        }
+        var ie = frontEnergy != null ? frontEnergy.getCapability() : null;
+        working = (ie != null && ie.canReceive())               // Connected to energy acceptor - working/safe
+                || level.getBlockEntity(neighborPos) instanceof EnginePulseAcceptorApi; // or an engine pulse acceptor
+        workingFacing = facing;
+        return working;
+    }
 
-        // Check if there's an engine pulse acceptor
-        var be = level.getBlockEntity(neighborPos);
-        if (be instanceof EnginePulseAcceptorApi) {
-            return true;
+    /** Server: a neighbour changed, so the block in front may be a new load or consumer. */
+    void onNeighborChanged() {
+        workingFacing = null;
+        publishedRpm = -1;
+    }
+
+    /** Server: tell the consumer in front about a new RPM (0 = stopped), and the old one when the facing moved. */
+    private void publishRpm(Level level, BlockPos pos, BlockState state) {
+        Direction facing = state.hasProperty(EngineBlock.FACING) ? state.getValue(EngineBlock.FACING) : null;
+        int rpm = strokeRunning ? getRPM() : 0;
+        if (rpm == publishedRpm && facing == publishedFacing) return;
+
+        if (publishedFacing != null && publishedFacing != facing) notifyRpm(level, pos, publishedFacing, 0);
+        if (facing != null) notifyRpm(level, pos, facing, rpm);
+        publishedRpm = rpm;
+        publishedFacing = facing;
+    }
+
+    private static void notifyRpm(Level level, BlockPos pos, Direction facing, int rpm) {
+        BlockPos target = pos.relative(facing);
+        if (level.isLoaded(target) && level.getBlockEntity(target) instanceof EnginePowerAcceptorApi acceptor) {
+            acceptor.onEngineRpmChanged(facing.getOpposite(), rpm);
         }
+    }
 
-        return false;
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        unloading = true;
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        // Broken or replaced: the consumer stops counting this engine (on unload it keeps the value it saved)
+        if (!unloading && level != null && !level.isClientSide && publishedFacing != null && publishedRpm > 0) {
+            notifyRpm(level, worldPosition, publishedFacing, 0);
+        }
     }
 
     /**
@@ -381,7 +509,7 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
      * - Sound intervals consistently widen as countdown decreases (fewer ticks = less frequent sound)
      */
     private void handleRedExplosion(Level level, BlockPos pos, BlockState state) {
-        EngineBlock.Phase currentPhase = state.getValue(EngineBlock.PHASE);
+        EngineBlock.Phase currentPhase = phase;
         boolean isWorking = isEngineWorking(level, pos, state);
 
         if (currentPhase == EngineBlock.Phase.RED) {
@@ -518,14 +646,6 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
      * but RPM values represent the work output of each engine type.
      */
     public int getRPM() {
-        BlockState state;
-        if (level != null) {
-            state = level.getBlockState(worldPosition);
-        } else {
-            state = getBlockState();
-        }
-        EngineBlock.Phase phase = state.getValue(EngineBlock.PHASE);
-
         return switch (type) {
             case REDSTONE -> switch (phase) {
                 case BLUE -> 5;
@@ -554,10 +674,16 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
         this.heat = in.getFloatOr("Heat", 0.0f);
         this.redCountdownTicks = in.getIntOr("RedCountdown", 0);
         this.currentSpeedMultiplier = in.getFloatOr("SpeedMultiplier", 1.0f);
-        this.progress = in.getFloatOr("Progress", 0.0f);
-        this.progressO = in.getFloatOr("ProgressO", 0.0f);
-        this.pumpTick = in.getIntOr("PumpTick", 0);
-        this.wasPowered = in.getBooleanOr("WasPowered", false);
+        this.strokeStartGT = in.getLongOr("StrokeStart", 0L);
+        this.strokePeriod = Math.max(1, in.getIntOr("StrokePeriod", basePeriodFor(type)));
+        this.strokeRunning = in.getBooleanOr("StrokeRunning", false);
+
+        // Older saves only have the BlockState mirror
+        BlockState state = getBlockState();
+        EngineBlock.Phase fallback = state.hasProperty(EngineBlock.PHASE) ? state.getValue(EngineBlock.PHASE) : EngineBlock.Phase.BLUE;
+        int ordinal = in.getIntOr("Phase", fallback.ordinal());
+        EngineBlock.Phase[] phases = EngineBlock.Phase.values();
+        this.phase = ordinal >= 0 && ordinal < phases.length ? phases[ordinal] : fallback;
     }
 
     @Override
@@ -566,9 +692,23 @@ public class EngineBlockEntity extends BaseEngineBlockEntity {
         out.putFloat("Heat", heat);
         out.putInt("RedCountdown", redCountdownTicks);
         out.putFloat("SpeedMultiplier", currentSpeedMultiplier);
-        out.putFloat("Progress", progress);
-        out.putFloat("ProgressO", progressO);
-        out.putInt("PumpTick", pumpTick);
-        out.putBoolean("WasPowered", wasPowered);
+        out.putLong("StrokeStart", strokeStartGT);
+        out.putInt("StrokePeriod", strokePeriod);
+        out.putBoolean("StrokeRunning", strokeRunning);
+        out.putInt("Phase", phase.ordinal());
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Client sync: the stroke and phase on chunk load / phase transitions   */
+    /* --------------------------------------------------------------------- */
+
+    @Override
+    public Packet<ClientGamePacketListener> getUpdatePacket() {
+        return ClientboundBlockEntityDataPacket.create(this);
+    }
+
+    @Override
+    public CompoundTag getUpdateTag(HolderLookup.Provider registries) {
+        return this.saveCustomOnly(registries);
     }
 }
@@ -0,0 +1,92 @@
+package com.nick.buildcraft.content.block.engine;
+
+import com.nick.buildcraft.BuildCraft;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.EntityEvent;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Entity count per chunk section, kept from entity events, so an engine can
+ * tell without an entity lookup that nothing can be touching its ring.
+ *
+ * - join: +1 in the entity's section (cancelled joins never reach LOWEST)
+ * - leave: -1 in its current section
+ * - EnteringSection: moved from the old section to the new one
+ *
+ * Join fires when an entity is stored and leave when it stops being tracked,
+ * so the counts can drift (an entity whose chunk unloads before it was ever
+ * tracked is never subtracted). They are a hint only: engines still do a real
+ * lookup now and then while the hint says "empty" (EngineBlockEntity).
+ *
+ * Server levels only; dropped with the level.
+ */
+@EventBusSubscriber(modid = BuildCraft.MODID)
+public final class EngineEntitySections {
+
+    private EngineEntitySections() {}
+
+    /** Entity AABBs can reach this far out of their own section (same margin as vanilla's section lookup). */
+    private static final int REACH = 2;
+
+    private static final Map<ServerLevel, Long2IntOpenHashMap> COUNTS = new IdentityHashMap<>();
+
+    /** True if an entity may overlap the block at pos (its section or a neighbouring one has entities). */
+    static boolean mayHaveEntitiesNear(ServerLevel level, BlockPos pos) {
+        Long2IntOpenHashMap counts = COUNTS.get(level);
+        if (counts == null || counts.isEmpty()) return false;
+
+        int sx0 = SectionPos.blockToSectionCoord(pos.getX() - REACH), sx1 = SectionPos.blockToSectionCoord(pos.getX() + 1 + REACH);
+        int sy0 = SectionPos.blockToSectionCoord(pos.getY() - REACH), sy1 = SectionPos.blockToSectionCoord(pos.getY() + 1 + REACH);
+        int sz0 = SectionPos.blockToSectionCoord(pos.getZ() - REACH), sz1 = SectionPos.blockToSectionCoord(pos.getZ() + 1 + REACH);
+        for (int sx = sx0; sx <= sx1; sx++) {
+            for (int sy = sy0; sy <= sy1; sy++) {
+                for (int sz = sz0; sz <= sz1; sz++) {
+                    if (counts.get(SectionPos.asLong(sx, sy, sz)) > 0) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void add(ServerLevel level, long section, int delta) {
+        Long2IntOpenHashMap counts = COUNTS.computeIfAbsent(level, k -> new Long2IntOpenHashMap());
+        int n = counts.get(section) + delta;
+        if (n > 0) counts.put(section, n);
+        else counts.remove(section);
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onJoin(EntityJoinLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        add(level, SectionPos.asLong(event.getEntity().blockPosition()), 1);
+    }
+
+    @SubscribeEvent
+    public static void onLeave(EntityLeaveLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        add(level, SectionPos.asLong(event.getEntity().blockPosition()), -1);
+    }
+
+    @SubscribeEvent
+    public static void onEnterSection(EntityEvent.EnteringSection event) {
+        if (!(event.getEntity().level() instanceof ServerLevel level)) return;
+        add(level, event.getPackedOldPos(), -1);
+        add(level, event.getPackedNewPos(), 1);
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) COUNTS.remove(level);
+    }
+}
@@ -43,7 +43,16 @@ import net.neoforged.neoforge.fluids.capability.IFluidHandler;
  */
 public abstract class BaseFluidPipeBlock extends Block implements EntityBlock {
 
-    public enum PipeFamily { STONE, COBBLE, GOLD, IRON, DIAMOND, WOOD, GENERIC }
+    public enum PipeFamily {
+        STONE(200), COBBLE(100), GOLD(800), IRON(400), DIAMOND(1600), WOOD(100), GENERIC(200);
+
+        /** Throughput cap (mB/t) a line of this pipe allows when simulated as one transfer (PipeLodManager). */
+        public final int mbPerTick;
+
+        PipeFamily(int mbPerTick) {
+            this.mbPerTick = mbPerTick;
+        }
+    }
 
     private final PipeFamily family;
 
@@ -182,9 +191,7 @@ public abstract class BaseFluidPipeBlock extends Block implements EntityBlock {
                 }
 
                 pipe.setChanged();
-
-                // Sync to client so renderer knows pipe is empty
-                level.sendBlockUpdated(pos, state, state, 3);
+                // Render state reaches the client through the pipe's delta sync
             }
         }
     }
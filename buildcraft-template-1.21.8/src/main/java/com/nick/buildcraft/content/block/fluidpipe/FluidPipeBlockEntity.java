@@ -1,12 +1,16 @@
 package com.nick.buildcraft.content.block.fluidpipe;
 
 import com.mojang.serialization.Codec;
+import com.nick.buildcraft.Config;
 import com.nick.buildcraft.registry.ModBlockEntity;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BooleanProperty;
@@ -14,6 +18,7 @@ import net.minecraft.world.level.storage.ValueInput;
 import net.minecraft.world.level.storage.ValueOutput;
 import net.neoforged.neoforge.fluids.FluidStack;
 import net.neoforged.neoforge.fluids.capability.IFluidHandler;
+import net.neoforged.neoforge.model.data.ModelData;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.EnumMap;
@@ -21,13 +26,20 @@ import java.util.EnumMap;
 public class FluidPipeBlockEntity extends BlockEntity {
 
     public static final int REACH_PER_UNIT = 1;
-    private static final int MB_PER_UNIT = 1000;
+    static final int MB_PER_UNIT = 1000;
     private static final float WAVE_SPEED = 0.0f;
     private static final int CHECKPOINT_CAPACITY_MB = 1000;
     private static final int TRANSFER_RATE = 0;
     private static final int VIRGIN_GRACE_PERIOD_TICKS = 40;
     public static final int GAS_PEDAL_GRACE_TICKS = 2;
 
+    // Render-state delta sync (see FluidPipeSyncPayload / PipeSyncBatcher)
+    public static final int FILL_STEPS = 64;     // fill fraction quantized to 1/64
+    public static final int DIRTY_FLUID = 1;
+    public static final int DIRTY_FILL = 1 << 1;
+    public static final int DIRTY_FLOW = 1 << 2;
+    public static final int FLOW_NONE = -1;      // no downstream side (dead end / orphan)
+
     boolean isRoot = false;
     int unitsInjected = 0;
     int unitsConsumed = 0;
@@ -47,8 +59,42 @@ public class FluidPipeBlockEntity extends BlockEntity {
     boolean isVirginPipe = true;
     int virginTicksRemaining = VIRGIN_GRACE_PERIOD_TICKS;
     long placementTime = 0L;
-    int tickCounter = 0;
     FluidPipeBlockEntity cachedRoot = null;
+    long topologyEpoch = 0L;  // Root only: see PipeFlowNetwork.markTopologyChanged, not saved
+
+    // Volumetric solver mode (Config.FLUID_PIPE_SOLVER): persisted per-pipe volume,
+    // network object is owned by the root and rebuilt on topology change
+    int flowAmountMb = 0;
+    PipeFlowNetwork flowNetwork = null;
+
+    // Sink delivery: cached IFluidHandler faces; a face a source pushes in through is never a sink
+    final PipeSinkCache sinkCache = new PipeSinkCache(this);
+    int sourceFaces = 0;  // Bit per Direction.get3DDataValue(), set by PipeFluidInjector on this pipe, not saved
+
+    // Side fluid arrives from: set by PipeDistanceUpdater (wave) or PipeFlowNetwork.build (solver), not saved
+    @Nullable Direction upstreamSide = null;
+    int sinkMbAccum = 0;
+
+    // Injection (PipeInjectionQueue): root only, mB reserved by sources this tick, flushed on the root's step
+    final PipeInjectionQueue injectionQueue = new PipeInjectionQueue(this);
+    int pendingInjectMb = 0;
+
+    // Sleep mode (PipeSleepManager): not saved, a reloaded network re-settles
+    boolean asleep = false;
+    long lastActivityTick = 0L;
+    long sleepEpoch = -1L;
+    long sleepRetryTick = Long.MAX_VALUE;  // Root only: re-probe full sinks at this tick
+
+    // Level of detail (PipeLodManager): root only, not saved, re-decided after load
+    PipeLodManager.LodState lodState = null;
+
+    // Last render state sent (server) / received (client), quantized
+    FluidStack syncedFluid = FluidStack.EMPTY;
+    int syncedFill = 0;
+    int syncedFlow = FLOW_NONE;
+
+    // Client: immutable snapshot for FluidPipeRenderer / FluidPipeModel, rebuilt only on sync
+    private FluidPipeRenderState renderState = FluidPipeRenderState.EMPTY;
 
     private final EnumMap<Direction, SideFluidHandler> sideHandlers = new EnumMap<>(Direction.class);
 
@@ -66,6 +112,7 @@ public class FluidPipeBlockEntity extends BlockEntity {
         unitsConsumed = 0;
         frontPos = 0f;
         injectedMbAccum = 0;
+        pendingInjectMb = 0;
         distanceFromRoot = Integer.MAX_VALUE;
         prevDistanceFromRoot = Integer.MAX_VALUE;
         displayedFluid = FluidStack.EMPTY;
@@ -79,14 +126,19 @@ public class FluidPipeBlockEntity extends BlockEntity {
         checkpointWasDeliveredByWave = false;
         isVirginPipe = true;
         virginTicksRemaining = VIRGIN_GRACE_PERIOD_TICKS;
+        flowAmountMb = 0;
+        flowNetwork = null;
+        sourceFaces = 0;
+        upstreamSide = null;
+        sinkMbAccum = 0;
+        sinkCache.invalidate();
+        asleep = false;
 
         if (level != null) {
             placementTime = level.getGameTime();
         } else {
             placementTime = 0L;
         }
-
-        tickCounter = 0;
     }
 
     public Level getPipeLevel() {
@@ -98,12 +150,15 @@ public class FluidPipeBlockEntity extends BlockEntity {
     }
 
     public FluidStack getDisplayedFluid() {
+        if (level != null && level.isClientSide) return syncedFluid;
         if (!displayedFluid.isEmpty()) return displayedFluid;
         if (!checkpointFluid.isEmpty()) return checkpointFluid;
         return FluidStack.EMPTY;
     }
 
     public float getFillFraction() {
+        if (level != null && level.isClientSide) return syncedFill / (float) FILL_STEPS;
+        if (usesFlowSolver()) return flowAmountMb / (float) MB_PER_UNIT;
         if (hasCheckpoint && checkpointAmount > 0) {
             return (float) checkpointAmount / (float) CHECKPOINT_CAPACITY_MB;
         }
@@ -127,6 +182,7 @@ public class FluidPipeBlockEntity extends BlockEntity {
     }
 
     public float getFrontPos() {
+        if (usesFlowSolver()) return flowAmountMb / (float) MB_PER_UNIT;
         if (isRoot) return frontPos;
         if (level == null || distanceFromRoot == Integer.MAX_VALUE) return 0f;
 
@@ -136,6 +192,11 @@ public class FluidPipeBlockEntity extends BlockEntity {
         return (float) root.unitsInjected;
     }
 
+    /** Client render snapshot. Never null; EMPTY until the first sync. */
+    public FluidPipeRenderState getRenderState() {
+        return renderState;
+    }
+
     public int getDistanceFromRoot() {
         return distanceFromRoot;
     }
@@ -187,11 +248,34 @@ public class FluidPipeBlockEntity extends BlockEntity {
         };
         return state.hasProperty(prop) && state.getValue(prop);
     }
+    /** True when this network is driven by PipeFlowNetwork instead of the wave model. */
+    static boolean usesFlowSolver() {
+        return Config.FLUID_PIPE_SOLVER.getAsBoolean();
+    }
+
     public void tickFluids() {
         if (level == null) return;
+        if (asleep) {
+            if (isRoot) PipeSleepManager.tickAsleepRoot(this);
+            return;
+        }
+
+        // 🔥 LOD: nobody is watching, the root simulates the whole network on its own
+        if (!level.isClientSide && PipeLodManager.isFrozenMember(this)) return;
+
+        if (usesFlowSolver()) {
+            tickFlowSolver();
+            return;
+        }
 
         if (isRoot && !level.isClientSide) {
             pumpPushingThisTick = false;
+            injectionQueue.flush();
+
+            if (PipeLodManager.tickRoot(this)) {
+                PipeSleepManager.updateRoot(this);
+                return;
+            }
         }
 
         // CRITICAL: Update distance FIRST before any virgin grace checks
@@ -239,12 +323,34 @@ public class FluidPipeBlockEntity extends BlockEntity {
             PipeWavePropagator.propagateFrontPos(this);
             PipeCheckpointManager.updateCheckpoint(this);
             PipeCheckpointManager.deliverToTanks(this);
+
+            updateRenderSync();
+
+            if (isRoot) {
+                PipeSleepManager.updateRoot(this);
+            }
+        }
+    }
+
+    /** Solver mode: the root steps the whole network, members only sync their render state. */
+    private void tickFlowSolver() {
+        if (level.isClientSide) return;
+
+        if (isRoot && !hasNonPipeNeighbor()) {
+            isRoot = false;
+            flowNetwork = null;
+            setChanged();
+        }
+        boolean lod = false;
+        if (isRoot) {
+            PipeFlowNetwork.of(this).tick();
+            lod = PipeLodManager.updateObservation(this);
         }
 
-        tickCounter++;
-        if (tickCounter >= 10) {
-            tickCounter = 0;
-            syncToClient();
+        if (!lod) updateRenderSync();
+
+        if (isRoot) {
+            PipeSleepManager.updateRoot(this);
         }
     }
 
@@ -296,19 +402,19 @@ public class FluidPipeBlockEntity extends BlockEntity {
             if (resource == null || resource.isEmpty()) return 0;
 
             if (action.simulate()) {
-                if (level != null && isRoot) {
-                    int networkCapacity = PipeFluidInjector.getNetworkCapacity(FluidPipeBlockEntity.this);
-                    int unitsInSystem = unitsInjected - unitsConsumed;
-                    int availableUnits = networkCapacity - unitsInSystem;
-                    int availableMb = availableUnits * MB_PER_UNIT;
-                    return Math.min(resource.getAmount(), Math.max(0, availableMb));
+                if (usesFlowSolver()) {
+                    return PipeFluidInjector.simulateSolver(FluidPipeBlockEntity.this, resource, side);
                 }
-                return resource.getAmount();
+                return PipeFluidInjector.simulate(FluidPipeBlockEntity.this, resource, side);
             }
 
             FluidStack copy = resource.copy();
             FluidStack leftover = PipeFluidInjector.offer(FluidPipeBlockEntity.this, copy, side);
-            return resource.getAmount() - leftover.getAmount();
+            int accepted = resource.getAmount() - leftover.getAmount();
+            if (accepted > 0) {
+                PipeSleepManager.wake(FluidPipeBlockEntity.this);
+            }
+            return accepted;
         }
 
         @Override
@@ -326,9 +432,144 @@ public class FluidPipeBlockEntity extends BlockEntity {
     public IFluidHandler getFluidHandlerForSide(Direction side) {
         return sideHandlers.get(side);
     }
-    private void syncToClient() {
+
+    /* --------------------------------------------------------------------- */
+    /* Render sync                                                           */
+    /* --------------------------------------------------------------------- */
+
+    private static int quantize(float value) {
+        return Math.max(0, Math.round(value * FILL_STEPS));
+    }
+
+    /**
+     * Server: compare the quantized render state against what the client last
+     * received and queue a delta only for the fields that actually changed.
+     * A steady-state network sends nothing.
+     */
+    private void updateRenderSync() {
+        if (!(level instanceof ServerLevel serverLevel)) return;
+
+        FluidStack fluid = getDisplayedFluid();
+        int fill = Math.min(FILL_STEPS, quantize(getFillFraction()));
+        int flow = fill > 0 ? computeFlowDir() : syncedFlow;
+
+        int mask = 0;
+        if (!FluidStack.isSameFluidSameComponents(fluid, syncedFluid)) mask |= DIRTY_FLUID;
+        if (fill != syncedFill) mask |= DIRTY_FILL;
+        if (flow != syncedFlow) mask |= DIRTY_FLOW;
+        if (mask == 0) return;
+
+        if ((mask & DIRTY_FLUID) != 0) {
+            syncedFluid = fluid.isEmpty() ? FluidStack.EMPTY : fluid.copyWithAmount(1);
+        }
+        syncedFill = fill;
+        syncedFlow = flow;
+
+        PipeSyncBatcher.queue(serverLevel, worldPosition, mask, syncedFluid, fill, flow);
+    }
+
+    /**
+     * Downstream side for rendering: the first connected side that is not the one
+     * fluid arrives from. Uses the upstream side the network already recorded and
+     * the blockstate only, no neighbour lookups.
+     */
+    private int computeFlowDir() {
+        Direction up = isRoot ? firstSourceFace() : upstreamSide;
+        if (up == null && !isRoot) return FLOW_NONE; // orphan
+
+        for (Direction dir : Direction.values()) {
+            if (dir != up && isConnectedInDirection(dir)) return dir.get3DDataValue();
+        }
+        return FLOW_NONE;
+    }
+
+    /** Client: apply a delta received from FluidPipeSyncPayload. */
+    public void applyRenderSync(int mask, FluidStack fluid, int fill, int flow) {
+        if ((mask & DIRTY_FLUID) != 0) syncedFluid = fluid;
+        if ((mask & DIRTY_FILL) != 0) syncedFill = fill;
+        if ((mask & DIRTY_FLOW) != 0) syncedFlow = flow;
+        rebuildRenderState();
+    }
+
+    private void rebuildRenderState() {
+        FluidPipeRenderState old = renderState;
+        renderState = new FluidPipeRenderState(
+                syncedFluid,
+                syncedFill / (float) FILL_STEPS,
+                syncedFlow == FLOW_NONE ? null : Direction.from3DDataValue(syncedFlow),
+                FluidPipeRenderState.connectionMask(getBlockState())
+        );
+
+        // Static contents live in the chunk mesh: re-mesh only when that geometry changes
+        if (level != null && level.isClientSide && !renderState.sameChunkGeometry(old)) {
+            requestModelDataUpdate();
+            BlockState state = getBlockState();
+            level.sendBlockUpdated(worldPosition, state, state, Block.UPDATE_CLIENTS);
+        }
+    }
+
+    /** Client: a full pipe's contents are drawn by FluidPipeModel from this, not by the BER. */
+    @Override
+    public ModelData getModelData() {
+        if (!renderState.isStatic()) return ModelData.EMPTY;
+        return ModelData.builder().with(FluidPipeRenderState.MODEL_PROPERTY, renderState).build();
+    }
+
+    @Override
+    public void setChanged() {
+        super.setChanged();
+        // Helpers only call this on a real state change -> counts as network activity for sleep mode
+        if (level != null && !level.isClientSide) {
+            FluidPipeBlockEntity root = isRoot ? this : cachedRoot;
+            if (root != null) root.lastActivityTick = level.getGameTime();
+        }
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level != null && !level.isClientSide) PipeFlowNetwork.markTopologyChanged(this);
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (level != null && !level.isClientSide) PipeFlowNetwork.markTopologyChanged(this);
+    }
+
+    /**
+     * A non-pipe source pushes into this pipe through side: never offer fluid
+     * back out of that face. Any pipe can have several; adding one only drops
+     * this pipe's sink cache, it is not a topology change.
+     */
+    void addSourceFace(Direction side) {
+        int bit = 1 << side.get3DDataValue();
+        if ((sourceFaces & bit) != 0) return;
+        sourceFaces |= bit;
+        sinkCache.invalidate();
+    }
+
+    boolean isSourceFace(Direction side) {
+        return (sourceFaces & (1 << side.get3DDataValue())) != 0;
+    }
+
+    @Nullable
+    private Direction firstSourceFace() {
+        return sourceFaces == 0 ? null : Direction.from3DDataValue(Integer.numberOfTrailingZeros(sourceFaces));
+    }
+
+    @Override
+    public void setBlockState(BlockState state) {
+        super.setBlockState(state);
         if (level != null && !level.isClientSide) {
-            level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+            PipeFlowNetwork.markTopologyChanged(this);
+            sourceFaces = 0; // neighbours may have changed: sources re-register on their next offer
+            sinkCache.invalidate();
+            PipeSleepManager.wake(this);
+        }
+        // Connection changes arrive as blockstate updates, not pipe packets
+        if (level != null && level.isClientSide) {
+            rebuildRenderState();
         }
     }
 
@@ -339,8 +580,12 @@ public class FluidPipeBlockEntity extends BlockEntity {
     }
 
     @Override
-    public net.minecraft.nbt.CompoundTag getUpdateTag(HolderLookup.Provider provider) {
-        return this.saveWithoutMetadata(provider);
+    public CompoundTag getUpdateTag(HolderLookup.Provider provider) {
+        // Full state only on chunk load / BE creation; live changes go through PipeSyncBatcher
+        CompoundTag tag = this.saveWithoutMetadata(provider);
+        tag.putInt("SyncFill", Math.min(FILL_STEPS, quantize(getFillFraction())));
+        tag.putInt("SyncFlow", computeFlowDir());
+        return tag;
     }
 
     @Override
@@ -352,6 +597,7 @@ public class FluidPipeBlockEntity extends BlockEntity {
         out.putInt("UnitsInjected", unitsInjected);
         out.putInt("UnitsConsumed", unitsConsumed);
         out.putInt("InjectedMbAccum", injectedMbAccum);
+        out.putInt("PendingInjectMb", pendingInjectMb);
         out.store("FrontPos", Codec.FLOAT, frontPos);
         out.putInt("UnitsDeliveredToTank", unitsDeliveredToTank);
 
@@ -374,6 +620,8 @@ public class FluidPipeBlockEntity extends BlockEntity {
         out.putInt("IsVirginPipe", isVirginPipe ? 1 : 0);
         out.putInt("VirginTicksRemaining", virginTicksRemaining);
         out.putLong("PlacementTime", placementTime);
+        out.putInt("FlowAmount", flowAmountMb);
+        out.putInt("SinkMbAccum", sinkMbAccum);
     }
 
     @Override
@@ -386,6 +634,7 @@ public class FluidPipeBlockEntity extends BlockEntity {
         unitsInjected = in.getInt("UnitsInjected").orElse(0);
         unitsConsumed = in.getInt("UnitsConsumed").orElse(0);
         injectedMbAccum = in.getInt("InjectedMbAccum").orElse(0);
+        pendingInjectMb = in.getInt("PendingInjectMb").orElse(0);
         frontPos = in.read("FrontPos", Codec.FLOAT).orElse(0f);
         unitsDeliveredToTank = in.getInt("UnitsDeliveredToTank").orElse(0);
 
@@ -406,5 +655,14 @@ public class FluidPipeBlockEntity extends BlockEntity {
         isVirginPipe = in.getInt("IsVirginPipe").orElse(1) != 0;
         virginTicksRemaining = in.getInt("VirginTicksRemaining").orElse(VIRGIN_GRACE_PERIOD_TICKS);
         placementTime = in.getLong("PlacementTime").orElse(0L);
+        flowAmountMb = in.getInt("FlowAmount").orElse(0);
+        sinkMbAccum = in.getInt("SinkMbAccum").orElse(0);
+
+        // Render state: Sync* keys only exist in client update tags
+        FluidStack shown = !displayedFluid.isEmpty() ? displayedFluid : checkpointFluid;
+        syncedFluid = shown.isEmpty() ? FluidStack.EMPTY : shown.copyWithAmount(1);
+        syncedFill = in.getInt("SyncFill").orElse(0);
+        syncedFlow = in.getInt("SyncFlow").orElse(FLOW_NONE);
+        rebuildRenderState();
     }
 }
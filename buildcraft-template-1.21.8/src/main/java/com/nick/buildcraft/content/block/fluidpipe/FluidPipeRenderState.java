@@ -0,0 +1,68 @@
+package com.nick.buildcraft.content.block.fluidpipe;
+
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.fluids.FluidStack;
+import net.neoforged.neoforge.model.data.ModelProperty;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable client-side render snapshot of one fluid pipe.
+ *
+ * Rebuilt by FluidPipeBlockEntity only when a sync arrives (delta packet,
+ * update tag, or a blockstate change). Renderers read ONLY this object, so a
+ * frame never walks the network or touches level data.
+ *
+ * A full pipe has no moving front: it is handed to the chunk mesh through
+ * model data (FluidPipeModel) and costs nothing per frame. Only pipes with a
+ * front inside them (0 < fill < 1) are drawn by FluidPipeRenderer.
+ *
+ * @param fluid          fluid type to draw (amount is meaningless, never mutate)
+ * @param fill           fill fraction of this pipe, 0..1
+ * @param frontDir       downstream side the fluid front moves out through, or null at a dead end
+ * @param connectionMask bit (1 << Direction.get3DDataValue()) per connected side
+ */
+public record FluidPipeRenderState(FluidStack fluid,
+                                   float fill,
+                                   @Nullable Direction frontDir,
+                                   int connectionMask) {
+
+    public static final FluidPipeRenderState EMPTY =
+            new FluidPipeRenderState(FluidStack.EMPTY, 0f, null, 0);
+
+    /** Model data key the block entity exposes a static snapshot under. */
+    public static final ModelProperty<FluidPipeRenderState> MODEL_PROPERTY = new ModelProperty<>();
+
+    /** True if there is anything to draw. */
+    public boolean isVisible() {
+        return fill > 0f && !fluid.isEmpty();
+    }
+
+    /** Full pipe: drawn as chunk geometry, skipped by the BER. */
+    public boolean isStatic() {
+        return isVisible() && fill >= 1f;
+    }
+
+    /** True if both snapshots produce the same chunk geometry (the chunk section need not re-mesh). */
+    public boolean sameChunkGeometry(FluidPipeRenderState other) {
+        if (isStatic() != other.isStatic()) return false;
+        return !isStatic()
+                || (connectionMask == other.connectionMask && FluidStack.isSameFluidSameComponents(fluid, other.fluid));
+    }
+
+    public boolean isConnected(Direction dir) {
+        return (connectionMask & (1 << dir.get3DDataValue())) != 0;
+    }
+
+    /** Pack the six connection properties of a pipe blockstate into a bitmask. */
+    public static int connectionMask(BlockState state) {
+        int mask = 0;
+        if (state.hasProperty(BaseFluidPipeBlock.DOWN) && state.getValue(BaseFluidPipeBlock.DOWN)) mask |= 1 << Direction.DOWN.get3DDataValue();
+        if (state.hasProperty(BaseFluidPipeBlock.UP) && state.getValue(BaseFluidPipeBlock.UP)) mask |= 1 << Direction.UP.get3DDataValue();
+        if (state.hasProperty(BaseFluidPipeBlock.NORTH) && state.getValue(BaseFluidPipeBlock.NORTH)) mask |= 1 << Direction.NORTH.get3DDataValue();
+        if (state.hasProperty(BaseFluidPipeBlock.SOUTH) && state.getValue(BaseFluidPipeBlock.SOUTH)) mask |= 1 << Direction.SOUTH.get3DDataValue();
+        if (state.hasProperty(BaseFluidPipeBlock.WEST) && state.getValue(BaseFluidPipeBlock.WEST)) mask |= 1 << Direction.WEST.get3DDataValue();
+        if (state.hasProperty(BaseFluidPipeBlock.EAST) && state.getValue(BaseFluidPipeBlock.EAST)) mask |= 1 << Direction.EAST.get3DDataValue();
+        return mask;
+    }
+}
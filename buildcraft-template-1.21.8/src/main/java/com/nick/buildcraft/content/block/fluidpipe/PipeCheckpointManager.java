@@ -1,11 +1,6 @@
 package com.nick.buildcraft.content.block.fluidpipe;
 
-import com.nick.buildcraft.content.block.tank.TankBlockEntity;
-import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.neoforged.neoforge.fluids.FluidStack;
-import net.neoforged.neoforge.fluids.capability.IFluidHandler;
 
 public class PipeCheckpointManager {
 
@@ -39,68 +34,67 @@ public class PipeCheckpointManager {
         }
     }
 
+    /**
+     * Hand fluid that reached this pipe to its sinks (any IFluidHandler face,
+     * see PipeSinkCache). No neighbor scan per tick: the sink list is cached
+     * and a pipe without sinks returns immediately.
+     */
     public static void deliverToTanks(FluidPipeBlockEntity pipe) {
         if (pipe.getPipeLevel() == null) return;
-
-        TankBlockEntity tankBe = null;
-        for (Direction dir : Direction.values()) {
-            BlockPos np = pipe.getPipePos().relative(dir);
-            BlockEntity be = pipe.getPipeLevel().getBlockEntity(np);
-            if (be instanceof TankBlockEntity t) {
-                tankBe = t;
-                break;
-            }
-        }
-        if (tankBe == null) return;
+        if (!pipe.sinkCache.hasSinks()) return;
 
         if (pipe.distanceFromRoot != Integer.MAX_VALUE &&
                 !pipe.displayedFluid.isEmpty() &&
                 pipe.isOnActiveFlowPath()) {
 
-            deliverWaveToTank(pipe, tankBe);
+            deliverWaveToSinks(pipe, pipe.displayedFluid, Integer.MAX_VALUE);
 
         } else if (pipe.hasCheckpoint && pipe.checkpointAmount > 0) {
 
-            deliverCheckpointToTank(pipe, tankBe);
+            deliverCheckpointToSinks(pipe);
         }
     }
 
-    private static void deliverWaveToTank(FluidPipeBlockEntity pipe, TankBlockEntity tankBe) {
+    /**
+     * Deliver the units the wave head has carried past this pipe, at most maxMb.
+     * Returns the mB the sinks accepted. Also used by PipeLodManager, which
+     * feeds sink pipes straight from the root with the root's fluid.
+     */
+    static int deliverWaveToSinks(FluidPipeBlockEntity pipe, FluidStack fluid, int maxMb) {
         float head = pipe.getFrontPos();
-        if (head <= 0f) return;
+        if (head <= 0f) return 0;
 
         float segmentStart = pipe.distanceFromRoot - 1;
         float passed = head - segmentStart;
 
         int unitsPassedHere = (int)Math.floor(passed);
-        if (unitsPassedHere <= pipe.unitsDeliveredToTank) return;
+        if (unitsPassedHere <= pipe.unitsDeliveredToTank) return 0;
 
         int newUnits = unitsPassedHere - pipe.unitsDeliveredToTank;
-        int amountMb = newUnits * 1000;
 
-        IFluidHandler tankHandler = tankBe.getColumnHandler();
-        FluidStack toInsert = new FluidStack(pipe.displayedFluid.getFluid(), amountMb);
+        // Partial fills across several sinks are carried in sinkMbAccum so no mB is lost or duplicated
+        int amountMb = Math.min(newUnits * 1000 - pipe.sinkMbAccum, maxMb);
+        long now = pipe.getPipeLevel().getGameTime();
 
-        int filled = tankHandler.fill(toInsert, IFluidHandler.FluidAction.EXECUTE);
-        if (filled <= 0) return;
+        int filled = pipe.sinkCache.distribute(fluid, amountMb, now);
+        if (filled <= 0) return 0;
 
-        int actualUnits = filled / 1000;
-        if (actualUnits <= 0) return;
+        pipe.sinkMbAccum += filled;
+        int actualUnits = pipe.sinkMbAccum / 1000;
+        pipe.sinkMbAccum %= 1000;
 
-        pipe.unitsDeliveredToTank += actualUnits;
+        if (actualUnits > 0) {
+            pipe.unitsDeliveredToTank += actualUnits;
 
-        if (pipe.hasCheckpoint) {
-            pipe.checkpointWasDeliveredByWave = true;
+            if (pipe.hasCheckpoint) {
+                pipe.checkpointWasDeliveredByWave = true;
+            }
         }
-
-        tankBe.setChanged();
-        pipe.getPipeLevel().sendBlockUpdated(tankBe.getBlockPos(), tankBe.getBlockState(), tankBe.getBlockState(), 3);
+        pipe.setChanged();
+        return filled;
     }
 
-    private static void deliverCheckpointToTank(FluidPipeBlockEntity pipe, TankBlockEntity tankBe) {
-        IFluidHandler tankHandler = tankBe.getColumnHandler();
-        if (tankHandler == null) return;
-
+    private static void deliverCheckpointToSinks(FluidPipeBlockEntity pipe) {
         if (pipe.checkpointWasDeliveredByWave) {
             pipe.checkpointFluid = FluidStack.EMPTY;
             pipe.checkpointAmount = 0;
@@ -111,9 +105,9 @@ public class PipeCheckpointManager {
         }
 
         int toTransfer = Math.min(100, pipe.checkpointAmount);
-        FluidStack toInsert = pipe.checkpointFluid.copyWithAmount(toTransfer);
+        long now = pipe.getPipeLevel().getGameTime();
 
-        int filled = tankHandler.fill(toInsert, IFluidHandler.FluidAction.EXECUTE);
+        int filled = pipe.sinkCache.distribute(pipe.checkpointFluid, toTransfer, now);
         if (filled > 0) {
             pipe.checkpointAmount -= filled;
 
@@ -125,8 +119,6 @@ public class PipeCheckpointManager {
                 pipe.checkpointFluid.setAmount(pipe.checkpointAmount);
             }
 
-            tankBe.setChanged();
-            pipe.getPipeLevel().sendBlockUpdated(tankBe.getBlockPos(), tankBe.getBlockState(), tankBe.getBlockState(), 3);
             pipe.setChanged();
         }
     }
@@ -13,6 +13,7 @@ public class PipeDistanceUpdater {
         if (level == null) return;
 
         int best = Integer.MAX_VALUE;
+        Direction upstream = null;
 
         if (pipe.isRoot()) {
             best = 1;
@@ -26,12 +27,15 @@ public class PipeDistanceUpdater {
             BlockEntity be = level.getBlockEntity(np);
             if (be instanceof FluidPipeBlockEntity other) {
                 int od = other.distanceFromRoot;
-                if (od != Integer.MAX_VALUE) {
-                    best = Math.min(best, od + 1);
+                if (od != Integer.MAX_VALUE && od + 1 < best) {
+                    best = od + 1;
+                    upstream = dir; // Remembered for the render flow side (FluidPipeBlockEntity.computeFlowDir)
                 }
             }
         }
 
+        pipe.upstreamSide = upstream;
+
         if (best != pipe.distanceFromRoot) {
             pipe.prevDistanceFromRoot = pipe.distanceFromRoot;
             pipe.distanceFromRoot = best;
@@ -84,9 +88,6 @@ public class PipeDistanceUpdater {
             }
 
             pipe.setChanged();
-            if (!level.isClientSide) {
-                level.sendBlockUpdated(pipe.getBlockPos(), pipe.getBlockState(), pipe.getBlockState(), 3);
-            }
         }
     }
 }
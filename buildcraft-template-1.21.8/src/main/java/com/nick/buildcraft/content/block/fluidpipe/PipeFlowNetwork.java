@@ -0,0 +1,200 @@
+package com.nick.buildcraft.content.block.fluidpipe;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.neoforged.neoforge.fluids.FluidStack;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * World-side wrapper around PipeFlowSolver for one fluid pipe network
+ * (only used when Config.FLUID_PIPE_SOLVER is on).
+ *
+ * Owned by the root pipe. Built once by a BFS from the root and reused until
+ * this network's topology changes (see markTopologyChanged). Per tick the
+ * root runs tick(): step the solver, hand fluid to sinks, and scatter the
+ * per-pipe amounts back into the member block entities (which persist them).
+ */
+public final class PipeFlowNetwork {
+
+    /** Forward sweeps per tick. One sweep already carries fluid end-to-end through free space. */
+    public static final int PASSES_PER_TICK = 2;
+
+    /**
+     * A fluid pipe was added, removed or reconnected: bump the topology epoch of
+     * the root it belongs to and of the roots of its neighbours (a new pipe can
+     * join or merge networks, a removed one can split them). Networks elsewhere
+     * keep their caches.
+     */
+    public static void markTopologyChanged(FluidPipeBlockEntity pipe) {
+        bumpRootOf(pipe);
+        Level level = pipe.getLevel();
+        if (level == null) return;
+
+        for (Direction dir : Direction.values()) {
+            BlockPos np = pipe.getBlockPos().relative(dir);
+            if (level.isLoaded(np) && level.getBlockEntity(np) instanceof FluidPipeBlockEntity neighbor) {
+                bumpRootOf(neighbor);
+            }
+        }
+    }
+
+    private static void bumpRootOf(FluidPipeBlockEntity pipe) {
+        FluidPipeBlockEntity root = pipe.isRoot() ? pipe : pipe.cachedRoot;
+        if (root != null) root.topologyEpoch++;
+    }
+
+    /** Topology epoch of the network rooted at root; per-network caches rebuild when it moves. */
+    public static long topologyEpoch(FluidPipeBlockEntity root) {
+        return root.topologyEpoch;
+    }
+
+    private final long builtEpoch;
+    final FluidPipeBlockEntity[] members;   // index = network-local id, 0 = root
+    final PipeFlowSolver solver;
+    private final int[] sinkNodes;          // members with at least one cached sink face
+    FluidStack fluid = FluidStack.EMPTY;
+
+    private PipeFlowNetwork(FluidPipeBlockEntity[] members, int[] parent, int[] sinkNodes) {
+        this.builtEpoch = members[0].topologyEpoch;
+        this.members = members;
+        this.solver = new PipeFlowSolver(parent, FluidPipeBlockEntity.MB_PER_UNIT);
+        this.sinkNodes = sinkNodes;
+
+        for (int id = 0; id < members.length; id++) {
+            solver.setAmount(id, members[id].flowAmountMb);
+            if (fluid.isEmpty() && members[id].flowAmountMb > 0 && !members[id].displayedFluid.isEmpty()) {
+                fluid = members[id].displayedFluid.copyWithAmount(1);
+            }
+        }
+    }
+
+    /** Current network for this root, rebuilding it if the topology changed since it was built. */
+    public static PipeFlowNetwork of(FluidPipeBlockEntity root) {
+        PipeFlowNetwork net = root.flowNetwork;
+        if (net == null || net.builtEpoch != root.topologyEpoch || net.members[0] != root) {
+            net = build(root);
+            root.flowNetwork = net;
+        }
+        return net;
+    }
+
+    private static PipeFlowNetwork build(FluidPipeBlockEntity root) {
+        Level level = root.getLevel();
+
+        List<FluidPipeBlockEntity> order = new ArrayList<>();
+        List<Integer> parents = new ArrayList<>();
+        List<Integer> sinkNodes = new ArrayList<>();
+        Map<BlockPos, Integer> ids = new HashMap<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+
+        order.add(root);
+        parents.add(-1);
+        ids.put(root.getBlockPos(), 0);
+        queue.add(0);
+
+        while (!queue.isEmpty()) {
+            int id = queue.poll();
+            FluidPipeBlockEntity pipe = order.get(id);
+            if (pipe.sinkCache.hasSinks()) sinkNodes.add(id);
+
+            for (Direction dir : Direction.values()) {
+                if (!pipe.isConnectedInDirection(dir)) continue;
+
+                BlockPos np = pipe.getBlockPos().relative(dir);
+                if (ids.containsKey(np)) continue;
+
+                BlockEntity be = level.getBlockEntity(np);
+                if (be instanceof FluidPipeBlockEntity next) {
+                    int nextId = order.size();
+                    ids.put(np, nextId);
+                    order.add(next);
+                    parents.add(id);
+                    next.upstreamSide = dir.getOpposite();
+                    queue.add(nextId);
+                }
+            }
+        }
+
+        int[] parent = new int[parents.size()];
+        for (int i = 0; i < parent.length; i++) parent[i] = parents.get(i);
+        int[] sinks = new int[sinkNodes.size()];
+        for (int i = 0; i < sinks.length; i++) sinks[i] = sinkNodes.get(i);
+
+        for (FluidPipeBlockEntity member : order) {
+            if (member != root) member.setCachedRoot(root);
+        }
+
+        return new PipeFlowNetwork(order.toArray(new FluidPipeBlockEntity[0]), parent, sinks);
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Runtime                                                               */
+    /* --------------------------------------------------------------------- */
+
+    /** Free mB the root node can take right now (fill simulate). */
+    public int acceptable(FluidStack stack) {
+        if (!fluid.isEmpty() && solver.totalVolume() > 0 && !FluidStack.isSameFluidSameComponents(fluid, stack)) {
+            return 0;
+        }
+        return (int) Math.min(stack.getAmount(), solver.capacity() - solver.amount(0));
+    }
+
+    /** Push fluid into the root node. Returns the leftover. */
+    public FluidStack inject(FluidStack stack) {
+        int accepted = acceptable(stack);
+        if (accepted <= 0) return stack;
+
+        if (fluid.isEmpty() || solver.totalVolume() == 0) {
+            fluid = stack.copyWithAmount(1);
+        }
+        solver.inject(0, accepted);
+        scatter(0);
+        return stack.copyWithAmount(stack.getAmount() - accepted);
+    }
+
+    public void tick() {
+        Level level = members[0].getLevel();
+        if (level == null) return;
+
+        solver.step(PASSES_PER_TICK);
+        deliverToSinks(level);
+
+        if (solver.totalVolume() == 0) fluid = FluidStack.EMPTY;
+        for (int id = 0; id < members.length; id++) {
+            scatter(id);
+        }
+    }
+
+    private void deliverToSinks(Level level) {
+        if (fluid.isEmpty()) return;
+
+        long now = level.getGameTime();
+        for (int id : sinkNodes) {
+            long available = solver.amount(id);
+            if (available <= 0L) continue;
+
+            int filled = members[id].sinkCache.distribute(fluid, (int) available, now);
+            if (filled > 0) {
+                solver.drain(id, filled);
+            }
+        }
+    }
+
+    /** Copy one node's solver amount back into its block entity. */
+    private void scatter(int id) {
+        FluidPipeBlockEntity pipe = members[id];
+        int mb = (int) solver.amount(id);
+        if (pipe.flowAmountMb == mb) return;
+
+        pipe.flowAmountMb = mb;
+        pipe.displayedFluid = mb > 0 ? fluid.copyWithAmount(mb) : FluidStack.EMPTY;
+        pipe.setChanged();
+    }
+}
@@ -0,0 +1,129 @@
+package com.nick.buildcraft.content.block.fluidpipe;
+
+/**
+ * Network-level volumetric flow solver for one fluid pipe network.
+ *
+ * Pure data: no Level, no BlockEntity references, no allocation after
+ * construction. A solver instance is confined to one thread at a time, so a
+ * network can be stepped off the server thread if its inputs/outputs are
+ * exchanged on the main thread (PipeFlowNetwork does that exchange).
+ *
+ * Layout
+ *  - node ids are network-local, 0 = root, assigned in BFS order from the
+ *    root, so every parent id is smaller than its children's ids
+ *  - amount[id] holds the mB currently in that pipe (0..capacity)
+ *  - downstream edges are stored as CSR (compressed sparse row):
+ *    children of u are adj[rowStart[u] .. rowStart[u + 1])
+ *
+ * Flow
+ *  - step(passes) runs a fixed number of forward sweeps in id order; each
+ *    node pushes its content to its children, split evenly, limited by the
+ *    room left in each child. A forward sweep carries fluid as far as there
+ *    is room in a single pass, so small pass counts are enough.
+ *  - every operation only moves mB between slots or across inject/drain,
+ *    so total volume is conserved exactly.
+ */
+public final class PipeFlowSolver {
+
+    private final int size;
+    private final long capacity;
+    private final int[] rowStart;
+    private final int[] adj;
+    private final long[] amount;
+
+    /**
+     * @param parent   parent[id] of every node, parent[0] == -1, parent[id] < id otherwise
+     * @param capacity per-pipe capacity in mB
+     */
+    public PipeFlowSolver(int[] parent, long capacity) {
+        this.size = parent.length;
+        this.capacity = capacity;
+        this.amount = new long[size];
+        this.rowStart = new int[size + 1];
+        this.adj = new int[Math.max(0, size - 1)];
+
+        // count children per node
+        for (int id = 1; id < size; id++) {
+            rowStart[parent[id] + 1]++;
+        }
+        // prefix sum -> row offsets
+        for (int u = 0; u < size; u++) {
+            rowStart[u + 1] += rowStart[u];
+        }
+        // fill; ids are visited ascending so children stay sorted per row
+        int[] cursor = new int[size];
+        for (int id = 1; id < size; id++) {
+            int p = parent[id];
+            adj[rowStart[p] + cursor[p]++] = id;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    public long amount(int id) {
+        return amount[id];
+    }
+
+    /** Load a stored amount (network rebuild), clamped to capacity. */
+    public void setAmount(int id, long mb) {
+        amount[id] = Math.max(0L, Math.min(capacity, mb));
+    }
+
+    public int childCount(int id) {
+        return rowStart[id + 1] - rowStart[id];
+    }
+
+    public long totalVolume() {
+        long sum = 0L;
+        for (int id = 0; id < size; id++) sum += amount[id];
+        return sum;
+    }
+
+    public long freeSpace() {
+        return (long) size * capacity - totalVolume();
+    }
+
+    /** Add up to mb into node id. Returns the mB actually accepted. */
+    public long inject(int id, long mb) {
+        if (mb <= 0L) return 0L;
+        long accepted = Math.min(mb, capacity - amount[id]);
+        amount[id] += accepted;
+        return accepted;
+    }
+
+    /** Remove up to mb from node id. Returns the mB actually removed. */
+    public long drain(int id, long mb) {
+        if (mb <= 0L) return 0L;
+        long removed = Math.min(mb, amount[id]);
+        amount[id] -= removed;
+        return removed;
+    }
+
+    /** Advance flow by a fixed number of forward sweeps. O(passes * size), no allocation. */
+    public void step(int passes) {
+        for (int pass = 0; pass < passes; pass++) {
+            for (int u = 0; u < size; u++) {
+                long a = amount[u];
+                if (a == 0L) continue;
+
+                int from = rowStart[u];
+                int to = rowStart[u + 1];
+                for (int e = from; e < to && a > 0L; e++) {
+                    int v = adj[e];
+                    int remainingChildren = to - e;
+                    long share = (a + remainingChildren - 1) / remainingChildren;
+                    long move = Math.min(share, capacity - amount[v]);
+                    amount[v] += move;
+                    a -= move;
+                }
+                amount[u] = a;
+            }
+        }
+    }
+}
@@ -10,127 +10,170 @@ public class PipeFluidInjector {
     public static FluidStack offer(FluidPipeBlockEntity pipe, FluidStack stack, Direction from) {
         if (pipe.getPipeLevel() == null || stack.isEmpty()) return stack;
 
+        if (FluidPipeBlockEntity.usesFlowSolver()) {
+            return offerToSolver(pipe, stack, from);
+        }
+
+        // Entry face and source position belong to the pipe the source touches, not to the root
         BlockPos srcPos = pipe.getPipePos().relative(from);
         BlockEntity srcBe = pipe.getPipeLevel().getBlockEntity(srcPos);
-        boolean fromPipe = srcBe instanceof FluidPipeBlockEntity;
+        if (srcBe instanceof FluidPipeBlockEntity) return FluidStack.EMPTY;
 
-        if (!fromPipe) {
-            FluidPipeBlockEntity existingRoot = PipeNetworkFinder.findExistingRoot(pipe);
-
-            if (existingRoot != null && existingRoot != pipe) {
-                return PipeFluidInjector.offer(existingRoot, stack, from);
-            }
+        pipe.addSourceFace(from);
 
+        FluidPipeBlockEntity root = PipeNetworkFinder.findExistingRoot(pipe);
+        if (root == null || root == pipe) {
+            root = pipe;
             pipe.isRoot = true;
             pipe.isOrphaned = false;
             pipe.isVirginPipe = false;
             pipe.virginTicksRemaining = 0;
+        }
 
-            if (pipe.displayedFluid.isEmpty()) {
-                pipe.displayedFluid = new FluidStack(stack.getFluid(), 1000);
-            }
+        if (root.displayedFluid.isEmpty()) {
+            root.displayedFluid = new FluidStack(stack.getFluid(), 1000);
+        }
+
+        // Only reserve here; the root resolves all of this tick's sources in one flush
+        int accepted = root.injectionQueue.offer(stack.getAmount(), srcPos);
+        if (accepted >= stack.getAmount()) return FluidStack.EMPTY;
+        return stack.copyWithAmount(stack.getAmount() - accepted);
+    }
+
+    /**
+     * Wave model fill(SIMULATE): what offer() would reserve, asked of the
+     * root's queue under the same source key.
+     */
+    static int simulate(FluidPipeBlockEntity pipe, FluidStack stack, Direction from) {
+        if (pipe.getPipeLevel() == null) return 0;
+        BlockPos srcPos = pipe.getPipePos().relative(from);
+        if (pipe.getPipeLevel().getBlockEntity(srcPos) instanceof FluidPipeBlockEntity) return 0;
 
-            int networkCapacity = getNetworkCapacity(pipe);
-            int unitsInSystem = pipe.unitsInjected - pipe.unitsConsumed;
+        FluidPipeBlockEntity root = PipeNetworkFinder.findExistingRoot(pipe);
+        if (root == null) root = pipe;
+        return root.injectionQueue.acceptable(stack.getAmount(), srcPos);
+    }
 
-            if (unitsInSystem >= networkCapacity) {
-                return stack;
+    /**
+     * Turn queued mB into wave units on the root (PipeInjectionQueue.flush).
+     * The queue only reserves what fits, so nothing is rejected here: whole
+     * units go into the wave, the remainder stays in injectedMbAccum.
+     */
+    static void injectUnits(FluidPipeBlockEntity pipe, int incomingMb, int networkCapacity) {
+        int unitsInSystem = pipe.unitsInjected - pipe.unitsConsumed;
+
+        pipe.injectedMbAccum += incomingMb;
+
+        int newUnits = pipe.injectedMbAccum / 1000;
+
+        if (newUnits > 0) {
+            // NEW SEQUENTIAL GAP-FILLING LOGIC
+            // Instead of jumping to the furthest checkpoint, we find and fill
+            // the NEAREST unfilled gap. This creates realistic plumbing behavior
+            // where you must fill gaps sequentially from root outward.
+
+            // Check if system has any checkpoints before applying gap-fill logic
+            int nearestGap = PipeSegmentTracker.findNearestUnfilledGap(pipe);
+            int furthestCheckpoint = PipeWaveRecovery.scanFurthestFilledPipe(pipe);
+            boolean hasCheckpoints = (nearestGap > 0 || furthestCheckpoint > 0);
+
+            if (pipe.unitsInjected == 0 && pipe.unitsConsumed == 0 && hasCheckpoints) {
+                if (nearestGap > 0) {
+                    // There's a gap to fill - target the nearest gap
+                    pipe.unitsInjected = nearestGap;
+                    pipe.frontPos = nearestGap;
+
+                    // Calculate consumed units accounting for filled checkpoints
+                    // Consumed = (target position) - (number of unfilled gaps before target)
+                    int unfilledGaps = PipeSegmentTracker.countUnfilledGaps(pipe);
+                    pipe.unitsConsumed = nearestGap - unfilledGaps;
+                } else if (furthestCheckpoint > 0) {
+                    // No gaps - resume from furthest checkpoint normally
+                    pipe.unitsInjected = furthestCheckpoint;
+                    pipe.frontPos = furthestCheckpoint;
+
+                    int unfilledGaps = PipeSegmentTracker.countUnfilledGaps(pipe);
+                    pipe.unitsConsumed = furthestCheckpoint - unfilledGaps;
+                }
             }
 
-            int incomingMb = stack.getAmount();
-            pipe.injectedMbAccum += incomingMb;
-
-            int newUnits = pipe.injectedMbAccum / 1000;
-
-            if (newUnits > 0) {
-                // NEW SEQUENTIAL GAP-FILLING LOGIC
-                // Instead of jumping to the furthest checkpoint, we find and fill
-                // the NEAREST unfilled gap. This creates realistic plumbing behavior
-                // where you must fill gaps sequentially from root outward.
-
-                // Check if system has any checkpoints before applying gap-fill logic
-                int nearestGap = PipeSegmentTracker.findNearestUnfilledGap(pipe);
-                int furthestCheckpoint = PipeWaveRecovery.scanFurthestFilledPipe(pipe);
-                boolean hasCheckpoints = (nearestGap > 0 || furthestCheckpoint > 0);
-
-                if (pipe.unitsInjected == 0 && pipe.unitsConsumed == 0 && hasCheckpoints) {
-                    if (nearestGap > 0) {
-                        // There's a gap to fill - target the nearest gap
-                        pipe.unitsInjected = nearestGap;
-                        pipe.frontPos = nearestGap;
-
-                        // Calculate consumed units accounting for filled checkpoints
-                        // Consumed = (target position) - (number of unfilled gaps before target)
-                        int unfilledGaps = PipeSegmentTracker.countUnfilledGaps(pipe);
-                        pipe.unitsConsumed = nearestGap - unfilledGaps;
-                    } else if (furthestCheckpoint > 0) {
-                        // No gaps - resume from furthest checkpoint normally
-                        pipe.unitsInjected = furthestCheckpoint;
-                        pipe.frontPos = furthestCheckpoint;
-
-                        int unfilledGaps = PipeSegmentTracker.countUnfilledGaps(pipe);
-                        pipe.unitsConsumed = furthestCheckpoint - unfilledGaps;
+            int unitsToAdd = Math.min(newUnits, networkCapacity - unitsInSystem);
+
+            if (unitsToAdd > 0) {
+                pipe.unitsInjected += unitsToAdd;
+
+                // NEW: Auto-advance to next gap when current gap is filled
+                // This creates the sequential "skip to next empty pipe" behavior
+                // ONLY applies when we have checkpoints (not a fresh system)
+                if (hasCheckpoints) {
+                    int currentTarget = (int)pipe.frontPos;
+                    if (pipe.unitsInjected >= currentTarget + 1) {
+                        // Current gap is now filled, check for next gap
+                        int nextGap = PipeSegmentTracker.findNearestUnfilledGap(pipe);
+                        if (nextGap > currentTarget) {
+                            // Jump to next unfilled gap
+                            pipe.unitsInjected = nextGap;
+                            pipe.frontPos = nextGap;
+                        }
                     }
                 }
 
-                int unitsToAdd = Math.min(newUnits, networkCapacity - unitsInSystem);
+                pipe.pumpPushingThisTick = true;
+                pipe.lastPumpPushTick = pipe.getPipeLevel().getGameTime();
 
-                if (unitsToAdd > 0) {
-                    int beforeInjected = pipe.unitsInjected;
-                    pipe.unitsInjected += unitsToAdd;
-
-                    int actualAdded = pipe.unitsInjected - beforeInjected;
-                    if (actualAdded != unitsToAdd) {
-                        pipe.unitsInjected = beforeInjected + unitsToAdd;
-                    }
-
-                    // NEW: Auto-advance to next gap when current gap is filled
-                    // This creates the sequential "skip to next empty pipe" behavior
-                    // ONLY applies when we have checkpoints (not a fresh system)
-                    if (hasCheckpoints) {
-                        int currentTarget = (int)pipe.frontPos;
-                        if (pipe.unitsInjected >= currentTarget + 1) {
-                            // Current gap is now filled, check for next gap
-                            int nextGap = PipeSegmentTracker.findNearestUnfilledGap(pipe);
-                            if (nextGap > currentTarget) {
-                                // Jump to next unfilled gap
-                                pipe.unitsInjected = nextGap;
-                                pipe.frontPos = nextGap;
-                            }
-                        }
-                    }
+                pipe.injectedMbAccum -= unitsToAdd * 1000;
+            }
+        }
 
-                    pipe.pumpPushingThisTick = true;
-                    pipe.lastPumpPushTick = pipe.getPipeLevel().getGameTime();
+        if (pipe.frontPos < 0f) pipe.frontPos = 0f;
+        pipe.setChanged();
+    }
 
-                    int mbConsumed = unitsToAdd * 1000;
-                    pipe.injectedMbAccum -= mbConsumed;
+    /* ------------------------------------------------------------ */
+    /* Volumetric solver mode                                       */
+    /* ------------------------------------------------------------ */
+
+    /**
+     * Solver mode: fluid from a non-pipe source goes into node 0 of the network root.
+     * The first pipe a source pushes into becomes the root, same as the wave model.
+     */
+    private static FluidStack offerToSolver(FluidPipeBlockEntity pipe, FluidStack stack, Direction from) {
+        if (pipe.getPipeLevel().getBlockEntity(pipe.getPipePos().relative(from)) instanceof FluidPipeBlockEntity) {
+            return stack;
+        }
 
-                    int mbRejected = incomingMb - mbConsumed;
-                    if (mbRejected > 0) {
-                        if (pipe.frontPos < 0f) pipe.frontPos = 0f;
-                        pipe.setChanged();
-                        if (!pipe.getPipeLevel().isClientSide) {
-                            pipe.getPipeLevel().sendBlockUpdated(pipe.getPipePos(), pipe.getBlockState(), pipe.getBlockState(), 3);
-                        }
-                        return new FluidStack(stack.getFluid(), mbRejected);
-                    }
-                } else {
-                    pipe.injectedMbAccum -= incomingMb;
-                    return stack;
-                }
+        pipe.addSourceFace(from);
+
+        FluidPipeBlockEntity root = PipeNetworkFinder.findExistingRoot(pipe);
+        if (root == null || root == pipe) {
+            root = pipe;
+            if (!pipe.isRoot) {
+                pipe.isRoot = true;
+                pipe.isOrphaned = false;
+                pipe.isVirginPipe = false;
+                pipe.virginTicksRemaining = 0;
+                pipe.setChanged();
             }
+        }
 
-            if (pipe.frontPos < 0f) pipe.frontPos = 0f;
-            pipe.setChanged();
-            if (!pipe.getPipeLevel().isClientSide) {
-                pipe.getPipeLevel().sendBlockUpdated(pipe.getPipePos(), pipe.getBlockState(), pipe.getBlockState(), 3);
-            }
+        return PipeFlowNetwork.of(root).inject(stack);
+    }
 
-            return FluidStack.EMPTY;
+    /** Solver mode fill(SIMULATE): room in the node the fluid would land in. */
+    static int simulateSolver(FluidPipeBlockEntity pipe, FluidStack stack, Direction from) {
+        if (pipe.getPipeLevel() == null) return 0;
+        if (pipe.getPipeLevel().getBlockEntity(pipe.getPipePos().relative(from)) instanceof FluidPipeBlockEntity) {
+            return 0;
         }
 
-        return FluidStack.EMPTY;
+        FluidPipeBlockEntity root = PipeNetworkFinder.findExistingRoot(pipe);
+        if (root != null && root != pipe) {
+            return PipeFlowNetwork.of(root).acceptable(stack);
+        }
+        if (pipe.isRoot) {
+            return PipeFlowNetwork.of(pipe).acceptable(stack);
+        }
+        return Math.min(stack.getAmount(), FluidPipeBlockEntity.MB_PER_UNIT - pipe.flowAmountMb);
     }
 
     public static int getNetworkCapacity(FluidPipeBlockEntity pipe) {
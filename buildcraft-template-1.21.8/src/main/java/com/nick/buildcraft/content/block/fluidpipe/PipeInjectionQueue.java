@@ -0,0 +1,110 @@
+package com.nick.buildcraft.content.block.fluidpipe;
+
+import net.minecraft.core.BlockPos;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-network injection queue (wave model, owned by the root).
+ *
+ * Every source (pump, engine output, tank) that pushes into the network
+ * during a tick only reserves mB here: fill() still returns the accepted
+ * amount immediately, but no unit / front / gap bookkeeping runs. The root
+ * resolves the whole tick's worth in ONE PipeFluidInjector.injectUnits() call
+ * at the start of its next network step.
+ *
+ * - Network capacity is cached per topology epoch (no BFS per fill call).
+ * - Fair share: free space at the start of a tick is split evenly between the
+ *   sources that offered last tick, so one fast source cannot starve others.
+ *   Space a source leaves unused is still available to whoever asks next.
+ * - Sources are keyed by their own position, resolved at the pipe they push
+ *   into (PipeFluidInjector), so fill(SIMULATE) and fill(EXECUTE) on any
+ *   pipe of the network agree. A new source is not a topology change.
+ *
+ * The reserved mB live in root.pendingInjectMb (saved), so nothing is lost
+ * if the chunk unloads between a fill and the flush.
+ */
+final class PipeInjectionQueue {
+
+    private final FluidPipeBlockEntity root;
+
+    private long capacityEpoch = -1L;
+    private int capacityUnits = 1;
+
+    private long tick = Long.MIN_VALUE;
+    private long freeAtTickStartMb;
+    private int sourcesLastTick;
+    private final Map<BlockPos, Integer> acceptedThisTick = new HashMap<>();
+
+    PipeInjectionQueue(FluidPipeBlockEntity root) {
+        this.root = root;
+    }
+
+    /** Network size in units (one per pipe), BFS only after a topology change. */
+    int capacityUnits() {
+        long epoch = PipeFlowNetwork.topologyEpoch(root);
+        if (epoch != capacityEpoch) {
+            capacityEpoch = epoch;
+            capacityUnits = PipeFluidInjector.getNetworkCapacity(root);
+        }
+        return capacityUnits;
+    }
+
+    /** mB the network can still take, counting everything already reserved. */
+    long freeMb() {
+        long inSystemMb = (long) (root.unitsInjected - root.unitsConsumed) * FluidPipeBlockEntity.MB_PER_UNIT;
+        long free = (long) capacityUnits() * FluidPipeBlockEntity.MB_PER_UNIT
+                - inSystemMb - root.injectedMbAccum - root.pendingInjectMb;
+        return Math.max(0L, free);
+    }
+
+    /** How much of amount this source may add right now (fill SIMULATE). */
+    int acceptable(int amount, BlockPos source) {
+        rollover();
+        long free = freeMb();
+        if (free <= 0L || amount <= 0) return 0;
+
+        long allowance = free;
+        if (sourcesLastTick > 1) {
+            long share = (freeAtTickStartMb + sourcesLastTick - 1) / sourcesLastTick;
+            long used = acceptedThisTick.getOrDefault(source, 0);
+            allowance = Math.min(free, Math.max(0L, share - used));
+        }
+        return (int) Math.min(amount, allowance);
+    }
+
+    /** Reserve up to amount mB for this source (fill EXECUTE). Returns the mB accepted. */
+    int offer(int amount, BlockPos source) {
+        int accepted = acceptable(amount, source);
+        acceptedThisTick.merge(source, accepted, Integer::sum);
+        if (accepted <= 0) return 0;
+
+        root.pendingInjectMb += accepted;
+        root.setChanged();
+        return accepted;
+    }
+
+    /** Root tick: resolve everything queued since the last flush in one pass. */
+    void flush() {
+        rollover();
+        int pending = root.pendingInjectMb;
+        if (pending <= 0) return;
+
+        root.pendingInjectMb = 0;
+        PipeFluidInjector.injectUnits(root, pending, capacityUnits());
+    }
+
+    /** First touch in a new game tick: remember who offered last tick and the free space now. */
+    private void rollover() {
+        if (root.getLevel() == null) return;
+
+        long now = root.getLevel().getGameTime();
+        if (now == tick) return;
+
+        tick = now;
+        sourcesLastTick = acceptedThisTick.size();
+        acceptedThisTick.clear();
+        freeAtTickStartMb = freeMb();
+    }
+}
@@ -0,0 +1,181 @@
+package com.nick.buildcraft.content.block.fluidpipe;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.phys.AABB;
+import net.neoforged.neoforge.fluids.FluidStack;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Level-of-detail mode for fluid networks nobody is looking at.
+ *
+ * While no player is within OBSERVE_RANGE of the network's bounding box:
+ *  - every non-root member stops ticking (no fronts, checkpoints, fill animation)
+ *  - the root runs ONE transfer per tick: injection keeps going through the
+ *    normal root-only offer() path, and the sink pipes are fed directly from
+ *    the root's wave head, capped by the slowest pipe family's mbPerTick
+ *    times the number of pipes collapsed (each pipe carries its own
+ *    mbPerTick in the per-pipe model, so a longer network moves more)
+ *  - delivered mB go through each sink pipe's sinkMbAccum, so volume is
+ *    conserved exactly
+ *
+ * When a player comes into range the members simply resume: in the wave model
+ * every per-pipe field is derived from the root's totals (head / consumed), so
+ * the next member tick reconstructs fronts and fill levels on its own.
+ *
+ * Solver mode already steps the network from the root only; there LOD just
+ * skips the per-pipe render sync.
+ */
+public class PipeLodManager {
+
+    public static final int OBSERVE_RANGE = 64;
+    private static final int OBSERVE_CHECK_INTERVAL = 20;
+
+    /** Per-root cache, rebuilt once per topology epoch. */
+    static final class LodState {
+        final long epoch;
+        final AABB bounds;
+        final FluidPipeBlockEntity[] sinkPipes;
+        final int mbPerTick;
+        boolean active;
+        long nextObserveCheck;
+
+        LodState(long epoch, AABB bounds, FluidPipeBlockEntity[] sinkPipes, int mbPerTick) {
+            this.epoch = epoch;
+            this.bounds = bounds;
+            this.sinkPipes = sinkPipes;
+            this.mbPerTick = mbPerTick;
+        }
+    }
+
+    /** Non-root pipe whose root is currently simulating the network as one transfer. */
+    static boolean isFrozenMember(FluidPipeBlockEntity pipe) {
+        if (pipe.isRoot()) return false;
+        FluidPipeBlockEntity root = pipe.cachedRoot;
+        return root != null && !root.isRemoved() && root.isRoot() && root.lodState != null && root.lodState.active;
+    }
+
+    /**
+     * Root only: refresh the observed / unobserved decision.
+     * @return true while the network is in LOD mode
+     */
+    static boolean updateObservation(FluidPipeBlockEntity root) {
+        if (!(root.getLevel() instanceof ServerLevel level)) return false;
+
+        long epoch = PipeFlowNetwork.topologyEpoch(root);
+        LodState st = root.lodState;
+        if (st == null || st.epoch != epoch) {
+            // topology changed: rebuild and start observed, members catch up first
+            st = build(root, epoch);
+            root.lodState = st;
+        }
+
+        long now = level.getGameTime();
+        if (now >= st.nextObserveCheck) {
+            st.nextObserveCheck = now + OBSERVE_CHECK_INTERVAL;
+            boolean observed = isObserved(level, st.bounds);
+            if (st.active == observed) {
+                st.active = !observed;
+                root.setChanged();
+            }
+        }
+        return st.active;
+    }
+
+    /**
+     * Wave model root tick in LOD mode.
+     * @return true if the network ran as one transfer (caller skips the per-pipe pipeline)
+     */
+    static boolean tickRoot(FluidPipeBlockEntity root) {
+        if (!updateObservation(root)) return false;
+
+        LodState st = root.lodState;
+        PipeWavePropagator.advanceWaveFront(root);
+
+        FluidStack fluid = root.displayedFluid;
+        if (fluid.isEmpty()) return true;
+
+        int budget = st.mbPerTick;
+        int consumed = root.unitsConsumed;
+        for (FluidPipeBlockEntity sink : st.sinkPipes) {
+            if (budget > 0 && sink.distanceFromRoot != Integer.MAX_VALUE) {
+                budget -= PipeCheckpointManager.deliverWaveToSinks(sink, fluid, budget);
+            }
+            consumed = Math.max(consumed, sink.unitsDeliveredToTank);
+        }
+
+        if (consumed != root.unitsConsumed) {
+            root.unitsConsumed = consumed;
+            root.setChanged();
+        }
+        return true;
+    }
+
+    private static LodState build(FluidPipeBlockEntity root, long epoch) {
+        ServerLevel level = (ServerLevel) root.getLevel();
+
+        List<FluidPipeBlockEntity> sinks = new ArrayList<>();
+        Set<BlockPos> visited = new HashSet<>();
+        ArrayDeque<FluidPipeBlockEntity> queue = new ArrayDeque<>();
+
+        BlockPos rp = root.getBlockPos();
+        int minX = rp.getX(), minY = rp.getY(), minZ = rp.getZ();
+        int maxX = minX, maxY = minY, maxZ = minZ;
+        int mbPerTick = Integer.MAX_VALUE;  // Slowest family on the network
+        int pipes = 0;
+
+        visited.add(rp);
+        queue.add(root);
+
+        while (!queue.isEmpty()) {
+            FluidPipeBlockEntity pipe = queue.poll();
+            BlockPos p = pipe.getBlockPos();
+            pipes++;
+
+            minX = Math.min(minX, p.getX()); maxX = Math.max(maxX, p.getX());
+            minY = Math.min(minY, p.getY()); maxY = Math.max(maxY, p.getY());
+            minZ = Math.min(minZ, p.getZ()); maxZ = Math.max(maxZ, p.getZ());
+
+            if (pipe.getBlockState().getBlock() instanceof BaseFluidPipeBlock block) {
+                mbPerTick = Math.min(mbPerTick, block.family().mbPerTick);
+            }
+            if (pipe.sinkCache.hasSinks()) {
+                sinks.add(pipe);
+            }
+
+            for (Direction dir : Direction.values()) {
+                if (!pipe.isConnectedInDirection(dir)) continue;
+
+                BlockPos next = p.relative(dir);
+                if (!visited.add(next)) continue;
+
+                BlockEntity be = level.getBlockEntity(next);
+                if (be instanceof FluidPipeBlockEntity other) {
+                    queue.add(other);
+                }
+            }
+        }
+
+        if (mbPerTick == Integer.MAX_VALUE) mbPerTick = BaseFluidPipeBlock.PipeFamily.GENERIC.mbPerTick;
+        int cap = (int) Math.min(Integer.MAX_VALUE, (long) mbPerTick * pipes);
+
+        AABB bounds = new AABB(minX, minY, minZ, maxX + 1, maxY + 1, maxZ + 1);
+        return new LodState(epoch, bounds, sinks.toArray(new FluidPipeBlockEntity[0]), cap);
+    }
+
+    private static boolean isObserved(ServerLevel level, AABB bounds) {
+        AABB range = bounds.inflate(OBSERVE_RANGE);
+        for (ServerPlayer player : level.players()) {
+            if (range.contains(player.position())) return true;
+        }
+        return false;
+    }
+}
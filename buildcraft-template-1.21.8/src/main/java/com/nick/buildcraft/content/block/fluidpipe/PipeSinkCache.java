@@ -0,0 +1,149 @@
+package com.nick.buildcraft.content.block.fluidpipe;
+
+import com.nick.buildcraft.content.block.pump.PumpBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.fluids.FluidStack;
+import net.neoforged.neoforge.fluids.capability.IFluidHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cached fluid sink faces of one pipe (any IFluidHandler: tanks, refinery,
+ * third-party machines).
+ *
+ * - Built lazily from the pipe's connected non-pipe sides, one
+ *   BlockCapabilityCache per face, and dropped when the pipe's blockstate
+ *   changes or a new source face is recorded.
+ * - distribute() makes at most ONE fill call per sink per tick and rotates the
+ *   starting sink so a shared trickle is split fairly.
+ * - A sink that takes less than offered is marked full and skipped until its
+ *   capability is invalidated (tanks do this on every content change) or
+ *   FULL_RETRY_TICKS pass, for handlers that never signal. A sleeping
+ *   network with such a sink is woken by PipeSleepManager for the re-probe.
+ *
+ * Pumps are sources, never sinks, and faces a source pushes into this pipe
+ * through (FluidPipeBlockEntity.addSourceFace) are skipped.
+ */
+final class PipeSinkCache {
+
+    static final int FULL_RETRY_TICKS = 20;
+
+    private static final class Sink {
+        final BlockCapabilityCache<IFluidHandler, Direction> cache;
+        boolean full;
+        long fullSince;
+
+        Sink(BlockCapabilityCache<IFluidHandler, Direction> cache) {
+            this.cache = cache;
+        }
+    }
+
+    private static final Sink[] NONE = new Sink[0];
+
+    private final FluidPipeBlockEntity pipe;
+    private Sink[] sinks;          // null = rebuild on next use
+    private int cursor;
+
+    PipeSinkCache(FluidPipeBlockEntity pipe) {
+        this.pipe = pipe;
+    }
+
+    void invalidate() {
+        sinks = null;
+    }
+
+    boolean hasSinks() {
+        return sinks().length > 0;
+    }
+
+    /** True if some sink is marked full; it may drain without invalidating its capability. */
+    boolean hasFullSink() {
+        if (sinks == null) return false;
+        for (Sink s : sinks) {
+            if (s.full) return true;
+        }
+        return false;
+    }
+
+    private Sink[] sinks() {
+        if (sinks != null) return sinks;
+        if (!(pipe.getLevel() instanceof ServerLevel level)) return NONE;
+
+        List<Sink> found = new ArrayList<>(2);
+        for (Direction dir : Direction.values()) {
+            if (!pipe.isConnectedInDirection(dir)) continue;
+            if (pipe.isSourceFace(dir)) continue;
+
+            BlockPos np = pipe.getBlockPos().relative(dir);
+            BlockEntity be = level.getBlockEntity(np);
+            if (be instanceof FluidPipeBlockEntity || be instanceof PumpBlockEntity) continue;
+
+            Sink[] holder = new Sink[1];
+            BlockCapabilityCache<IFluidHandler, Direction> cache = BlockCapabilityCache.create(
+                    Capabilities.FluidHandler.BLOCK,
+                    level,
+                    np,
+                    dir.getOpposite(),
+                    () -> !pipe.isRemoved(),
+                    () -> {
+                        // capability changed (tanks invalidate on every content change) -> retry
+                        if (holder[0] != null) holder[0].full = false;
+                        PipeSleepManager.wake(pipe);
+                    }
+            );
+            holder[0] = new Sink(cache);
+            found.add(holder[0]);
+        }
+
+        sinks = found.isEmpty() ? NONE : found.toArray(new Sink[0]);
+        cursor = 0;
+        return sinks;
+    }
+
+    /**
+     * Offer up to amount mB of fluid across all sinks, fair share each, one
+     * fill(EXECUTE) per sink. Returns the mB actually accepted.
+     */
+    int distribute(FluidStack fluid, int amount, long gameTime) {
+        Sink[] list = sinks();
+        int n = list.length;
+        if (n == 0 || amount <= 0 || fluid.isEmpty()) return 0;
+
+        int open = 0;
+        for (Sink s : list) {
+            if (s.full && gameTime - s.fullSince >= FULL_RETRY_TICKS) s.full = false;
+            if (!s.full) open++;
+        }
+        if (open == 0) return 0;
+
+        int accepted = 0;
+        int remaining = amount;
+        for (int k = 0; k < n && remaining > 0; k++) {
+            Sink s = list[(cursor + k) % n];
+            if (s.full) continue;
+
+            int share = (remaining + open - 1) / open;
+            open--;
+
+            IFluidHandler handler = s.cache.getCapability();
+            if (handler == null) continue;
+
+            int filled = handler.fill(fluid.copyWithAmount(share), IFluidHandler.FluidAction.EXECUTE);
+            if (filled < share) {
+                s.full = true;
+                s.fullSince = gameTime;
+            }
+            accepted += filled;
+            remaining -= filled;
+        }
+
+        cursor = (cursor + 1) % n;
+        return accepted;
+    }
+}
@@ -0,0 +1,124 @@
+package com.nick.buildcraft.content.block.fluidpipe;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sleep mode for steady fluid networks.
+ *
+ * Activity = any pipe state change (every helper only calls setChanged() when
+ * something actually changed; FluidPipeBlockEntity forwards that to the root
+ * as lastActivityTick) or a pipe topology change.
+ *
+ * Once the root has seen no activity for SLEEP_AFTER_TICKS and no member is
+ * still counting down its virgin grace, every member is flagged asleep and
+ * tickFluids returns immediately for all of them.
+ *
+ * Wake-up (whole network):
+ *  - fill(EXECUTE) that accepted fluid
+ *  - a member's blockstate changed (pipe placed / removed / connection change)
+ *  - a sink face's capability was invalidated (tank contents changed, machine replaced)
+ *  - FULL_RETRY_TICKS after falling asleep, if a sink was marked full: only
+ *    tanks invalidate when they drain, so refineries and third-party sinks
+ *    have to be re-probed. If nothing moves the network falls straight back
+ *    asleep.
+ */
+public class PipeSleepManager {
+
+    public static final int SLEEP_AFTER_TICKS = 100;
+
+    /** Awake window after a re-probe wake: one full tick for every member, whatever the tick order. */
+    private static final int RETRY_AWAKE_TICKS = 2;
+
+    /** Root only, after its own tick: put the network to sleep once it has been steady long enough. */
+    public static void updateRoot(FluidPipeBlockEntity root) {
+        Level level = root.getLevel();
+        if (level == null || level.isClientSide) return;
+
+        long now = level.getGameTime();
+        long epoch = PipeFlowNetwork.topologyEpoch(root);
+        if (epoch != root.sleepEpoch) {
+            root.sleepEpoch = epoch;
+            root.lastActivityTick = now;
+            return;
+        }
+        if (now - root.lastActivityTick < SLEEP_AFTER_TICKS) return;
+
+        List<FluidPipeBlockEntity> members = collectNetwork(root);
+        for (FluidPipeBlockEntity pipe : members) {
+            if (pipe.isVirginPipe && pipe.virginTicksRemaining > 0) {
+                root.lastActivityTick = now;
+                return;
+            }
+        }
+
+        boolean fullSink = false;
+        for (FluidPipeBlockEntity pipe : members) {
+            pipe.asleep = true;
+            fullSink |= pipe.sinkCache.hasFullSink();
+        }
+        root.sleepRetryTick = fullSink ? now + PipeSinkCache.FULL_RETRY_TICKS : Long.MAX_VALUE;
+    }
+
+    /** Root only, while asleep: wake briefly to re-probe sinks that were marked full. */
+    public static void tickAsleepRoot(FluidPipeBlockEntity root) {
+        Level level = root.getLevel();
+        if (level == null || level.isClientSide) return;
+
+        long now = level.getGameTime();
+        if (now < root.sleepRetryTick) return;
+
+        root.sleepRetryTick = Long.MAX_VALUE;
+        wake(root);
+        root.lastActivityTick = now - SLEEP_AFTER_TICKS + RETRY_AWAKE_TICKS;
+    }
+
+    /** Wake the whole network this pipe belongs to. Cheap no-op if it is already awake. */
+    public static void wake(FluidPipeBlockEntity pipe) {
+        if (!pipe.asleep) return;
+        Level level = pipe.getLevel();
+        if (level == null || level.isClientSide) return;
+
+        long now = level.getGameTime();
+        for (FluidPipeBlockEntity member : collectNetwork(pipe)) {
+            member.asleep = false;
+            member.lastActivityTick = now;
+        }
+    }
+
+    private static List<FluidPipeBlockEntity> collectNetwork(FluidPipeBlockEntity start) {
+        Level level = start.getLevel();
+        List<FluidPipeBlockEntity> members = new ArrayList<>();
+        Set<BlockPos> visited = new HashSet<>();
+        ArrayDeque<FluidPipeBlockEntity> queue = new ArrayDeque<>();
+
+        visited.add(start.getBlockPos());
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            FluidPipeBlockEntity pipe = queue.poll();
+            members.add(pipe);
+
+            for (Direction dir : Direction.values()) {
+                if (!pipe.isConnectedInDirection(dir)) continue;
+
+                BlockPos next = pipe.getBlockPos().relative(dir);
+                if (!visited.add(next)) continue;
+
+                BlockEntity be = level.getBlockEntity(next);
+                if (be instanceof FluidPipeBlockEntity other) {
+                    queue.add(other);
+                }
+            }
+        }
+        return members;
+    }
+}
@@ -0,0 +1,51 @@
+package com.nick.buildcraft.content.block.fluidpipe;
+
+import com.nick.buildcraft.BuildCraft;
+import com.nick.buildcraft.network.FluidPipeSyncPayload;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+import net.neoforged.neoforge.fluids.FluidStack;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects fluid pipe render deltas during a level tick and flushes them at
+ * the end of the tick as ONE FluidPipeSyncPayload per chunk, sent only to
+ * players tracking that chunk.
+ */
+@EventBusSubscriber(modid = BuildCraft.MODID)
+public final class PipeSyncBatcher {
+
+    private PipeSyncBatcher() {}
+
+    private static final Map<ServerLevel, Map<ChunkPos, List<FluidPipeSyncPayload.Entry>>> PENDING =
+            new IdentityHashMap<>();
+
+    /** Queue one pipe's changed render fields for this tick's batch. */
+    static void queue(ServerLevel level, BlockPos pos, int mask, FluidStack fluid, int fill, int flow) {
+        PENDING.computeIfAbsent(level, k -> new HashMap<>())
+                .computeIfAbsent(new ChunkPos(pos), k -> new ArrayList<>())
+                .add(new FluidPipeSyncPayload.Entry(pos.immutable(), mask, fluid, fill, flow));
+    }
+
+    @SubscribeEvent
+    public static void onLevelTickPost(LevelTickEvent.Post event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+
+        Map<ChunkPos, List<FluidPipeSyncPayload.Entry>> byChunk = PENDING.remove(level);
+        if (byChunk == null) return;
+
+        for (Map.Entry<ChunkPos, List<FluidPipeSyncPayload.Entry>> e : byChunk.entrySet()) {
+            PacketDistributor.sendToPlayersTrackingChunk(level, e.getKey(), new FluidPipeSyncPayload(e.getValue()));
+        }
+    }
+}
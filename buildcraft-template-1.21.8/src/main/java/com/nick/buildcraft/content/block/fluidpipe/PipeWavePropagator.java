@@ -32,17 +32,11 @@ public class PipeWavePropagator {
                         : root.displayedFluid.copy();
 
                 pipe.setChanged();
-                if (!level.isClientSide) {
-                    level.sendBlockUpdated(pipe.getBlockPos(), pipe.getBlockState(), pipe.getBlockState(), 3);
-                }
             }
         } else {
             if (!pipe.displayedFluid.isEmpty()) {
                 pipe.displayedFluid = FluidStack.EMPTY;
                 pipe.setChanged();
-                if (!level.isClientSide) {
-                    level.sendBlockUpdated(pipe.getBlockPos(), pipe.getBlockState(), pipe.getBlockState(), 3);
-                }
             }
         }
     }
@@ -33,9 +33,6 @@ public class PipeWaveRecovery {
         root.lastPumpPushTick = 0L;
 
         root.setChanged();
-        if (!root.getLevel().isClientSide) {
-            root.getLevel().sendBlockUpdated(root.getBlockPos(), root.getBlockState(), root.getBlockState(), 3);
-        }
     }
 
     /**
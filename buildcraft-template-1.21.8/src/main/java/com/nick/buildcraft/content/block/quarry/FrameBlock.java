@@ -3,6 +3,7 @@ package com.nick.buildcraft.content.block.quarry;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.particles.DustParticleOptions;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.RandomSource;
 import net.minecraft.util.StringRepresentable;
 import net.minecraft.world.level.BlockGetter;
@@ -115,6 +116,14 @@ public class FrameBlock extends Block {
         };
     }
 
+    // ----- Integrity -----
+    // Tell the owning quarry right away instead of it rescanning its perimeter every tick
+    @Override
+    protected void affectNeighborsAfterRemoval(BlockState s, ServerLevel level, BlockPos pos, boolean movedByPiston) {
+        super.affectNeighborsAfterRemoval(s, level, pos, movedByPiston);
+        QuarryBlockChangeListener.onFrameRemoved(level, pos);
+    }
+
     @Override
     public void animateTick(BlockState s, Level level, BlockPos pos, RandomSource r) {
         if (!level.isClientSide) return;
@@ -1,5 +1,6 @@
 package com.nick.buildcraft.content.block.quarry;
 
+import com.nick.buildcraft.Config;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.Mth;
 
@@ -15,8 +16,11 @@ public final class QuarryBalancer {
         int phases = 4;
         int activeThisTick;
         int activeLastTick;
+        long timeBudgetNs;
     }
 
+    private static final int DEFAULT_TICK_BUDGET_MICROS = 2000;
+
     private static final Map<ServerLevel, State> STATES = new IdentityHashMap<>();
     private static State s(ServerLevel lvl){ return STATES.computeIfAbsent(lvl,k->new State()); }
 
@@ -31,6 +35,8 @@ public final class QuarryBalancer {
         double mspt = lvl.getServer().getCurrentSmoothedTickTime(); // ms per tick (~50 good)
         double factor = Mth.clamp(1.0 - ((mspt - 50.0) / 25.0), 0.20, 1.0);
         st.tokens = Math.max(1, (int)Math.floor(baseTokens * factor));
+        int micros = Config.SPEC.isLoaded() ? Config.QUARRY_TICK_BUDGET_MICROS.get() : DEFAULT_TICK_BUDGET_MICROS;
+        st.timeBudgetNs = (long) (micros * 1000L * factor);
 
         // Spread heavy work across phases based on recent activity
         int minPhases = 2, maxPhases = 16;
@@ -51,6 +57,17 @@ public final class QuarryBalancer {
         return my == now;
     }
 
+    /** This tick's CPU time share of one quarry: the world budget split over the active quarries (QuarryTickBudget). */
+    public static long timeShareNanos(ServerLevel lvl) {
+        State st = s(lvl);
+        return st.timeBudgetNs / Math.max(1, st.activeLastTick);
+    }
+
+    /** Ticks between two mining phases of the same quarry (this world tick). */
+    public static int phases(ServerLevel lvl) {
+        return Math.max(1, s(lvl).phases);
+    }
+
     /** Try to spend one mining token from the world budget. */
     public static boolean tryConsumeToken(ServerLevel lvl) {
         State st = s(lvl);
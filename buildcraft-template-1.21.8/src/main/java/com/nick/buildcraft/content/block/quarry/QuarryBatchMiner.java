@@ -0,0 +1,202 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import com.nick.buildcraft.Config;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.lighting.LightEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * High-throughput mining for well powered quarries (Config "quarry.batchMining").
+ *
+ * Instead of one destroyBlock per target (neighbour cascade, light update and a
+ * client packet each), the targets ahead on the layer that share the first
+ * target's chunk section are removed together:
+ * - drops still come from the loot tables (Block.getDrops), queued as usual
+ * - ONE locked pass over the LevelChunkSection writes the air
+ * - one section pass then updates heightmaps, sky light sources, queued light
+ *   checks (only where light properties change) and the section emptiness
+ * - removal side effects and one neighbour pass over the batch's outer faces,
+ *   so supported blocks (torches, rails, vines) still break; faces between two
+ *   removed blocks are skipped
+ * - client block-changed marks go out as one section update packet
+ *
+ * Blocks that need the full vanilla removal path are left to the normal miner:
+ * block entities (container contents, onRemove logic) and anything touching a
+ * fluid (so water/lava still flows into the hole).
+ */
+public final class QuarryBatchMiner {
+
+    private QuarryBatchMiner() {}
+
+    private static final Direction[] DIRS = Direction.values();
+
+    /** True if this quarry should mine in batches right now. */
+    public static boolean isActive(QuarryBlockEntity qbe) {
+        if (!Config.SPEC.isLoaded() || !Config.QUARRY_BATCH_MINING.get()) return false;
+        return QuarryEnergyManager.isHighThroughput(qbe);
+    }
+
+    /**
+     * Mine 'first' and the next targets on its layer in the same chunk section,
+     * at most Config "quarry.batchSize" blocks and one QuarryBalancer token each
+     * (the caller already spent the token for 'first').
+     *
+     * @return the last position removed, to continue the forward search from
+     */
+    public static BlockPos mineBatch(QuarryBlockEntity qbe, ServerLevel level, BlockPos quarryPos,
+                                     QuarryGeometryHelper.Bounds b, Direction facing, BlockPos first) {
+        if (!isBatchable(level, first)) {
+            QuarryOutputManager.mineOneBlockToQueue(qbe, level, quarryPos, first);
+            return first;
+        }
+
+        List<BlockPos> batch = new ArrayList<>();
+        batch.add(first);
+
+        int limit = Config.QUARRY_BATCH_SIZE.get();
+        int secX = first.getX() >> 4, secY = first.getY() >> 4, secZ = first.getZ() >> 4;
+        BlockPos cursor = first;
+        while (batch.size() < limit) {
+            BlockPos next = QuarryMiningManager.findNextOnLayerForward(level, b, facing, cursor, first.getY(), qbe);
+            if (next == null) break;
+            if ((next.getX() >> 4) != secX || (next.getY() >> 4) != secY || (next.getZ() >> 4) != secZ) break;
+            if (!isBatchable(level, next)) break; // leave it for the normal path, keep sweep order
+            if (!QuarryBalancer.tryConsumeToken(level)) break;
+            batch.add(next);
+            cursor = next;
+        }
+
+        removeBatch(qbe, level, batch);
+        return cursor;
+    }
+
+    /**
+     * Remove targets that were already paid for (tokens and energy), in order:
+     * runs of batchable blocks in one chunk section share a single section
+     * write, everything else takes the normal miner. Used by QuarryCatchUpMiner.
+     */
+    static void mineAll(QuarryBlockEntity qbe, ServerLevel level, BlockPos quarryPos, List<BlockPos> targets) {
+        List<BlockPos> run = new ArrayList<>();
+        for (BlockPos p : targets) {
+            if (!run.isEmpty() && SectionPos.asLong(p) != SectionPos.asLong(run.get(0))) {
+                removeBatch(qbe, level, run);
+                run = new ArrayList<>();
+            }
+            if (isBatchable(level, p)) {
+                run.add(p);
+            } else {
+                QuarryOutputManager.mineOneBlockToQueue(qbe, level, quarryPos, p);
+                qbe.lastMined = p;
+            }
+        }
+        if (!run.isEmpty()) removeBatch(qbe, level, run);
+    }
+
+    private static boolean isBatchable(ServerLevel level, BlockPos pos) {
+        BlockState bs = level.getBlockState(pos);
+        if (bs.isAir() || bs.hasBlockEntity()) return false;
+        for (Direction d : DIRS) {
+            if (!level.getFluidState(pos.relative(d)).isEmpty()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Queue loot-table drops, clear every position with a single section write,
+     * then do once per batch what vanilla's setBlock would have done per block.
+     */
+    private static void removeBatch(QuarryBlockEntity qbe, ServerLevel level, List<BlockPos> batch) {
+        BlockPos first = batch.get(0);
+        LevelChunk chunk = level.getChunkAt(first);
+        LevelChunkSection section = chunk.getSection(chunk.getSectionIndex(first.getY()));
+        BlockState air = Blocks.AIR.defaultBlockState();
+
+        // Drops first, from the states as they are in the world
+        BlockState[] old = new BlockState[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            BlockPos p = batch.get(i);
+            old[i] = section.getBlockState(p.getX() & 15, p.getY() & 15, p.getZ() & 15);
+            for (ItemStack stack : Block.getDrops(old[i], level, p, null)) {
+                qbe.output.add(stack);
+            }
+        }
+
+        // 🔥 one lock, one pass over the section
+        boolean wasEmpty = section.hasOnlyAir();
+        section.acquire();
+        try {
+            for (BlockPos p : batch) {
+                section.setBlockState(p.getX() & 15, p.getY() & 15, p.getZ() & 15, air, false);
+            }
+        } finally {
+            section.release();
+        }
+
+        // Section pass: heightmaps and sky light sources per column (top block first, so
+        // a heightmap that has to scan down does it once), light queued where it changes
+        Integer[] order = new Integer[batch.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, c) -> Integer.compare(batch.get(c).getY(), batch.get(a).getY()));
+        for (int i : order) {
+            BlockPos p = batch.get(i);
+            int x = p.getX() & 15, z = p.getZ() & 15;
+            for (Map.Entry<Heightmap.Types, Heightmap> e : chunk.getHeightmaps()) {
+                e.getValue().update(x, p.getY(), z, air);
+            }
+            if (LightEngine.hasDifferentLightProperties(old[i], air)) {
+                chunk.getSkyLightSources().update(chunk, x, p.getY(), z);
+                level.getChunkSource().getLightEngine().checkBlock(p);
+            }
+        }
+        boolean isEmpty = section.hasOnlyAir();
+        if (wasEmpty != isEmpty) {
+            level.getChunkSource().getLightEngine().updateSectionStatus(first, isEmpty);
+            level.getChunkSource().onSectionEmptinessChanged(
+                    chunk.getPos().x, SectionPos.blockToSectionCoord(first.getY()), chunk.getPos().z, isEmpty);
+        }
+        chunk.markUnsaved();
+
+        // Client marks, removal side effects (rails, redstone) and the quarry's own caches
+        for (int i = 0; i < batch.size(); i++) {
+            BlockPos p = batch.get(i);
+            level.getChunkSource().blockChanged(p);
+            old[i].affectNeighborsAfterRemoval(level, p, false);
+            level.onBlockStateChange(p, old[i], air);
+            qbe.onBlockChanged(level, p);
+        }
+
+        // Neighbour pass over the batch's outer faces only: shape updates (torches,
+        // rails, vines lose their support and pop off) and neighbour-changed
+        // notifications. Faces between two removed blocks would only see air.
+        Set<BlockPos> removed = new HashSet<>(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            BlockPos p = batch.get(i);
+            old[i].updateIndirectNeighbourShapes(level, p, Block.UPDATE_ALL, Block.UPDATE_LIMIT - 1);
+            for (Direction d : DIRS) {
+                BlockPos np = p.relative(d);
+                if (removed.contains(np)) continue;
+                level.neighborShapeChanged(d.getOpposite(), np, p, air, Block.UPDATE_ALL, Block.UPDATE_LIMIT - 1);
+                level.neighborChanged(np, old[i].getBlock(), null);
+            }
+        }
+
+        qbe.lastMined = batch.get(batch.size() - 1);
+        qbe.setChanged();
+    }
+}
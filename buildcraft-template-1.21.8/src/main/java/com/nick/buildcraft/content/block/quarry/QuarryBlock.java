@@ -27,9 +27,6 @@ import net.minecraft.world.level.block.state.properties.BooleanProperty;
 import net.minecraft.world.level.block.state.properties.EnumProperty;
 import net.minecraft.world.phys.BlockHitResult;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Quarry controller block.
  *
@@ -43,9 +40,6 @@ public class QuarryBlock extends Block implements EntityBlock, Wrenchable {
     public static final EnumProperty<Direction> FACING = HorizontalDirectionalBlock.FACING;
     public static final BooleanProperty POWERED = BlockStateProperties.POWERED;
 
-    private static final int HALF   = 5; // 11x11 footprint
-    private static final int HEIGHT = 5; // gantry height above controller
-
     public QuarryBlock(Properties props) {
         super(props);
         this.registerDefaultState(this.stateDefinition.any()
@@ -74,6 +68,7 @@ public class QuarryBlock extends Block implements EntityBlock, Wrenchable {
     public void setPlacedBy(Level level, BlockPos pos, BlockState state,
                             LivingEntity placer, ItemStack stack) {
         if (level.isClientSide) return;
+        if (level.getBlockEntity(pos) instanceof QuarryBlockEntity qbe) qbe.captureConfiguredArea();
         clearStructure(level, pos, state);
         level.scheduleTick(pos, this, 1); // begin polling; reschedules itself
     }
@@ -129,6 +124,7 @@ public class QuarryBlock extends Block implements EntityBlock, Wrenchable {
 
         BlockState updated = state.setValue(FACING, next);
         level.setBlock(pos, updated, Block.UPDATE_CLIENTS);
+        if (be instanceof QuarryBlockEntity qbe) qbe.onFrameMoved(); // frame shell moved with the facing
 
         // Frame blocks are persistent - don't clear them on rotation
         // The quarry will rebuild/validate frames in the new orientation as needed
@@ -162,55 +158,13 @@ public class QuarryBlock extends Block implements EntityBlock, Wrenchable {
 
     /** Remove any frame pieces inside this quarry’s bounding box. */
     private void clearStructure(Level level, BlockPos pos, BlockState state) {
-        Bounds b = boundsForFacing(pos, state.getValue(FACING));
-        for (BlockPos p : frameEdges(b.min(), b.max())) {
+        QuarryGeometryHelper.Bounds b = (level.getBlockEntity(pos) instanceof QuarryBlockEntity qbe)
+                ? qbe.getBounds()
+                : QuarryGeometryHelper.boundsForFacing(pos, state.getValue(FACING));
+        for (BlockPos p : QuarryGeometryHelper.frameEdges(b.min(), b.max())) {
             if (level.getBlockState(p).is(ModBlocks.FRAME.get())) {
                 level.removeBlock(p, false);
             }
         }
     }
-
-    /** Bounds for the gantry/frame region adjacent to the quarry, based on facing. */
-    private static Bounds boundsForFacing(BlockPos pos, Direction facing) {
-        final int size = 2 * HALF + 1; // 11
-        int x0, x1, z0, z1;
-        int y0 = pos.getY(), y1 = pos.getY() + HEIGHT;
-
-        switch (facing) {
-            case NORTH -> { x0 = pos.getX() - HALF; x1 = pos.getX() + HALF; z0 = pos.getZ() - size; z1 = pos.getZ() - 1; }
-            case SOUTH -> { x0 = pos.getX() - HALF; x1 = pos.getX() + HALF; z0 = pos.getZ() + 1;    z1 = pos.getZ() + size; }
-            case WEST  -> { x0 = pos.getX() - size; x1 = pos.getX() - 1;    z0 = pos.getZ() - HALF; z1 = pos.getZ() + HALF; }
-            case EAST  -> { x0 = pos.getX() + 1;    x1 = pos.getX() + size; z0 = pos.getZ() - HALF; z1 = pos.getZ() + HALF; }
-            default    -> { x0 = pos.getX() - HALF; x1 = pos.getX() + HALF; z0 = pos.getZ() - size; z1 = pos.getZ() - 1; }
-        }
-        return new Bounds(x0, y0, z0, x1, y1, z1);
-    }
-
-    /** Edge coordinates of a rectangular prism (no interior). */
-    private static Iterable<BlockPos> frameEdges(BlockPos min, BlockPos max) {
-        List<BlockPos> out = new ArrayList<>();
-        int x0 = Math.min(min.getX(), max.getX()), x1 = Math.max(min.getX(), max.getX());
-        int y0 = Math.min(min.getY(), max.getY()), y1 = Math.max(min.getY(), max.getY());
-        int z0 = Math.min(min.getZ(), max.getZ()), z1 = Math.max(min.getZ(), max.getZ());
-
-        for (int y : new int[]{y0, y1})
-            for (int z : new int[]{z0, z1})
-                for (int x = x0; x <= x1; x++) out.add(new BlockPos(x, y, z));
-
-        for (int y : new int[]{y0, y1})
-            for (int x : new int[]{x0, x1})
-                for (int z = z0; z <= z1; z++) out.add(new BlockPos(x, y, z));
-
-        for (int x : new int[]{x0, x1})
-            for (int z : new int[]{z0, z1})
-                for (int y = y0; y <= y1; y++) out.add(new BlockPos(x, y, z));
-
-        return out;
-    }
-
-    /* ----- small record for bounds ----- */
-    private record Bounds(int x0, int y0, int z0, int x1, int y1, int z1) {
-        BlockPos min() { return new BlockPos(x0, y0, z0); }
-        BlockPos max() { return new BlockPos(x1, y1, z1); }
-    }
 }
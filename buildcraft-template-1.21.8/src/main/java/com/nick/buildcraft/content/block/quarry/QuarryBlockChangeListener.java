@@ -0,0 +1,104 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import com.nick.buildcraft.BuildCraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Forwards world block changes inside a quarry's footprint to that quarry, so
+ * its cached per-layer data (QuarryLayerMask) is patched one cell at a time
+ * instead of rescanned. Changes on the frame shell go to the quarry's frame
+ * integrity tracking (QuarryFrameManager.onFrameChanged), and a chunk holding
+ * part of a footprint loading again asks that quarry for one full frame
+ * verification and drops its planned layers (QuarryLayerPlanner).
+ *
+ * Quarries register in onLoad and leave in setRemoved (server only).
+ */
+@EventBusSubscriber(modid = BuildCraft.MODID)
+public final class QuarryBlockChangeListener {
+
+    private QuarryBlockChangeListener() {}
+
+    private static final Map<ServerLevel, List<QuarryBlockEntity>> QUARRIES = new IdentityHashMap<>();
+
+    static void register(ServerLevel level, QuarryBlockEntity qbe) {
+        List<QuarryBlockEntity> list = QUARRIES.computeIfAbsent(level, k -> new ArrayList<>());
+        if (!list.contains(qbe)) list.add(qbe);
+    }
+
+    /** Quarries currently loaded in this level (read-only view). */
+    static List<QuarryBlockEntity> quarries(ServerLevel level) {
+        List<QuarryBlockEntity> list = QUARRIES.get(level);
+        return list == null ? List.of() : Collections.unmodifiableList(list);
+    }
+
+    static void unregister(ServerLevel level, QuarryBlockEntity qbe) {
+        List<QuarryBlockEntity> list = QUARRIES.get(level);
+        if (list == null) return;
+        list.remove(qbe);
+        if (list.isEmpty()) QUARRIES.remove(level);
+    }
+
+    /** Fired for every block set that notifies neighbours (players, pistons, fluids, the quarry itself). */
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+
+        List<QuarryBlockEntity> list = QUARRIES.get(level);
+        if (list == null) return;
+
+        BlockPos pos = event.getPos();
+        for (QuarryBlockEntity qbe : list) {
+            QuarryGeometryHelper.Bounds b = qbe.getBounds();
+            if (b == null) continue;
+            if (QuarryGeometryHelper.isFrameEdge(b, pos)) {
+                qbe.onFrameChanged(level, pos);
+                continue;
+            }
+            if (pos.getX() <= b.x0 || pos.getX() >= b.x1 || pos.getZ() <= b.z0 || pos.getZ() >= b.z1) continue;
+
+            qbe.onBlockChanged(level, pos);
+        }
+    }
+
+    /** A frame block left the world (FrameBlock removal hook; covers removals that skip neighbour notification). */
+    static void onFrameRemoved(ServerLevel level, BlockPos pos) {
+        List<QuarryBlockEntity> list = QUARRIES.get(level);
+        if (list == null) return;
+
+        for (QuarryBlockEntity qbe : list) {
+            QuarryGeometryHelper.Bounds b = qbe.getBounds();
+            if (b != null && QuarryGeometryHelper.isFrameEdge(b, pos)) qbe.onFrameChanged(level, pos);
+        }
+    }
+
+    /** Part of a frame shell (re)loaded: its blocks may have changed while unloaded. */
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+
+        List<QuarryBlockEntity> list = QUARRIES.get(level);
+        if (list == null) return;
+
+        ChunkPos cp = event.getChunk().getPos();
+        for (QuarryBlockEntity qbe : list) {
+            QuarryGeometryHelper.Bounds b = qbe.getBounds();
+            if (b == null) continue;
+            if (b.x1 < cp.getMinBlockX() || b.x0 > cp.getMaxBlockX() || b.z1 < cp.getMinBlockZ() || b.z0 > cp.getMaxBlockZ()) continue;
+
+            qbe.frameVerifyPending = true;
+            qbe.layerPlanner.clear(); // changes while unloaded were never logged
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.nick.buildcraft.content.block.quarry;
 
 import com.mojang.serialization.Codec;
+import com.nick.buildcraft.network.QuarryMotionPayload;
 import com.nick.buildcraft.registry.ModBlockEntity;
+import com.nick.buildcraft.registry.ModItems;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
@@ -10,7 +12,9 @@ import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.Containers;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
@@ -18,6 +22,9 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.storage.ValueInput;
 import net.minecraft.world.level.storage.ValueOutput;
 import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
+import net.neoforged.neoforge.items.IItemHandler;
+import net.neoforged.neoforge.network.PacketDistributor;
 
 import java.util.*;
 
@@ -25,11 +32,11 @@ import java.util.*;
  * Server-authoritative quarry with facing-aware boustrophedon sweep, gantry motion, and
  * drop-safe output via a small queue to prevent duplication and "pop-outs".
  *
- * Output gating: queued items are preserved across power cycles, but they do not flush
- * until at least one new block is mined after power-on.
+ * Output: queued items are preserved across power cycles and flush on every working
+ * tick; mining pauses while the buffer is full.
  *
  * Delegates logic to manager classes for focused responsibilities:
- * - QuarryFrameManager: Frame construction and visualization
+ * - QuarryFrameManager: Frame construction and integrity
  * - QuarryMiningManager: Mining sweep and layer traversal
  * - QuarryGantryManager: Gantry positioning and A* pathfinding
  * - QuarryOutputManager: Item queue and safe output delivery
@@ -39,16 +46,21 @@ import java.util.*;
  */
 public class QuarryBlockEntity extends BlockEntity {
 
-    /* ---------- Sync Throttle ---------- */
-    private static final int SYNC_MIN_INTERVAL = 1; // Sync every tick for smooth gantry movement
+    /* ---------- Sync ---------- */
+    private static final double MOTION_DRIFT_EPS = 0.05; // Resend a segment once the client's guess is this far off
 
     /* ---------- State Fields (Public for manager access) ---------- */
 
+    // Area: fixed at placement from config, saved and synced so client bounds always match
+    public int areaHalf = 0;
+    public int areaHeight = 0;
+
     // Frame building
     public final ArrayDeque<BlockPos> frameBuildQueue = new ArrayDeque<>();
     public int frameTickCounter = 0;
     public boolean frameComplete = false;
-    public final UUID[] placementLaserIds = new UUID[12];
+    public final Set<BlockPos> missingFrame = new HashSet<>(); // Shell positions without a frame (kept by events)
+    public boolean frameVerifyPending = true;  // Missing set untrusted: full shell scan before next use
 
     /**
      * Gantry movement state machine with deterministic transitions.
@@ -115,12 +127,20 @@ public class QuarryBlockEntity extends BlockEntity {
     public Integer overrideMineY = null;
     public BlockPos currentlyMining = null;  // Track which block is being mined for damage display
     public int miningDamage = 0;              // Progressive damage 0-10 for visual breaking
+    public QuarryLayerMask layerMask = null;   // Mineable cells of layerY in sweep order (rebuilt per layer)
+    public QuarryObstacleMap obstacleMap = null; // Gantry obstacle heightmap over the interior (carried from layer to layer)
+    public final QuarryLayerPlanner layerPlanner = new QuarryLayerPlanner(); // Masks of the next layers, built off-thread (not saved)
+    public final QuarryTickBudget budget = new QuarryTickBudget(); // Measured CPU time per tick, shared by all subsystems
 
     // Pathfinding
     public ArrayDeque<BlockPos> path = new ArrayDeque<>();
     public BlockPos pathTarget = null;
     public int repathCooldown = 0;
+    public final QuarryPathPlanner pathPlanner = new QuarryPathPlanner(); // Reusable A* arrays (not saved)
     public final Map<BlockPos, Long> tempSkip = new HashMap<>();
+    public BlockPos altSearchFrom = null;   // Alternative-target search in progress (resumes when PATHING budget returns)
+    public BlockPos altSearchGoal = null;
+    public int altSearchPos = -1;           // -1: forward candidate not planned yet, else ring positions already visited
 
     // Final sweep
     public boolean finalSweepPending = false;
@@ -128,8 +148,9 @@ public class QuarryBlockEntity extends BlockEntity {
     public final ArrayDeque<BlockPos> finalSweepTargets = new ArrayDeque<>();
 
     // Output
-    public final ArrayDeque<ItemStack> outputQueue = new ArrayDeque<>();
-    public boolean allowFlushAfterPowerOn = false;
+    public final QuarryOutputBuffer output = new QuarryOutputBuffer(); // Merged drop counts, capped (mining pauses when full)
+    @SuppressWarnings("unchecked")
+    final BlockCapabilityCache<IItemHandler, Direction>[] outputCaches = new BlockCapabilityCache[6]; // Per side, by 3D data value
 
     // Energy buffer: 500 FE capacity, drains 50 FE/tick when running
     public final com.nick.buildcraft.energy.BCEnergyStorage energy =
@@ -144,12 +165,28 @@ public class QuarryBlockEntity extends BlockEntity {
     public float currentSpeed = 0.0f;        // Current gantry speed multiplier (0.0 = stopped, 1.0 = base, 4.0 = max)
     public float targetSpeed = 0.0f;         // Target speed based on energy inflow
 
-    // Client sync (private)
-    private int syncCooldown = 0;
-    private Vec3 lastSentGantry = null;
-    private Double lastSentGantryLiftY = null;
+    // Head upgrades: extra mining heads sharing this frame, energy buffer and mining budget
+    public int headCount = 1;                           // Installed heads including the main gantry (1..4)
+    public final List<QuarryHead> heads = new ArrayList<>(); // Extra heads 1..headCount-1 (positions not saved)
+
+    // Catch-up mining while no player tracks the chunk (QuarryCatchUpMiner, not saved)
+    public boolean catchingUp = false;
+    boolean observed = false;
+    int observerCheckCooldown = 0;
+    int catchUpCredit = 0;                   // Work ticks earned but not yet spent on blocks
+    long lastCatchUpGT = 0L;
+
+    // Client sync: full state on gantry state transitions / layer changes, motion as segments
+    boolean fullSyncPending = false;
+    private QuarryMotionSegment lastSentMotion = null;
     private Integer lastSentLayer = null;
-    private int lastSentEnergy = 0;
+    private boolean workReset = false;       // Stop reset (no power / frame broken) already done and synced
+
+    // Client-side: segment currently being extrapolated (null until the first one arrives)
+    public QuarryMotionSegment clientMotion = null;
+
+    // Client-side render cache (animation + column data), rebuilt on sync; null on the server
+    private QuarryClientCache clientCache = null;
 
     // Client-side energy cache for renderer (synced from server)
     private int clientEnergy = 0;
@@ -159,16 +196,94 @@ public class QuarryBlockEntity extends BlockEntity {
         super(ModBlockEntity.QUARRY_CONTROLLER.get(), pos, state);
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (this.level instanceof ServerLevel sl) QuarryBlockChangeListener.register(sl, this);
+    }
+
     @Override
     public void setRemoved() {
         super.setRemoved();
-        if (this.level instanceof ServerLevel sl) QuarryFrameManager.clearPlacementLasers(this, sl);
+        if (this.level instanceof ServerLevel sl) QuarryBlockChangeListener.unregister(sl, this);
+        layerPlanner.clear();
+    }
+
+    @Override
+    public void preRemoveSideEffects(BlockPos pos, BlockState state) {
+        super.preRemoveSideEffects(pos, state);
+        // Installed head upgrades come back out with the controller
+        if (this.level != null && this.headCount > 1) {
+            Containers.dropItemStack(this.level, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5,
+                    new ItemStack(ModItems.QUARRY_HEAD_UPGRADE.get(), this.headCount - 1));
+        }
+        // Buffered drops only exist in this block entity: spill them rather than delete them
+        if (this.level != null) {
+            Level lvl = this.level;
+            QuarryOutputBuffer.Sink spill = stack -> {
+                Containers.dropItemStack(lvl, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, stack);
+                return ItemStack.EMPTY;
+            };
+            while (!this.output.isEmpty()) this.output.drain(spill, Integer.MAX_VALUE);
+            this.output.clear();
+        }
+    }
+
+    /** A block on the frame shell changed (QuarryBlockChangeListener, FrameBlock removal). */
+    void onFrameChanged(ServerLevel level, BlockPos pos) {
+        QuarryFrameManager.onFrameChanged(this, level, pos);
+    }
+
+    /** The shell moved or may have changed unseen (rotation, area change, chunk reload): rescan before trusting it. */
+    public void onFrameMoved() {
+        frameVerifyPending = true;
+        missingFrame.clear();
+        frameBuildQueue.clear();
+        layerPlanner.clear();
+    }
+
+    /** A block inside the footprint changed (QuarryBlockChangeListener): patch cached layer data. */
+    void onBlockChanged(ServerLevel level, BlockPos pos) {
+        if (layerMask != null) layerMask.update(level, pos);
+        if (obstacleMap != null) obstacleMap.update(level, pos);
+        layerPlanner.onBlockChanged(pos);
     }
 
     /* ====================================================================== */
     /*  Sync Helpers                                                           */
     /* ====================================================================== */
 
+    /**
+     * No power or broken frame: drop the layer / path / head state and park the
+     * gantry. Runs and syncs once on the way in; later idle ticks do nothing
+     * until work resumes (tick clears workReset once the frame is intact again).
+     */
+    private void resetWork(ServerLevel sl) {
+        if (workReset) return;
+        workReset = true;
+
+        lastMined = null;
+        layerY = null;
+        layerLeftToRight = false;
+        layerStartAtTop = false;
+        targetCol = null;
+        atTarget = false;
+        drillTicks = 0;
+        path.clear();
+        pathTarget = null;
+        tempSkip.clear();
+        altSearchFrom = null;
+        layerMask = null;
+        obstacleMap = null;
+        layerPlanner.clear();
+        finalSweepPending = false;
+        finalSweepCheckedThisLayer = false;
+        finalSweepTargets.clear();
+        QuarryHeadManager.resetAll(this);
+        markForSync();
+        syncToClients(sl, false); // gantry parks: stop client extrapolation
+    }
+
     private void markForSync() {
         setChanged();
         if (level != null && !level.isClientSide) {
@@ -177,41 +292,69 @@ public class QuarryBlockEntity extends BlockEntity {
         }
     }
 
-    private void maybeSync() {
-        if (level == null || level.isClientSide) return;
-
+    /**
+     * Full block-entity update only when the gantry changes state or the layer
+     * changes; movement in between is a QuarryMotionPayload, sent only when the
+     * motion differs from what the client is already extrapolating.
+     */
+    private void syncToClients(ServerLevel sl, boolean running) {
         boolean layerChanged = !Objects.equals(layerY, lastSentLayer);
-        boolean energyChanged = (energy.getEnergyStored() != lastSentEnergy);
-
-        // Check if gantry position changed at all (not just cell change)
-        boolean gantryMoved = false;
-        if (gantryPos != null) {
-            if (lastSentGantry == null) {
-                gantryMoved = true;
-            } else {
-                double dx = Math.abs(gantryPos.x - lastSentGantry.x);
-                double dz = Math.abs(gantryPos.z - lastSentGantry.z);
-                gantryMoved = (dx > 0.001 || dz > 0.001); // Any movement
-            }
+        if (fullSyncPending || layerChanged) {
+            fullSyncPending = false;
+            lastSentLayer = layerY;
+            markForSync();
         }
 
-        // Check if vertical lift changed (critical for smooth crane rendering)
-        boolean gantryLiftChanged;
-        if (lastSentGantryLiftY == null) {
-            gantryLiftChanged = (gantryLiftY > 0.001);
-        } else {
-            gantryLiftChanged = (Math.abs(gantryLiftY - lastSentGantryLiftY) > 0.001);
+        long now = sl.getGameTime();
+        QuarryMotionSegment seg = QuarryGantryManager.motionSegment(this, now);
+        if (seg == null) return;
+        if (!running) seg = QuarryMotionSegment.still(seg.x(), seg.z(), seg.lift(), now, false, 0);
+        int drillPeriod = QuarryBalancer.phases(sl); // drill steps only land on mining-phase ticks
+        seg = seg.withDrillPeriod(drillPeriod);
+
+        if (seg.supersedes(lastSentMotion, now, MOTION_DRIFT_EPS)) {
+            lastSentMotion = seg;
+            PacketDistributor.sendToPlayersTrackingChunk(sl, new ChunkPos(worldPosition),
+                    new QuarryMotionPayload(worldPosition, 0, seg));
         }
 
-        if (--syncCooldown <= 0 || gantryMoved || gantryLiftChanged || layerChanged || energyChanged) {
-            syncCooldown = SYNC_MIN_INTERVAL;
-            lastSentGantry = gantryPos;
-            lastSentGantryLiftY = gantryLiftY;
-            lastSentLayer = layerY;
-            lastSentEnergy = energy.getEnergyStored();
+        // Extra heads: same scheme, one segment stream per head
+        for (QuarryHead h : heads) {
+            QuarryMotionSegment hs = QuarryHeadManager.motionSegment(this, h, now);
+            if (!running) hs = QuarryMotionSegment.still(hs.x(), hs.z(), 0.0, now, false, 0);
+            hs = hs.withDrillPeriod(drillPeriod);
+            if (!hs.supersedes(h.lastSentMotion, now, MOTION_DRIFT_EPS)) continue;
+            h.lastSentMotion = hs;
+            PacketDistributor.sendToPlayersTrackingChunk(sl, new ChunkPos(worldPosition),
+                    new QuarryMotionPayload(worldPosition, h.stripe, hs));
+        }
+    }
 
-            markForSync();
+    /** Client: start extrapolating a new motion segment (from QuarryMotionPayload or the update tag). */
+    public void applyMotion(int head, QuarryMotionSegment seg) {
+        if (clientCache != null) clientCache.invalidate();
+        if (head == 0) {
+            this.clientMotion = seg;
+            return;
         }
+        QuarryGeometryHelper.Bounds b = getBounds();
+        if (b == null) return;
+        QuarryHeadManager.ensureHeads(this, b);
+        if (head <= heads.size()) heads.get(head - 1).clientMotion = seg;
+    }
+
+    /**
+     * Fit one more mining head (QuarryHeadUpgradeItem).
+     * @return false if the quarry already has QuarryHeadManager.MAX_HEADS
+     */
+    public boolean installHead() {
+        if (headCount >= QuarryHeadManager.MAX_HEADS) return false;
+        headCount++;
+        QuarryGeometryHelper.Bounds b = getBounds();
+        if (b != null) QuarryHeadManager.ensureHeads(this, b);
+        fullSyncPending = true;
+        markForSync();
+        return true;
     }
 
     /* ====================================================================== */
@@ -225,6 +368,31 @@ public class QuarryBlockEntity extends BlockEntity {
         // This creates a sliding window for interpolation
         be.prevGantryPos = be.gantryPos;
         be.prevGantryLiftY = be.gantryLiftY;
+
+        // Current position comes from the server's motion segment, evaluated locally
+        QuarryMotionSegment m = be.clientMotion;
+        if (m != null) {
+            long t = level.getGameTime();
+            double y = be.gantryPos != null ? be.gantryPos.y : 0.0; // renderer pins Y to the frame
+            be.gantryPos = new Vec3(m.xAt(t), y, m.zAt(t));
+            be.gantryLiftY = m.liftAt(t);
+            be.atTarget = m.atTarget();
+            be.drillTicks = m.drillTicksAt(t);
+        }
+
+        for (QuarryHead h : be.heads) {
+            h.prevX = h.x;
+            h.prevZ = h.z;
+            h.prevLift = h.lift;
+            QuarryMotionSegment hm = h.clientMotion;
+            if (hm == null) continue;
+            long t = level.getGameTime();
+            h.x = hm.xAt(t);
+            h.z = hm.zAt(t);
+            h.lift = hm.liftAt(t);
+            h.atTarget = hm.atTarget();
+            h.drillTicks = hm.drillTicksAt(t);
+        }
     }
 
     /* ====================================================================== */
@@ -236,10 +404,7 @@ public class QuarryBlockEntity extends BlockEntity {
 
         ServerLevel sl = (ServerLevel) level;
         QuarryBalancer.beginTick(sl);
-
-        // Frame visualization
-        if (!be.frameComplete) QuarryFrameManager.ensurePlacementLasers(be, sl);
-        else QuarryFrameManager.clearPlacementLasers(be, sl);
+        be.budget.beginTick(sl);
 
         // Update speed based on energy inflow rate (must be before power check)
         QuarryEnergyManager.updateSpeed(be);
@@ -247,70 +412,74 @@ public class QuarryBlockEntity extends BlockEntity {
         // Power check
         if (!QuarryEnergyManager.hasWorkPower(be)) {
             be.frameTickCounter = 0;
-            be.lastMined = null;
-            be.layerY = null;
-            be.layerLeftToRight = false;
-            be.layerStartAtTop = false;
-            be.targetCol = null;
-            be.atTarget = false;
-            be.drillTicks = 0;
-            be.path.clear();
-            be.pathTarget = null;
-            be.tempSkip.clear();
-            be.finalSweepPending = false;
-            be.finalSweepCheckedThisLayer = false;
-            be.finalSweepTargets.clear();
-            QuarryOutputManager.resetFlushGate(be);
-            be.markForSync();
+            be.resetWork(sl);
             return;
         }
 
         // Frame building
         if (!be.frameComplete) {
-            if (!QuarryFrameManager.stepFrameBuild(be, level, pos, state)) return;
+            if (!be.budget.mayRun(QuarryTickBudget.Work.FRAME)) return;
+            be.budget.begin(QuarryTickBudget.Work.FRAME);
+            boolean built = QuarryFrameManager.stepFrameBuild(be, level, pos, state);
+            be.budget.end();
+            if (!built) return;
             be.frameComplete = true;
             be.markForSync();
         }
 
-        // Sanity check
-        if (!QuarryFrameManager.verifyEdgesAreFrames(be)) {
+        // Sanity check (frame changes arrive as events; no per-tick perimeter scan)
+        if (!QuarryFrameManager.isFrameIntact(be)) {
             be.frameComplete = false;
-            be.lastMined = null;
-            be.layerY = null;
-            be.layerLeftToRight = false;
-            be.layerStartAtTop = false;
-            be.targetCol = null;
-            be.atTarget = false;
-            be.drillTicks = 0;
-            be.path.clear();
-            be.pathTarget = null;
-            be.tempSkip.clear();
-            be.finalSweepPending = false;
-            be.finalSweepCheckedThisLayer = false;
-            be.finalSweepTargets.clear();
-            QuarryOutputManager.resetFlushGate(be);
-            be.markForSync();
+            be.resetWork(sl);
             return;
         }
+        be.workReset = false;
 
         // Drain energy per tick while running
         be.energy.extractEnergy(com.nick.buildcraft.energy.Energy.QUARRY_DRAIN_PER_TICK, false);
 
-        // Gantry movement
+        // Nobody tracking the chunk: mine analytically, no gantry motion, break animation or sync
+        if (QuarryCatchUpMiner.tick(be, sl, pos, state)) {
+            flush(be, sl, pos);
+            return;
+        }
+
+        // Gantry movement (every tick; only re-pathing waits for budget)
+        be.budget.begin(QuarryTickBudget.Work.GANTRY);
         QuarryGantryManager.tickGantry(be, sl, pos, state);
-        be.maybeSync(); // Sync gantry position to client for smooth rendering
+        be.budget.end();
+
+        // Extra heads move every tick and drill in the same mining phase as the main head
+        boolean miningPhase = QuarryBalancer.phaseGate(sl, pos);
+        boolean headsMayMine = miningPhase && !QuarryOutputManager.isBackedUp(be)
+                && be.budget.mayRun(QuarryTickBudget.Work.HEADS);
+        be.budget.begin(QuarryTickBudget.Work.HEADS);
+        QuarryHeadManager.tickHeads(be, sl, headsMayMine);
+        be.budget.end();
+        be.syncToClients(sl, true); // Motion segments + full state on transitions
 
         // Mining phase gating
-        if (!QuarryBalancer.phaseGate(sl, pos)) {
-            QuarryOutputManager.flushOutput(be, sl, pos);
+        if (!miningPhase) {
+            flush(be, sl, pos);
             return;
         }
 
-        // Mining
-        QuarryMiningManager.stepMining(be, sl, pos, state);
+        // Mining (paused while the output buffer is full: back-pressure; out of budget: drill progress waits)
+        if (!QuarryOutputManager.isBackedUp(be) && be.budget.mayRun(QuarryTickBudget.Work.MINING)) {
+            be.budget.begin(QuarryTickBudget.Work.MINING);
+            QuarryMiningManager.stepMining(be, sl, pos, state);
+            be.budget.end();
+        }
 
         // Output flushing
+        flush(be, sl, pos);
+    }
+
+    private static void flush(QuarryBlockEntity be, ServerLevel sl, BlockPos pos) {
+        if (!be.budget.mayRun(QuarryTickBudget.Work.OUTPUT)) return; // buffer keeps it for a later tick
+        be.budget.begin(QuarryTickBudget.Work.OUTPUT);
         QuarryOutputManager.flushOutput(be, sl, pos);
+        be.budget.end();
     }
 
     /* ====================================================================== */
@@ -333,6 +502,12 @@ public class QuarryBlockEntity extends BlockEntity {
         return gantryPos;
     }
 
+    /** Client render data for QuarryRenderer (created on first render). */
+    public QuarryClientCache getClientCache() {
+        if (clientCache == null) clientCache = new QuarryClientCache();
+        return clientCache;
+    }
+
     public int getClientEnergy() {
         return level != null && level.isClientSide ? clientEnergy : energy.getEnergyStored();
     }
@@ -347,7 +522,17 @@ public class QuarryBlockEntity extends BlockEntity {
      */
     public QuarryGeometryHelper.Bounds getBounds() {
         if (level == null) return null;
-        return QuarryGeometryHelper.boundsForFacing(getBlockPos(), getFacing());
+        int half = areaHalf > 0 ? areaHalf : QuarryGeometryHelper.DEFAULT_HALF;
+        int height = areaHeight > 0 ? areaHeight : QuarryGeometryHelper.DEFAULT_HEIGHT;
+        return QuarryGeometryHelper.boundsForFacing(getBlockPos(), getFacing(), half, height);
+    }
+
+    /** Fix this quarry's area to the current config (called once on placement). */
+    public void captureConfiguredArea() {
+        this.areaHalf = QuarryGeometryHelper.configuredHalf();
+        this.areaHeight = QuarryGeometryHelper.configuredHeight();
+        onFrameMoved();
+        setChanged();
     }
 
     /**
@@ -370,8 +555,7 @@ public class QuarryBlockEntity extends BlockEntity {
         Level lvl = getLevel();
         if (lvl == null) return new CeilingMaskSnapshot(0, 0, 0, 0, BitSet.valueOf(new byte[0]));
 
-        Direction facing = getBlockState().getValue(QuarryBlock.FACING);
-        QuarryGeometryHelper.Bounds b = QuarryGeometryHelper.boundsForFacing(getBlockPos(), facing);
+        QuarryGeometryHelper.Bounds b = getBounds();
 
         final int xMin = b.x0 + 1, xMax = b.x1 - 1;
         final int zMin = b.z0 + 1, zMax = b.z1 - 1;
@@ -422,27 +606,35 @@ public class QuarryBlockEntity extends BlockEntity {
     protected void loadAdditional(ValueInput in) {
         super.loadAdditional(in);
 
+        // CLIENT-SIDE: an extrapolated motion segment owns the gantry position once present
+        boolean clientSide = this.level != null && this.level.isClientSide;
+        if (clientSide) in.read("Motion", QuarryMotionSegment.CODEC).ifPresent(m -> applyMotion(0, m));
+        boolean extrapolating = clientSide && this.clientMotion != null;
+        if (clientSide && this.clientCache != null) this.clientCache.invalidate();
+
         // Gantry position (current and previous for smooth interpolation)
-        var gx = in.read("GX", Codec.DOUBLE);
-        var gy = in.read("GY", Codec.DOUBLE);
-        var gz = in.read("GZ", Codec.DOUBLE);
-        gx.ifPresent(x -> this.gantryPos = new Vec3(x, gy.orElse(0.0), gz.orElse(0.0)));
-
-        var pgx = in.read("PrevGX", Codec.DOUBLE);
-        var pgy = in.read("PrevGY", Codec.DOUBLE);
-        var pgz = in.read("PrevGZ", Codec.DOUBLE);
-        pgx.ifPresent(x -> this.prevGantryPos = new Vec3(x, pgy.orElse(0.0), pgz.orElse(0.0)));
-
-        // CLIENT-SIDE: Preserve current value as previous before loading new value (for smooth interpolation)
-        // SERVER-SIDE: Load both values from disk
-        if (this.level != null && this.level.isClientSide) {
-            // On client, preserve current as previous for interpolation across sync packets
-            this.prevGantryLiftY = this.gantryLiftY;
-            this.gantryLiftY = in.read("GantryLiftY", Codec.DOUBLE).orElse(0.0);
-        } else {
-            // On server, load both from disk
-            this.gantryLiftY = in.read("GantryLiftY", Codec.DOUBLE).orElse(0.0);
-            this.prevGantryLiftY = in.read("PrevGantryLiftY", Codec.DOUBLE).orElse(0.0);
+        if (!extrapolating) {
+            var gx = in.read("GX", Codec.DOUBLE);
+            var gy = in.read("GY", Codec.DOUBLE);
+            var gz = in.read("GZ", Codec.DOUBLE);
+            gx.ifPresent(x -> this.gantryPos = new Vec3(x, gy.orElse(0.0), gz.orElse(0.0)));
+
+            var pgx = in.read("PrevGX", Codec.DOUBLE);
+            var pgy = in.read("PrevGY", Codec.DOUBLE);
+            var pgz = in.read("PrevGZ", Codec.DOUBLE);
+            pgx.ifPresent(x -> this.prevGantryPos = new Vec3(x, pgy.orElse(0.0), pgz.orElse(0.0)));
+
+            // CLIENT-SIDE: Preserve current value as previous before loading new value (for smooth interpolation)
+            // SERVER-SIDE: Load both values from disk
+            if (clientSide) {
+                // On client, preserve current as previous for interpolation across sync packets
+                this.prevGantryLiftY = this.gantryLiftY;
+                this.gantryLiftY = in.read("GantryLiftY", Codec.DOUBLE).orElse(0.0);
+            } else {
+                // On server, load both from disk
+                this.gantryLiftY = in.read("GantryLiftY", Codec.DOUBLE).orElse(0.0);
+                this.prevGantryLiftY = in.read("PrevGantryLiftY", Codec.DOUBLE).orElse(0.0);
+            }
         }
         this.targetLiftY = in.read("TargetLiftY", Codec.DOUBLE).orElse(0.0);
 
@@ -470,6 +662,22 @@ public class QuarryBlockEntity extends BlockEntity {
 
         this.atTarget = in.read("AtTarget", Codec.BOOL).orElse(false);
 
+        // Area (quarries from before it was configurable keep the old 11x11)
+        this.areaHalf = in.getIntOr("AreaHalf", QuarryGeometryHelper.DEFAULT_HALF);
+        this.areaHeight = in.getIntOr("AreaHeight", QuarryGeometryHelper.DEFAULT_HEIGHT);
+
+        // Frame state (server re-verifies the shell on the first tick; client renders from it)
+        this.frameComplete = in.read("FrameComplete", Codec.BOOL).orElse(false);
+
+        // Head upgrades (extra heads re-home to their stripes)
+        this.headCount = Math.max(1, Math.min(QuarryHeadManager.MAX_HEADS, in.getIntOr("Heads", 1)));
+        if (clientSide) {
+            for (int i = 1; i < this.headCount; i++) {
+                int head = i;
+                in.read("HeadMotion" + i, QuarryMotionSegment.CODEC).ifPresent(m -> applyMotion(head, m));
+            }
+        }
+
         // Mining state
         in.read("LayerY", Codec.INT).ifPresent(v -> this.layerY = v);
         this.layerLeftToRight = in.read("LayerLR", Codec.BOOL).orElse(this.layerLeftToRight);
@@ -506,13 +714,8 @@ public class QuarryBlockEntity extends BlockEntity {
             }
         }
 
-        // Output queue
-        int qn = in.getInt("OutQn").orElse(0);
-        outputQueue.clear();
-        for (int i = 0; i < qn; i++) {
-            var st = in.read("OutQ_" + i, ItemStack.CODEC);
-            st.ifPresent(outputQueue::addLast);
-        }
+        // Output buffer (also migrates the old OutQ_ stack queue)
+        output.load(in);
 
         // Energy buffer
         in.child("Energy").ifPresent(this.energy::deserialize);
@@ -524,9 +727,6 @@ public class QuarryBlockEntity extends BlockEntity {
         this.energyLastTick = in.getIntOr("EnergyLastTick", 0);
         this.currentSpeed = in.getFloatOr("CurrentSpeed", 0.0f);
         this.targetSpeed = in.getFloatOr("TargetSpeed", 0.0f);
-
-        // Reset power gate on world load
-        allowFlushAfterPowerOn = false;
     }
 
     @Override
@@ -561,6 +761,12 @@ public class QuarryBlockEntity extends BlockEntity {
         }
         out.store("AtTarget", Codec.BOOL, this.atTarget);
 
+        // Area
+        out.putInt("AreaHalf", this.areaHalf);
+        out.putInt("AreaHeight", this.areaHeight);
+        out.putInt("Heads", this.headCount);
+        out.store("FrameComplete", Codec.BOOL, this.frameComplete);
+
         // Mining state
         out.storeNullable("LayerY", Codec.INT, this.layerY);
         out.store("LayerLR", Codec.BOOL, this.layerLeftToRight);
@@ -593,12 +799,8 @@ public class QuarryBlockEntity extends BlockEntity {
             pathIdx++;
         }
 
-        // Output queue
-        out.putInt("OutQn", outputQueue.size());
-        int i = 0;
-        for (ItemStack s : outputQueue) {
-            out.store("OutQ_" + (i++), ItemStack.CODEC, s);
-        }
+        // Output buffer
+        output.save(out);
 
         // Energy buffer
         this.energy.serialize(out.child("Energy"));
@@ -619,6 +821,11 @@ public class QuarryBlockEntity extends BlockEntity {
 
     @Override
     public CompoundTag getUpdateTag(HolderLookup.Provider registries) {
-        return this.saveCustomOnly(registries);
+        CompoundTag tag = this.saveCustomOnly(registries);
+        if (this.lastSentMotion != null) tag.store("Motion", QuarryMotionSegment.CODEC, this.lastSentMotion);
+        for (QuarryHead h : this.heads) {
+            if (h.lastSentMotion != null) tag.store("HeadMotion" + h.stripe, QuarryMotionSegment.CODEC, h.lastSentMotion);
+        }
+        return tag;
     }
 }
@@ -0,0 +1,189 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import com.nick.buildcraft.Config;
+import com.nick.buildcraft.energy.Energy;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Analytic mining for quarries no player is tracking (Config "quarry.catchUpMining").
+ *
+ * Nobody can see the gantry, the break overlay or the motion packets, so none
+ * of them are simulated. Instead the quarry earns work ticks and spends them
+ * at the visual mode's cost:
+ * - drilling a block: MINE_TICKS_PER_BLOCK mining phases (QuarryBalancer.phases ticks each)
+ * - moving to the next column: Manhattan distance / the gantry's horizontal step
+ * - extra heads earn work ticks too and pay their drill energy on phase ticks
+ *
+ * The energy drain per tick is the same as in visual mode (serverTick), so
+ * blocks mined and energy used track the visual mode; retract/deploy time is
+ * not modelled, which makes catch-up a little faster on obstacle-heavy layers.
+ *
+ * Work is settled every CATCH_UP_INTERVAL ticks on the quarry's mining phase:
+ * the targets paid for are taken in sweep order (grief blocks above the layer
+ * first, like the visual miner), one world mining token each, and removed
+ * together through QuarryBatchMiner.mineAll. When a player starts tracking the
+ * chunk, the gantry is placed over the current target column and the visual
+ * simulation carries on from there.
+ */
+public final class QuarryCatchUpMiner {
+
+    private QuarryCatchUpMiner() {}
+
+    private static final int OBSERVER_CHECK_TICKS = 20;
+    private static final int CATCH_UP_INTERVAL = 100;   // Ticks between two settled batches
+    private static final int MAX_BLOCKS_PER_BATCH = 64;
+
+    /**
+     * Run one tick of catch-up mining if nobody tracks this quarry.
+     *
+     * @return true if the tick was handled here (skip gantry, heads, mining and motion sync)
+     */
+    public static boolean tick(QuarryBlockEntity qbe, ServerLevel level, BlockPos pos, BlockState state) {
+        if (!isEnabled()) {
+            if (qbe.catchingUp) exit(qbe);
+            return false;
+        }
+
+        if (--qbe.observerCheckCooldown <= 0) {
+            qbe.observerCheckCooldown = OBSERVER_CHECK_TICKS;
+            qbe.observed = !level.getChunkSource().chunkMap.getPlayers(new ChunkPos(pos), false).isEmpty();
+        }
+        if (qbe.observed) {
+            if (qbe.catchingUp) exit(qbe);
+            return false;
+        }
+        if (!qbe.catchingUp) enter(qbe, level);
+
+        QuarryGeometryHelper.Bounds b = qbe.getBounds();
+        if (b == null) return true;
+        Direction facing = state.getValue(QuarryBlock.FACING);
+        QuarryMiningManager.startIfNeeded(qbe, b, facing);
+
+        // Earn work ticks (nothing is earned while the output is backed up: visual mode waits too)
+        boolean miningPhase = QuarryBalancer.phaseGate(level, pos);
+        if (QuarryOutputManager.isBackedUp(qbe)) return true;
+
+        qbe.catchUpCredit++;
+        int extra = qbe.headCount - 1;
+        if (extra > 0 && miningPhase) {
+            int drain = Energy.QUARRY_DRAIN_PER_TICK * extra;
+            if (qbe.energy.extractEnergy(drain, true) >= drain) {
+                qbe.energy.extractEnergy(drain, false);
+                qbe.catchUpCredit += extra * QuarryBalancer.phases(level);
+            }
+        }
+        qbe.catchUpCredit = Math.min(qbe.catchUpCredit, 2 * CATCH_UP_INTERVAL * Math.max(1, qbe.headCount));
+
+        if (!miningPhase || level.getGameTime() - qbe.lastCatchUpGT < CATCH_UP_INTERVAL) return true;
+        if (!qbe.budget.mayRun(QuarryTickBudget.Work.MINING)) return true; // settle on a later phase
+        qbe.lastCatchUpGT = level.getGameTime();
+
+        qbe.budget.begin(QuarryTickBudget.Work.MINING);
+        settle(qbe, level, pos, b, facing);
+        qbe.budget.end();
+        return true;
+    }
+
+    private static boolean isEnabled() {
+        return !Config.SPEC.isLoaded() || Config.QUARRY_CATCH_UP.get();
+    }
+
+    /** Spend the earned work ticks on targets in sweep order and mine them as one batch. */
+    private static void settle(QuarryBlockEntity qbe, ServerLevel level, BlockPos pos,
+                               QuarryGeometryHelper.Bounds b, Direction facing) {
+        double step = QuarryGantryManager.horizontalStep(qbe);
+        if (step <= 0.0) return; // not moving in visual mode either
+
+        int drill = QuarryMiningManager.MINE_TICKS_PER_BLOCK * QuarryBalancer.phases(level);
+        int minY = level.dimensionType().minY();
+        if (qbe.targetCol == null && !advanceColumn(qbe, level, b, facing, minY)) return;
+        List<BlockPos> work = new ArrayList<>();
+
+        while (work.size() < MAX_BLOCKS_PER_BATCH && qbe.catchUpCredit >= drill) {
+            if (qbe.layerY < minY) break; // quarry finished
+
+            BlockPos p = nextInColumn(qbe, level, b, work);
+            if (p != null) {
+                if (!QuarryBalancer.tryConsumeToken(level)) break;
+                work.add(p);
+                qbe.catchUpCredit -= drill;
+                continue;
+            }
+
+            BlockPos from = qbe.targetCol;
+            if (!advanceColumn(qbe, level, b, facing, minY)) break;
+            int dist = Math.abs(qbe.targetCol.getX() - from.getX()) + Math.abs(qbe.targetCol.getZ() - from.getZ());
+            qbe.catchUpCredit -= (int) Math.ceil(dist / step);
+        }
+
+        if (work.isEmpty()) return;
+        QuarryBatchMiner.mineAll(qbe, level, pos, work);
+        qbe.setChanged();
+    }
+
+    /**
+     * Next block to mine in the current target column: grief blocks above the
+     * layer top-down, then the layer cell itself. Blocks already in 'work' are skipped.
+     */
+    private static BlockPos nextInColumn(QuarryBlockEntity qbe, ServerLevel level, QuarryGeometryHelper.Bounds b,
+                                         List<BlockPos> work) {
+        int x = qbe.targetCol.getX(), z = qbe.targetCol.getZ();
+        for (int y = b.y0 - 1; y >= qbe.layerY; y--) {
+            BlockPos p = new BlockPos(x, y, z);
+            if (!work.contains(p) && QuarryMiningManager.shouldMine(level, p)) return p;
+        }
+        return null;
+    }
+
+    /** Move the target to the next column with work, descending as needed. False if the quarry is done. */
+    private static boolean advanceColumn(QuarryBlockEntity qbe, ServerLevel level, QuarryGeometryHelper.Bounds b,
+                                         Direction facing, int minY) {
+        BlockPos from = qbe.targetCol;
+        while (true) {
+            BlockPos next = QuarryMiningManager.findNextOnLayerForward(level, b, facing, from, qbe.layerY, qbe);
+            if (next != null) {
+                qbe.targetCol = new BlockPos(next.getX(), b.y0, next.getZ());
+                return true;
+            }
+            QuarryMiningManager.descend(qbe);
+            if (qbe.layerY < minY) return false;
+            from = null;
+        }
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Mode switches                                                          */
+    /* ---------------------------------------------------------------------- */
+
+    private static void enter(QuarryBlockEntity qbe, ServerLevel level) {
+        qbe.catchingUp = true;
+        qbe.catchUpCredit = 0;
+        qbe.lastCatchUpGT = level.getGameTime();
+        if (qbe.currentlyMining != null) {
+            level.destroyBlockProgress(qbe.getBlockPos().hashCode(), qbe.currentlyMining, -1);
+            qbe.currentlyMining = null;
+        }
+        qbe.miningDamage = 0;
+        qbe.drillTicks = 0;
+        qbe.overrideMineY = null;
+        qbe.path.clear();
+        qbe.pathTarget = null;
+        QuarryHeadManager.resetAll(qbe);
+    }
+
+    /** A player is watching again: put the gantry over the current target and simulate normally. */
+    private static void exit(QuarryBlockEntity qbe) {
+        qbe.catchingUp = false;
+        qbe.catchUpCredit = 0;
+        QuarryGeometryHelper.Bounds b = qbe.getBounds();
+        if (b != null && qbe.targetCol != null) QuarryGantryManager.placeOver(qbe, b, qbe.targetCol);
+        qbe.fullSyncPending = true;
+    }
+}
@@ -0,0 +1,118 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LightLayer;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Client-only render data of one quarry, owned by its block entity (so it goes
+ * away with the BE instead of living in a static map keyed by position).
+ *
+ * - Slam animation state of the main head.
+ * - Column data the renderer needs under a head: ceiling clearance, where the
+ *   drill tip rests, which positions are solid (riser/tip hidden there) and
+ *   the packed light per Y. Built once per column and dropped on every sync
+ *   from the server (update tag or motion segment), since that is when mining
+ *   has changed what is below the heads. Nothing is queried per frame.
+ *
+ * Only touched from the render thread; never created on a dedicated server.
+ */
+public final class QuarryClientCache {
+
+    private static final int MAX_COLUMNS = 256; // Columns crossed between syncs while traversing
+
+    // Slam animation (main head)
+    public int stillTicks;
+    public long slamStartGT = -1;
+    public int curCellX = Integer.MIN_VALUE;
+    public int curCellZ = Integer.MIN_VALUE;
+    public boolean slammedThisCell = false;
+
+    private final Map<Long, Column> columns = new HashMap<>();
+
+    /** Server sent new state: the world under the heads may have changed. */
+    public void invalidate() {
+        columns.clear();
+    }
+
+    /** Render data for column (x, z) of quarry bounds b, built on first use. */
+    public Column column(Level level, QuarryGeometryHelper.Bounds b, int x, int z) {
+        long key = BlockPos.asLong(x, 0, z);
+        Column c = columns.get(key);
+        if (c == null) {
+            if (columns.size() >= MAX_COLUMNS) columns.clear();
+            c = new Column(level, b, x, z);
+            columns.put(key, c);
+        }
+        return c;
+    }
+
+    public static final class Column {
+        public final boolean ceilingBlocked;
+        public final int firstMineY;        // Integer.MIN_VALUE if nothing mineable below the frame
+        public final int tipY;              // Where a lowered drill tip rests
+        private final int lowY, highY;      // Y range covered by solid/light
+        private final BitSet solid = new BitSet();
+        private final int[] light;
+
+        Column(Level level, QuarryGeometryHelper.Bounds b, int x, int z) {
+            int minY = level.dimensionType().minY();
+            BlockPos.MutableBlockPos p = new BlockPos.MutableBlockPos();
+
+            boolean blocked = false;
+            for (int dy = 0; dy <= 2 && !blocked; dy++) {
+                p.set(x, b.y0 + dy, z);
+                BlockState bs = level.getBlockState(p);
+                blocked = !bs.isAir() && !bs.getCollisionShape(level, p).isEmpty();
+            }
+            this.ceilingBlocked = blocked;
+
+            int mineY = Integer.MIN_VALUE, floorY = Integer.MIN_VALUE;
+            if (!blocked) {
+                for (int y = b.y0 - 1; y >= minY; y--) {
+                    p.set(x, y, z);
+                    BlockState bs = level.getBlockState(p);
+                    if (floorY == Integer.MIN_VALUE && !bs.isAir()) floorY = y;
+                    if (QuarryMiningManager.shouldMine(level, bs, p)) { mineY = y; break; }
+                }
+            }
+            this.firstMineY = mineY;
+            if (blocked) this.tipY = b.y0;
+            else if (mineY != Integer.MIN_VALUE) this.tipY = mineY;
+            else this.tipY = floorY != Integer.MIN_VALUE ? floorY : b.y0;
+
+            // Riser/lip/tip span: rail down to one below the tip (slam dip)
+            this.lowY = Math.max(minY, Math.min(tipY, b.y0) - 1);
+            this.highY = b.y1;
+            this.light = new int[highY - lowY + 1];
+            for (int y = lowY; y <= highY; y++) {
+                p.set(x, y, z);
+                BlockState bs = level.getBlockState(p);
+                if (!bs.isAir() && bs.isSolidRender()) solid.set(y - lowY);
+                light[y - lowY] = packedLight(level, bs, p);
+            }
+        }
+
+        /** Same packing as LevelRenderer.getLightColor, kept free of client classes (the BE is common code). */
+        private static int packedLight(Level level, BlockState bs, BlockPos p) {
+            int sky = level.getBrightness(LightLayer.SKY, p);
+            int block = Math.max(level.getBrightness(LightLayer.BLOCK, p), bs.getLightEmission(level, p));
+            return sky << 20 | block << 4;
+        }
+
+        /** True if a riser/tip piece at y would clip into a solid block. */
+        public boolean isSolid(int y) {
+            return y >= lowY && y <= highY && solid.get(y - lowY);
+        }
+
+        /** Packed light at y (clamped to the cached span). */
+        public int light(int y) {
+            return light[Math.max(lowY, Math.min(highY, y)) - lowY];
+        }
+    }
+}
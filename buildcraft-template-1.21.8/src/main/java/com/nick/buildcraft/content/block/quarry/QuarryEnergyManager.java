@@ -26,6 +26,11 @@ public class QuarryEnergyManager {
         return qbe.energy.getEnergyStored() > 0;
     }
 
+    /** Powered well enough (tier 3 and up) to run in batched high-throughput mode. */
+    public static boolean isHighThroughput(QuarryBlockEntity qbe) {
+        return qbe.currentSpeed >= SPEED_FAST;
+    }
+
     /**
      * Update quarry speed based on energy inflow rate.
      * Called every tick to track energy changes and adjust target speed.
@@ -1,23 +1,25 @@
 package com.nick.buildcraft.content.block.quarry;
 
-import com.nick.buildcraft.content.entity.laser.LaserEntity;
 import com.nick.buildcraft.registry.ModBlocks;
-import com.nick.buildcraft.registry.ModEntities;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.Vec3i;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.phys.Vec3;
 
 import java.util.*;
 
 /**
- * Frame construction, visualization, and verification.
- * Handles progressive frame building with laser preview.
+ * Frame construction and verification.
+ * Handles progressive frame building; the outline preview while the frame is
+ * incomplete is drawn client-side by QuarryRenderer from the synced bounds.
+ *
+ * Integrity is event driven: QuarryBlockChangeListener reports every change on
+ * the frame shell (onFrameChanged), so the quarry keeps an exact set of missing
+ * positions instead of rescanning the perimeter each tick. A full scan
+ * (verifyFrame) only runs when the shell may have changed unseen: first tick
+ * after load, a shell chunk (re)loading, or the frame moving (rotation, area).
  */
 public class QuarryFrameManager {
 
@@ -30,7 +32,7 @@ public class QuarryFrameManager {
     public static boolean stepFrameBuild(QuarryBlockEntity qbe, Level level, BlockPos origin, BlockState controllerState) {
         if (qbe.frameBuildQueue.isEmpty()) {
             populateFrameQueueFromOwnBounds(qbe, level, origin, controllerState);
-            if (qbe.frameBuildQueue.isEmpty()) return verifyEdgesAreFrames(qbe);
+            if (qbe.frameBuildQueue.isEmpty()) return qbe.missingFrame.isEmpty();
         }
 
         qbe.frameTickCounter++;
@@ -40,7 +42,7 @@ public class QuarryFrameManager {
         qbe.frameTickCounter = 0;
 
         Direction facing = controllerState.getValue(QuarryBlock.FACING);
-        QuarryGeometryHelper.Bounds b = QuarryGeometryHelper.boundsForFacing(origin, facing);
+        QuarryGeometryHelper.Bounds b = qbe.getBounds();
 
         BlockState state = stateForEdgeBlock(next, b, facing);
 
@@ -50,12 +52,15 @@ public class QuarryFrameManager {
             BlockState cur = level.getBlockState(next);
             if (cur != state) level.setBlock(next, state, Block.UPDATE_CLIENTS);
         }
+        // UPDATE_CLIENTS does not notify neighbours, so record our own placement here
+        if (level.getBlockState(next).is(ModBlocks.FRAME.get())) qbe.missingFrame.remove(next);
 
-        return qbe.frameBuildQueue.isEmpty() && verifyEdgesAreFrames(qbe);
+        return qbe.frameBuildQueue.isEmpty() && qbe.missingFrame.isEmpty();
     }
 
     /**
-     * Populate the frame build queue from the quarry bounds.
+     * Populate the frame build queue with the missing frame positions (full
+     * shell scan first if the missing set is not trusted yet).
      * Implements the desired spawn pattern:
      * 1. Bottom floor: left-right alternating from front (green X) to back (purple X)
      * 2. Corner pillars: one corner at a time, bottom to top
@@ -63,12 +68,10 @@ public class QuarryFrameManager {
      */
     private static void populateFrameQueueFromOwnBounds(QuarryBlockEntity qbe, Level level, BlockPos origin, BlockState controllerState) {
         Direction facing = controllerState.getValue(QuarryBlock.FACING);
-        QuarryGeometryHelper.Bounds b = QuarryGeometryHelper.boundsForFacing(origin, facing);
+        QuarryGeometryHelper.Bounds b = qbe.getBounds();
 
-        List<BlockPos> todo = new ArrayList<>();
-        for (BlockPos p : QuarryGeometryHelper.frameEdges(b.min(), b.max())) {
-            if (!level.getBlockState(p).is(ModBlocks.FRAME.get())) todo.add(p);
-        }
+        if (qbe.frameVerifyPending) verifyFrame(qbe);
+        List<BlockPos> todo = new ArrayList<>(qbe.missingFrame);
         if (todo.isEmpty()) return;
 
         // Separate blocks into phases
@@ -295,90 +298,41 @@ public class QuarryFrameManager {
     }
 
     /**
-     * Verify that all frame edges exist and are properly constructed.
+     * Full shell scan: rebuild the quarry's missing-frame set from the world.
+     * Only needed when changes may have gone unreported (see class doc).
      */
-    public static boolean verifyEdgesAreFrames(QuarryBlockEntity qbe) {
+    public static void verifyFrame(QuarryBlockEntity qbe) {
         Level lvl = qbe.getLevel();
-        if (lvl == null) return false;
-        Direction facing = qbe.getBlockState().getValue(QuarryBlock.FACING);
-        QuarryGeometryHelper.Bounds b = QuarryGeometryHelper.boundsForFacing(qbe.getBlockPos(), facing);
+        if (lvl == null) return;
+        QuarryGeometryHelper.Bounds b = qbe.getBounds();
+        qbe.missingFrame.clear();
         for (BlockPos p : QuarryGeometryHelper.frameEdges(b.min(), b.max())) {
-            if (!lvl.getBlockState(p).is(ModBlocks.FRAME.get())) return false;
+            if (!lvl.getBlockState(p).is(ModBlocks.FRAME.get())) qbe.missingFrame.add(p);
         }
-        return true;
-    }
-
-    /**
-     * Ensure frame boundary lasers are visible during construction.
-     */
-    public static void ensurePlacementLasers(QuarryBlockEntity qbe, ServerLevel level) {
-        Direction facing = qbe.getBlockState().getValue(QuarryBlock.FACING);
-        QuarryGeometryHelper.Bounds b = QuarryGeometryHelper.boundsForFacing(qbe.getBlockPos(), facing);
-
-        double xL = b.x0 + 0.5, xR = b.x1 + 0.5;
-        double zN = b.z0 + 0.5, zS = b.z1 + 0.5;
-        double yB = b.y0 + 0.5, yT = b.y1 + 0.5;
-
-        Vec3 b00 = new Vec3(xL, yB, zN), b10 = new Vec3(xR, yB, zN),
-                b11 = new Vec3(xR, yB, zS), b01 = new Vec3(xL, yB, zS);
-        Vec3 t00 = new Vec3(xL, yT, zN), t10 = new Vec3(xR, yT, zN),
-                t11 = new Vec3(xR, yT, zS), t01 = new Vec3(xL, yT, zS);
-
-        ensureLaser(qbe, level, 0, t00, t10);
-        ensureLaser(qbe, level, 1, t10, t11);
-        ensureLaser(qbe, level, 2, t11, t01);
-        ensureLaser(qbe, level, 3, t01, t00);
-
-        ensureLaser(qbe, level, 4, b00, b10);
-        ensureLaser(qbe, level, 5, b10, b11);
-        ensureLaser(qbe, level, 6, b11, b01);
-        ensureLaser(qbe, level, 7, b01, b00);
-
-        ensureLaser(qbe, level, 8,  b00, t00);
-        ensureLaser(qbe, level, 9,  b10, t10);
-        ensureLaser(qbe, level, 10, b11, t11);
-        ensureLaser(qbe, level, 11, b01, t01);
+        qbe.frameVerifyPending = false;
     }
 
     /**
-     * Ensure a specific laser entity exists and has correct endpoints.
+     * A block on this quarry's frame shell changed (QuarryBlockChangeListener / FrameBlock removal).
+     * @return true if the frame is intact afterwards
      */
-    private static void ensureLaser(QuarryBlockEntity qbe, ServerLevel level, int idx, Vec3 a, Vec3 b) {
-        UUID id = qbe.placementLaserIds[idx];
-        LaserEntity le;
-
-        if (id == null) {
-            le = new LaserEntity(ModEntities.LASER.get(), level);
-            le.setColor(0xFF0000);
-            level.addFreshEntity(le);
-            qbe.placementLaserIds[idx] = le.getUUID();
-        } else {
-            Entity e = level.getEntity(id);
-            if (!(e instanceof LaserEntity leE) || !e.isAlive()) {
-                le = new LaserEntity(ModEntities.LASER.get(), level);
-                le.setColor(0xFF0000);
-                level.addFreshEntity(le);
-                qbe.placementLaserIds[idx] = le.getUUID();
-            } else {
-                le = leE;
-            }
-        }
-
-        le.setEndpoints(a, b);
+    public static boolean onFrameChanged(QuarryBlockEntity qbe, Level level, BlockPos pos) {
+        if (level.getBlockState(pos).is(ModBlocks.FRAME.get())) qbe.missingFrame.remove(pos);
+        else qbe.missingFrame.add(pos.immutable());
+        return qbe.missingFrame.isEmpty();
     }
 
     /**
-     * Clear all frame placement lasers.
+     * True while the frame is known intact; runs the pending full scan first if one is due.
      */
-    public static void clearPlacementLasers(QuarryBlockEntity qbe, ServerLevel level) {
-        for (int i = 0; i < qbe.placementLaserIds.length; i++) {
-            UUID id = qbe.placementLaserIds[i];
-            if (id != null) {
-                Entity e = level.getEntity(id);
-                if (e != null) e.discard();
-                qbe.placementLaserIds[i] = null;
-            }
+    public static boolean isFrameIntact(QuarryBlockEntity qbe) {
+        // A full verify is deferrable: until it runs, the event-tracked set stands
+        if (qbe.frameVerifyPending && qbe.budget.mayRun(QuarryTickBudget.Work.FRAME)) {
+            qbe.budget.begin(QuarryTickBudget.Work.FRAME);
+            verifyFrame(qbe);
+            qbe.budget.end();
         }
+        return qbe.missingFrame.isEmpty();
     }
 
     /**
@@ -0,0 +1,113 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import com.nick.buildcraft.registry.ModBlocks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Quarry GameTests (registered in ModGameTests, structures and time limits in
+ * data/buildcraft/test_instance).
+ *
+ * catchUpParity: two identical quarries over the same stone, side by side.
+ * Nobody tracks the test chunks, so one runs in catch-up mode
+ * (QuarryCatchUpMiner); the other is pinned as observed and runs the visual
+ * simulation. Both get the same energy inflow and two heads. After WINDOW
+ * ticks, blocks mined and energy used must match within tolerance; catch-up
+ * skips retract/deploy and settles in batches, so it may run a little ahead.
+ */
+public final class QuarryGameTests {
+
+    private QuarryGameTests() {}
+
+    private static final int DEPTH = 6;                     // Stone layers under each quarry (bedrock below)
+    private static final int QUARRY_Y = DEPTH + 1;          // Controller level = bottom frame level
+    private static final BlockPos CATCH_UP_POS = new BlockPos(5, QUARRY_Y, 12);
+    private static final BlockPos VISUAL_POS = new BlockPos(19, QUARRY_Y, 12);
+    private static final int HALF = 5;                      // 11x11 frame, 9x9 mined interior
+    private static final int HEIGHT = 5;
+
+    private static final int WINDOW = 1200;                 // Measured ticks (well short of digging out DEPTH layers)
+    private static final int INFLOW = 30;                   // FE offered per tick, above the worst-case drain
+    private static final int MIN_MINED = 20;                // Visual mode must get real work done in the window
+    private static final double BLOCK_TOLERANCE = 0.25;
+    private static final double ENERGY_TOLERANCE = 0.10;
+
+    public static void catchUpParity(GameTestHelper helper) {
+        for (int x = 0; x <= 24; x++) {
+            for (int z = 0; z <= 12; z++) {
+                helper.setBlock(new BlockPos(x, 0, z), Blocks.BEDROCK.defaultBlockState());
+                for (int y = 1; y <= DEPTH; y++) helper.setBlock(new BlockPos(x, y, z), Blocks.STONE.defaultBlockState());
+            }
+        }
+
+        QuarryBlockEntity catchUp = placeQuarry(helper, CATCH_UP_POS);
+        QuarryBlockEntity visual = placeQuarry(helper, VISUAL_POS);
+        visual.observed = true;
+        visual.observerCheckCooldown = Integer.MAX_VALUE;   // never re-checked: stays visual for the whole test
+
+        long[] accepted = new long[2];
+        helper.onEachTick(() -> {
+            accepted[0] += catchUp.energy.receiveEnergy(INFLOW, false);
+            accepted[1] += visual.energy.receiveEnergy(INFLOW, false);
+        });
+
+        helper.runAtTickTime(WINDOW, () -> {
+            helper.assertTrue(catchUp.catchingUp, Component.literal("Unobserved quarry did not enter catch-up mode"));
+            helper.assertFalse(visual.catchingUp, Component.literal("Observed quarry left visual mode"));
+
+            int minedCatchUp = countMined(helper.getLevel(), catchUp);
+            int minedVisual = countMined(helper.getLevel(), visual);
+            long usedCatchUp = accepted[0] - catchUp.energy.getEnergyStored();
+            long usedVisual = accepted[1] - visual.energy.getEnergyStored();
+
+            helper.assertTrue(minedVisual >= MIN_MINED,
+                    Component.literal("Visual quarry mined only " + minedVisual + " blocks"));
+            assertWithin(helper, "blocks mined", minedCatchUp, minedVisual, BLOCK_TOLERANCE);
+            assertWithin(helper, "energy used", usedCatchUp, usedVisual, ENERGY_TOLERANCE);
+            helper.succeed();
+        });
+    }
+
+    /** Quarry facing north with a prebuilt frame, two heads and an empty buffer. */
+    private static QuarryBlockEntity placeQuarry(GameTestHelper helper, BlockPos rel) {
+        BlockState state = ModBlocks.QUARRY_CONTROLLER.get().defaultBlockState().setValue(QuarryBlock.FACING, Direction.NORTH);
+        helper.setBlock(rel, state);
+        QuarryBlockEntity qbe = helper.getBlockEntity(rel, QuarryBlockEntity.class);
+        qbe.areaHalf = HALF;
+        qbe.areaHeight = HEIGHT;
+        qbe.onFrameMoved();
+
+        ServerLevel level = helper.getLevel();
+        BlockPos pos = helper.absolutePos(rel);
+        for (int i = 0; i < 10_000 && !QuarryFrameManager.stepFrameBuild(qbe, level, pos, state); i++) {}
+        qbe.frameComplete = true;
+
+        qbe.installHead();
+        return qbe;
+    }
+
+    /** Stone cells of the quarry's footprint that are gone. */
+    private static int countMined(ServerLevel level, QuarryBlockEntity qbe) {
+        QuarryGeometryHelper.Bounds b = qbe.getBounds();
+        int mined = 0;
+        for (int x = b.x0; x <= b.x1; x++) {
+            for (int z = b.z0; z <= b.z1; z++) {
+                for (int y = b.y0 - DEPTH; y < b.y0; y++) {
+                    if (!level.getBlockState(new BlockPos(x, y, z)).is(Blocks.STONE)) mined++;
+                }
+            }
+        }
+        return mined;
+    }
+
+    private static void assertWithin(GameTestHelper helper, String what, long catchUp, long visual, double tolerance) {
+        double allowed = Math.max(1.0, visual * tolerance);
+        helper.assertTrue(Math.abs(catchUp - visual) <= allowed, Component.literal(
+                what + ": catch-up " + catchUp + " vs visual " + visual + " (allowed +/-" + (long) allowed + ")"));
+    }
+}
@@ -18,7 +18,7 @@ import java.util.*;
  * - No randomness in movement calculations
  * - State transitions are explicit and logged
  * - Vertical movement always completes before horizontal traversal
- * - Obstacle scanning uses the new ObstacleScanner utility
+ * - Obstacle scanning uses the new ObstacleScanner utility, cached per layer in QuarryObstacleMap
  * - Minimal retraction height (just enough to clear obstacles)
  *
  * State machine:
@@ -110,26 +110,24 @@ public class QuarryGantryManager {
             return;
         }
 
-        // Update pathfinding if needed
-        updatePathfinding(qbe, level, b, facing, currentCell);
+        // Update pathfinding if needed (a repath waits for budget; the gantry holds still meanwhile)
+        if (!updatePathfinding(qbe, level, b, facing, currentCell)) return;
 
         // Get next position in path
         BlockPos nextPos = getNextPathPosition(qbe);
         if (nextPos == null) {
             // No path available, try to find alternative target
-            if (!findAlternativeTarget(qbe, level, b, facing, currentCell)) {
+            // PENDING: the search continues next tick, the gantry holds still meanwhile
+            if (findAlternativeTarget(qbe, level, b, facing, currentCell) == Search.NONE) {
                 transitionTo(qbe, QuarryBlockEntity.GantryMovementState.IDLE);
             }
             return;
         }
 
         // Scan for obstacles between current position and next waypoint
-        int currentDrillBase = getDrillBaseY(qbe, level, b, currentCell);
-        double requiredLift = ObstacleScanner.calculateRequiredLift(
-                level, b,
+        double requiredLift = obstacles(qbe, level, b).requiredLift(
                 currentCell.getX(), currentCell.getZ(),
-                nextPos.getX(), nextPos.getZ(),
-                currentDrillBase
+                nextPos.getX(), nextPos.getZ()
         );
 
         if (requiredLift > qbe.gantryLiftY + EPS) {
@@ -174,12 +172,9 @@ public class QuarryGantryManager {
         }
 
         // Re-scan for obstacles (might have changed during retraction)
-        int currentDrillBase = getDrillBaseY(qbe, level, b, currentCell);
-        double requiredLift = ObstacleScanner.calculateRequiredLift(
-                level, b,
+        double requiredLift = obstacles(qbe, level, b).requiredLift(
                 currentCell.getX(), currentCell.getZ(),
-                nextPos.getX(), nextPos.getZ(),
-                currentDrillBase
+                nextPos.getX(), nextPos.getZ()
         );
 
         if (requiredLift > qbe.gantryLiftY + EPS) {
@@ -214,12 +209,9 @@ public class QuarryGantryManager {
 
         // Safety check: scan from ACTUAL position to waypoint
         // This catches obstacles in the cell we're currently occupying
-        int currentDrillBase = getDrillBaseY(qbe, level, b, new BlockPos(actualCellX, b.y0, actualCellZ));
-        double requiredLift = ObstacleScanner.calculateRequiredLift(
-                level, b,
+        double requiredLift = obstacles(qbe, level, b).requiredLift(
                 actualCellX, actualCellZ,
-                nextWaypoint.getX(), nextWaypoint.getZ(),
-                currentDrillBase
+                nextWaypoint.getX(), nextWaypoint.getZ()
         );
 
         if (requiredLift > qbe.gantryLiftY + EPS) {
@@ -380,9 +372,25 @@ public class QuarryGantryManager {
     // HELPER METHODS
     // ========================================================================
 
+    /**
+     * Put the gantry straight over a column, lowered, and let the FSM take it from
+     * there (QuarryCatchUpMiner hands back to the visual simulation this way).
+     */
+    static void placeOver(QuarryBlockEntity qbe, QuarryGeometryHelper.Bounds b, BlockPos cell) {
+        double y = qbe.gantryPos != null ? qbe.gantryPos.y : b.y1 - 1 + 0.5;
+        qbe.gantryPos = new Vec3(cell.getX() + 0.5, y, cell.getZ() + 0.5);
+        qbe.gantryLiftY = 0.0;
+        qbe.targetLiftY = 0.0;
+        qbe.path.clear();
+        qbe.pathTarget = null;
+        qbe.atTarget = false;
+        transitionTo(qbe, QuarryBlockEntity.GantryMovementState.SCANNING);
+    }
+
     private static void transitionTo(QuarryBlockEntity qbe, QuarryBlockEntity.GantryMovementState newState) {
         qbe.movementState = newState;
         qbe.ticksInState = 0;
+        qbe.fullSyncPending = true; // full state goes out on transitions only; motion travels as segments
         qbe.setChanged();
     }
 
@@ -433,9 +441,21 @@ public class QuarryGantryManager {
         );
     }
 
-    private static int getDrillBaseY(QuarryBlockEntity qbe, Level level, QuarryGeometryHelper.Bounds b, BlockPos cell) {
-        int columnTop = ObstacleScanner.findColumnTop(level, b, cell.getX(), cell.getZ());
-        return Math.max(columnTop + 1, b.y0);
+    /**
+     * The quarry's obstacle heightmap for the current layer, built on first use. A new
+     * layer takes over the previous layer's map (kept current by block-change events).
+     */
+    static QuarryObstacleMap obstacles(QuarryBlockEntity qbe, Level level, QuarryGeometryHelper.Bounds b) {
+        int layer = qbe.layerY != null ? qbe.layerY : (b.y0 - 1);
+        QuarryObstacleMap map = qbe.obstacleMap;
+        if (map != null && map.layerY != layer && map.sameBounds(b)) {
+            map = map.forLayer(layer);
+            qbe.obstacleMap = map;
+        } else if (map == null || !map.matches(b, layer)) {
+            map = QuarryObstacleMap.build(level, b, layer);
+            qbe.obstacleMap = map;
+        }
+        return map;
     }
 
     private static BlockPos nearRightInterior(QuarryGeometryHelper.Bounds b, Direction facing) {
@@ -454,9 +474,10 @@ public class QuarryGantryManager {
     // PATHFINDING
     // ========================================================================
 
-    private static void updatePathfinding(QuarryBlockEntity qbe, ServerLevel level,
-                                           QuarryGeometryHelper.Bounds b, Direction facing,
-                                           BlockPos currentCell) {
+    /** @return false if a new plan is needed but has to wait for QuarryTickBudget */
+    private static boolean updatePathfinding(QuarryBlockEntity qbe, ServerLevel level,
+                                              QuarryGeometryHelper.Bounds b, Direction facing,
+                                              BlockPos currentCell) {
         boolean needPlan = false;
 
         if (qbe.pathTarget == null || !qbe.pathTarget.equals(qbe.targetCol)) {
@@ -476,10 +497,13 @@ public class QuarryGantryManager {
         }
 
         if (needPlan) {
-            qbe.path = planPath(level, b, currentCell, qbe.targetCol);
+            ArrayDeque<BlockPos> planned = budgetedPlan(qbe, level, b, currentCell, qbe.targetCol);
+            if (planned == null) return false;
+            qbe.path = planned;
             qbe.pathTarget = qbe.targetCol;
             qbe.repathCooldown = REPATHER_COOLDOWN_TICKS;
         }
+        return true;
     }
 
     private static BlockPos getNextPathPosition(QuarryBlockEntity qbe) {
@@ -489,57 +513,65 @@ public class QuarryGantryManager {
         return qbe.targetCol;
     }
 
-    private static boolean findAlternativeTarget(QuarryBlockEntity qbe, ServerLevel level,
-                                                   QuarryGeometryHelper.Bounds b, Direction facing,
-                                                   BlockPos currentCell) {
+    private enum Search { FOUND, NONE, PENDING }
+
+    /**
+     * The target is unreachable: pick another one with a path. Every A* plan of the
+     * search is charged to PATHING; once the budget runs out the search keeps its
+     * place (altSearch* on the block entity) and resumes on a later tick.
+     */
+    private static Search findAlternativeTarget(QuarryBlockEntity qbe, ServerLevel level,
+                                                QuarryGeometryHelper.Bounds b, Direction facing,
+                                                BlockPos currentCell) {
+        if (!currentCell.equals(qbe.altSearchFrom) || !qbe.targetCol.equals(qbe.altSearchGoal)) {
+            qbe.altSearchFrom = currentCell;
+            qbe.altSearchGoal = qbe.targetCol;
+            qbe.altSearchPos = -1;
+        }
+
         // Mark current target as temporarily unreachable
         long now = level.getGameTime();
         pruneTempSkip(qbe, now);
         qbe.tempSkip.put(qbe.targetCol.immutable(), now + UNREACHABLE_TTL);
+        int miningY = qbe.layerY != null ? qbe.layerY : (b.y0 - 1);
 
         // Try zigzag forward first
-        int miningY = qbe.layerY != null ? qbe.layerY : (b.y0 - 1);
-        BlockPos zigzagNext = QuarryMiningManager.findNextOnLayerForward(
-                level, b, facing, qbe.targetCol, miningY, qbe);
+        if (qbe.altSearchPos < 0) {
+            BlockPos zigzagNext = QuarryMiningManager.findNextOnLayerForward(
+                    level, b, facing, qbe.targetCol, miningY, qbe);
 
-        while (zigzagNext != null && isSkipped(qbe, zigzagNext, now)) {
-            zigzagNext = QuarryMiningManager.findNextOnLayerForward(
-                    level, b, facing, zigzagNext, miningY, qbe);
-        }
+            while (zigzagNext != null && isSkipped(qbe, zigzagNext, now)) {
+                zigzagNext = QuarryMiningManager.findNextOnLayerForward(
+                        level, b, facing, zigzagNext, miningY, qbe);
+            }
 
-        if (zigzagNext != null) {
-            BlockPos newTarget = new BlockPos(zigzagNext.getX(), b.y0, zigzagNext.getZ());
-            ArrayDeque<BlockPos> testPath = planPath(level, b, currentCell, newTarget);
-            if (!testPath.isEmpty()) {
-                qbe.targetCol = newTarget;
-                qbe.path = testPath;
-                qbe.pathTarget = newTarget;
-                return true;
+            if (zigzagNext != null) {
+                BlockPos newTarget = new BlockPos(zigzagNext.getX(), b.y0, zigzagNext.getZ());
+                ArrayDeque<BlockPos> testPath = budgetedPlan(qbe, level, b, currentCell, newTarget);
+                if (testPath == null) return Search.PENDING;
+                if (!testPath.isEmpty()) return found(qbe, newTarget, testPath);
             }
+            qbe.altSearchPos = 0;
         }
 
         // Expanding ring search for any reachable block
-        BlockPos closest = findClosestReachable(level, b, currentCell, qbe, now, miningY);
-        if (closest != null) {
-            qbe.targetCol = closest;
-            qbe.path = planPath(level, b, currentCell, closest);
-            qbe.pathTarget = closest;
-            return true;
-        }
-
-        return false;
+        return findClosestReachable(level, b, currentCell, qbe, now, miningY);
     }
 
-    private static BlockPos findClosestReachable(ServerLevel level, QuarryGeometryHelper.Bounds b,
-                                                   BlockPos start, QuarryBlockEntity qbe,
-                                                   long now, int miningY) {
+    /** Ring search around start, resumed from qbe.altSearchPos (loop positions, filtered or not). */
+    private static Search findClosestReachable(ServerLevel level, QuarryGeometryHelper.Bounds b,
+                                               BlockPos start, QuarryBlockEntity qbe,
+                                               long now, int miningY) {
         int xMin = b.x0 + 1, xMax = b.x1 - 1;
         int zMin = b.z0 + 1, zMax = b.z1 - 1;
         int maxRadius = Math.max(xMax - xMin, zMax - zMin);
+        QuarryObstacleMap obstacles = obstacles(qbe, level, b);
 
+        int pos = 0;
         for (int radius = 1; radius <= maxRadius; radius++) {
             for (int dx = -radius; dx <= radius; dx++) {
                 for (int dz = -radius; dz <= radius; dz++) {
+                    if (pos++ < qbe.altSearchPos) continue;
                     if (Math.abs(dx) + Math.abs(dz) != radius) continue;
 
                     int x = start.getX() + dx;
@@ -549,115 +581,50 @@ public class QuarryGantryManager {
 
                     BlockPos candidate = new BlockPos(x, b.y0, z);
                     if (isSkipped(qbe, candidate, now)) continue;
-                    if (ObstacleScanner.isColumnBlockedAtCeiling(level, b, x, z)) continue;
+                    if (obstacles.isBlockedAtCeiling(x, z)) continue;
 
                     BlockPos minePos = new BlockPos(x, miningY, z);
                     if (level.isEmptyBlock(minePos)) continue;
                     if (!QuarryMiningManager.shouldMine(level, minePos)) continue;
 
-                    ArrayDeque<BlockPos> testPath = planPath(level, b, start, candidate);
-                    if (!testPath.isEmpty()) {
-                        return candidate;
+                    ArrayDeque<BlockPos> testPath = budgetedPlan(qbe, level, b, start, candidate);
+                    if (testPath == null) {
+                        qbe.altSearchPos = pos - 1; // this candidate is planned first next time
+                        return Search.PENDING;
                     }
+                    if (!testPath.isEmpty()) return found(qbe, candidate, testPath);
                 }
             }
         }
-        return null;
+        qbe.altSearchFrom = null;
+        return Search.NONE;
     }
 
-    /**
-     * A* pathfinding implementation.
-     */
-    private static ArrayDeque<BlockPos> planPath(ServerLevel level, QuarryGeometryHelper.Bounds b,
-                                                   BlockPos start, BlockPos goal) {
-        ArrayDeque<BlockPos> empty = new ArrayDeque<>();
-
-        if (start == null || goal == null) return empty;
-
-        int xMin = b.x0 + 1, xMax = b.x1 - 1;
-        int zMin = b.z0 + 1, zMax = b.z1 - 1;
-
-        // Validate goal is within bounds
-        if (goal.getX() < xMin || goal.getX() > xMax ||
-            goal.getZ() < zMin || goal.getZ() > zMax) {
-            return empty;
-        }
-
-        // Skip if goal column is impassable
-        if (ObstacleScanner.isColumnImpassable(level, b, goal.getX(), goal.getZ(), b.y0)) {
-            return empty;
-        }
-
-        record Node(int x, int z) {}
-
-        Map<Node, Integer> g = new HashMap<>();
-        Map<Node, Integer> f = new HashMap<>();
-        Map<Node, Node> came = new HashMap<>();
-        PriorityQueue<Node> open = new PriorityQueue<>(
-                Comparator.comparingInt(n -> f.getOrDefault(n, Integer.MAX_VALUE)));
-
-        Node s = new Node(start.getX(), start.getZ());
-        Node t = new Node(goal.getX(), goal.getZ());
-
-        g.put(s, 0);
-        f.put(s, manhattanDistance(s, t));
-        open.add(s);
-
-        int[][] directions = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
-
-        while (!open.isEmpty()) {
-            Node current = open.poll();
-
-            if (current.equals(t)) {
-                // Reconstruct path
-                ArrayDeque<BlockPos> path = new ArrayDeque<>();
-                Node node = t;
-                while (!node.equals(s)) {
-                    path.addFirst(new BlockPos(node.x, b.y0, node.z));
-                    node = came.get(node);
-                    if (node == null) {
-                        return empty; // Path reconstruction failed
-                    }
-                }
-                return path;
-            }
-
-            int currentG = g.get(current);
-
-            for (int[] dir : directions) {
-                int nx = current.x + dir[0];
-                int nz = current.z + dir[1];
-
-                // Bounds check
-                if (nx < xMin || nx > xMax || nz < zMin || nz > zMax) continue;
-
-                // Skip impassable columns
-                if (ObstacleScanner.isColumnImpassable(level, b, nx, nz, b.y0)) continue;
-
-                Node neighbor = new Node(nx, nz);
-                int tentativeG = currentG + 1;
-
-                if (tentativeG < g.getOrDefault(neighbor, Integer.MAX_VALUE)) {
-                    came.put(neighbor, current);
-                    g.put(neighbor, tentativeG);
-                    f.put(neighbor, tentativeG + manhattanDistance(neighbor, t));
-
-                    // Update priority queue
-                    open.remove(neighbor);
-                    open.add(neighbor);
-                }
-            }
-        }
+    private static Search found(QuarryBlockEntity qbe, BlockPos target, ArrayDeque<BlockPos> path) {
+        qbe.targetCol = target;
+        qbe.path = path;
+        qbe.pathTarget = target;
+        qbe.altSearchFrom = null;
+        return Search.FOUND;
+    }
 
-        return empty; // No path found
+    /** One A* plan charged to PATHING; null if the budget is spent for this tick. */
+    private static ArrayDeque<BlockPos> budgetedPlan(QuarryBlockEntity qbe, Level level, QuarryGeometryHelper.Bounds b,
+                                                     BlockPos start, BlockPos goal) {
+        if (!qbe.budget.mayRun(QuarryTickBudget.Work.PATHING)) return null;
+        qbe.budget.begin(QuarryTickBudget.Work.PATHING);
+        ArrayDeque<BlockPos> path = planPath(qbe, level, b, start, goal);
+        qbe.budget.end();
+        return path;
     }
 
-    private static int manhattanDistance(Object n1, Object n2) {
-        record Node(int x, int z) {}
-        if (n1 instanceof Node a && n2 instanceof Node b) {
-            return Math.abs(a.x - b.x) + Math.abs(a.z - b.z);
-        }
-        return 0;
+    /**
+     * A* pathfinding over the interior grid (QuarryPathPlanner, arrays reused per quarry).
+     * Passability comes from the quarry's obstacle heightmap (one array read per expansion).
+     */
+    private static ArrayDeque<BlockPos> planPath(QuarryBlockEntity qbe, Level level, QuarryGeometryHelper.Bounds b,
+                                                   BlockPos start, BlockPos goal) {
+        return qbe.pathPlanner.plan(obstacles(qbe, level, b), b, start, goal);
     }
 
     private static void pruneTempSkip(QuarryBlockEntity qbe, long now) {
@@ -670,10 +637,55 @@ public class QuarryGantryManager {
         return until != null && until > now;
     }
 
+    // ========================================================================
+    // CLIENT MOTION
+    // ========================================================================
+
+    /**
+     * The move the gantry is making in its current state, as the client should
+     * extrapolate it from 'now'. Mirrors the step sizes the state handlers use.
+     */
+    static QuarryMotionSegment motionSegment(QuarryBlockEntity qbe, long now) {
+        if (qbe.gantryPos == null) return null;
+
+        double x = qbe.gantryPos.x, z = qbe.gantryPos.z, lift = qbe.gantryLiftY;
+        float step = (float) (GANTRY_STEP_BASE * QuarryEnergyManager.getCurrentSpeed(qbe));
+        float liftStep = (float) (step / VERTICAL_STEP_DIVISOR);
+
+        return switch (qbe.movementState) {
+            case TRAVERSING -> {
+                BlockPos wp = getNextPathPosition(qbe);
+                if (wp == null) yield QuarryMotionSegment.still(x, z, lift, now, qbe.atTarget, qbe.drillTicks);
+                yield new QuarryMotionSegment(x, z, lift, wp.getX() + 0.5, wp.getZ() + 0.5, lift,
+                        step, 0f, now, qbe.atTarget, qbe.drillTicks);
+            }
+            case CENTERING -> {
+                if (qbe.targetCol == null) yield QuarryMotionSegment.still(x, z, lift, now, qbe.atTarget, qbe.drillTicks);
+                yield new QuarryMotionSegment(x, z, lift, qbe.targetCol.getX() + 0.5, qbe.targetCol.getZ() + 0.5, lift,
+                        step * 0.5f, 0f, now, qbe.atTarget, qbe.drillTicks);
+            }
+            case RETRACTING -> new QuarryMotionSegment(x, z, lift, x, z, qbe.targetLiftY,
+                    0f, liftStep, now, qbe.atTarget, qbe.drillTicks);
+            case DEPLOYING -> new QuarryMotionSegment(x, z, lift, x, z, 0.0,
+                    0f, liftStep, now, qbe.atTarget, qbe.drillTicks);
+            default -> QuarryMotionSegment.still(x, z, lift, now, qbe.atTarget, qbe.drillTicks);
+        };
+    }
+
     // ========================================================================
     // PUBLIC API (for other managers)
     // ========================================================================
 
+    /** Horizontal gantry travel per tick at the current speed (extra heads move at the same rate). */
+    static double horizontalStep(QuarryBlockEntity qbe) {
+        return GANTRY_STEP_BASE * QuarryEnergyManager.getCurrentSpeed(qbe);
+    }
+
+    /** Vertical gantry travel per tick at the current speed (extra heads lift at the same rate). */
+    static double verticalStep(QuarryBlockEntity qbe) {
+        return horizontalStep(qbe) / VERTICAL_STEP_DIVISOR;
+    }
+
     /**
      * Check if a column is blocked at ceiling level.
      * Used by QuarryMiningManager and QuarrySweepManager.
@@ -682,6 +694,11 @@ public class QuarryGantryManager {
         return ObstacleScanner.isColumnBlockedAtCeiling(level, b, x, z);
     }
 
+    /** Same check answered from the quarry's cached obstacle heightmap (server side). */
+    public static boolean columnBlockedAtCeiling(QuarryBlockEntity qbe, Level level, QuarryGeometryHelper.Bounds b, int x, int z) {
+        return obstacles(qbe, level, b).isBlockedAtCeiling(x, z);
+    }
+
     /**
      * Find the top Y of obstacles in a column.
      * Used by QuarryRenderer for drill positioning.
@@ -1,5 +1,6 @@
 package com.nick.buildcraft.content.block.quarry;
 
+import com.nick.buildcraft.Config;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 
@@ -12,20 +13,38 @@ import java.util.List;
  */
 public class QuarryGeometryHelper {
 
-    private static final int HALF = 5;    // 11x11 interior including frame
-    private static final int HEIGHT = 5;  // gantry height above controller
+    public static final int DEFAULT_HALF = 5;    // 11x11 including frame (pre-config quarries)
+    public static final int DEFAULT_HEIGHT = 5;  // gantry height above controller
+    public static final int MAX_HALF = 64;       // 129x129 including frame
 
+    /** Half-size for a newly placed quarry (Config "quarry.size"). */
+    public static int configuredHalf() {
+        if (!Config.SPEC.isLoaded()) return DEFAULT_HALF;
+        return Math.min(MAX_HALF, Config.QUARRY_SIZE.get() / 2);
+    }
+
+    /** Frame height for a newly placed quarry (Config "quarry.frameHeight"). */
+    public static int configuredHeight() {
+        if (!Config.SPEC.isLoaded()) return DEFAULT_HEIGHT;
+        return Config.QUARRY_FRAME_HEIGHT.get();
+    }
+
+    /** Bounds for a quarry of the configured size. Prefer QuarryBlockEntity.getBounds() once the BE exists. */
     public static Bounds boundsForFacing(BlockPos pos, Direction facing) {
-        final int size = 2 * HALF + 1;
+        return boundsForFacing(pos, facing, configuredHalf(), configuredHeight());
+    }
+
+    public static Bounds boundsForFacing(BlockPos pos, Direction facing, int half, int height) {
+        final int size = 2 * half + 1;
         int x0, x1, z0, z1;
-        int y0 = pos.getY(), y1 = pos.getY() + HEIGHT;
+        int y0 = pos.getY(), y1 = pos.getY() + height;
 
         switch (facing) {
-            case NORTH -> { x0 = pos.getX() - HALF; x1 = pos.getX() + HALF; z0 = pos.getZ() - size; z1 = pos.getZ() - 1; }
-            case SOUTH -> { x0 = pos.getX() - HALF; x1 = pos.getX() + HALF; z0 = pos.getZ() + 1;    z1 = pos.getZ() + size; }
-            case WEST  -> { x0 = pos.getX() - size; x1 = pos.getX() - 1;    z0 = pos.getZ() - HALF; z1 = pos.getZ() + HALF; }
-            case EAST  -> { x0 = pos.getX() + 1;    x1 = pos.getX() + size; z0 = pos.getZ() - HALF; z1 = pos.getZ() + HALF; }
-            default    -> { x0 = pos.getX() - HALF; x1 = pos.getX() + HALF; z0 = pos.getZ() - size; z1 = pos.getZ() - 1; }
+            case NORTH -> { x0 = pos.getX() - half; x1 = pos.getX() + half; z0 = pos.getZ() - size; z1 = pos.getZ() - 1; }
+            case SOUTH -> { x0 = pos.getX() - half; x1 = pos.getX() + half; z0 = pos.getZ() + 1;    z1 = pos.getZ() + size; }
+            case WEST  -> { x0 = pos.getX() - size; x1 = pos.getX() - 1;    z0 = pos.getZ() - half; z1 = pos.getZ() + half; }
+            case EAST  -> { x0 = pos.getX() + 1;    x1 = pos.getX() + size; z0 = pos.getZ() - half; z1 = pos.getZ() + half; }
+            default    -> { x0 = pos.getX() - half; x1 = pos.getX() + half; z0 = pos.getZ() - size; z1 = pos.getZ() - 1; }
         }
         return new Bounds(x0, y0, z0, x1, y1, z1);
     }
@@ -56,6 +75,17 @@ public class QuarryGeometryHelper {
 
     public static int floor(double d) { return (int) Math.floor(d); }
 
+    /** True if p is one of the frameEdges of b (on at least two of the box's faces). */
+    public static boolean isFrameEdge(Bounds b, BlockPos p) {
+        int x = p.getX(), y = p.getY(), z = p.getZ();
+        if (x < b.x0 || x > b.x1 || y < b.y0 || y > b.y1 || z < b.z0 || z > b.z1) return false;
+        int faces = 0;
+        if (x == b.x0 || x == b.x1) faces++;
+        if (y == b.y0 || y == b.y1) faces++;
+        if (z == b.z0 || z == b.z1) faces++;
+        return faces >= 2;
+    }
+
     /**
      * Tiny bounds record for efficient spatial queries.
      */
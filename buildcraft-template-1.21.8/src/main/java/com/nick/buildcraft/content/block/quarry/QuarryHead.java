@@ -0,0 +1,55 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import net.minecraft.core.BlockPos;
+
+/**
+ * One extra mining head of an upgraded quarry (the main gantry is head 0 and
+ * keeps living in QuarryBlockEntity's own fields).
+ *
+ * Extra heads travel in a straight line to their target: they first rise to
+ * the lift that line needs over the quarry's QuarryObstacleMap, cross at that
+ * height, settle onto the target column, drill, and move on. Target
+ * selection, energy and the world mining budget are handled by
+ * QuarryHeadManager.
+ *
+ * Position is not saved: heads re-home to their stripe on load.
+ */
+public final class QuarryHead {
+
+    /** Stripe of the layer (sweep index range) this head owns, 1..heads-1. */
+    public final int stripe;
+
+    // Server state
+    public double x, z;                 // Column center the head is at
+    public double lift = 0.0;           // Height above the frame floor, same meaning as the main gantry's lift
+    double toLift = 0.0;                // Lift being moved to (rise before crossing, settle on arrival)
+    public BlockPos target = null;      // Block being approached / drilled (at layer Y)
+    BlockPos drillPos = null;           // Block under the drill: blocks above the layer in the column first, then target
+    public boolean atTarget = false;
+    public int drillTicks = 0;
+    QuarryLayerMask maskSeen = null;    // Mask the last target came from (new layer -> restart the stripe)
+    QuarryMotionSegment lastSentMotion = null;
+
+    // Client state
+    public QuarryMotionSegment clientMotion = null;
+    public double prevX, prevZ, prevLift;
+
+    QuarryHead(int stripe, double x, double z) {
+        this.stripe = stripe;
+        this.x = this.prevX = x;
+        this.z = this.prevZ = z;
+    }
+
+    /** Forget the current target (power loss, frame broken, new layer). */
+    void reset() {
+        target = null;
+        drillPos = null;
+        atTarget = false;
+        drillTicks = 0;
+        maskSeen = null;
+    }
+
+    boolean isOn(int cx, int cz) {
+        return target != null && target.getX() == cx && target.getZ() == cz;
+    }
+}
@@ -0,0 +1,222 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import com.nick.buildcraft.energy.Energy;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+
+/**
+ * Extra mining heads for quarries fitted with head upgrades (2-4 heads per frame).
+ *
+ * The layer mask's sweep order is cut into 'heads' contiguous stripes. Head 0
+ * (the main gantry) starts at the beginning of the layer as always; extra head
+ * k starts at stripe k and only ever takes targets from it. When the main head
+ * runs into a stripe that is still being worked, the two simply share it: each
+ * head skips the cells the others are on.
+ *
+ * Everything else is shared with the main head:
+ * - one energy buffer (each drill step draws QUARRY_DRAIN_PER_TICK from it)
+ * - the world's QuarryBalancer tokens and the quarry's mining phase
+ * - the per-layer mask and obstacle map, the output buffer and one motion packet
+ *   stream (QuarryMotionPayload carries the head index)
+ */
+public final class QuarryHeadManager {
+
+    private QuarryHeadManager() {}
+
+    public static final int MAX_HEADS = 4;
+
+    private static final double LIFT_EPS = 0.001;
+
+    /** Make qbe.heads match qbe.headCount (extra heads park at the interior center). */
+    static void ensureHeads(QuarryBlockEntity qbe, QuarryGeometryHelper.Bounds b) {
+        int extra = Mth.clamp(qbe.headCount, 1, MAX_HEADS) - 1;
+        while (qbe.heads.size() > extra) qbe.heads.remove(qbe.heads.size() - 1);
+        while (qbe.heads.size() < extra) {
+            double cx = (b.x0 + b.x1) / 2.0 + 0.5;
+            double cz = (b.z0 + b.z1) / 2.0 + 0.5;
+            qbe.heads.add(new QuarryHead(qbe.heads.size() + 1, cx, cz));
+        }
+    }
+
+    /**
+     * Server tick for the extra heads: movement every tick, drilling only when
+     * the quarry itself is allowed to mine this tick.
+     */
+    public static void tickHeads(QuarryBlockEntity qbe, ServerLevel level, boolean mayMine) {
+        if (qbe.headCount <= 1 && qbe.heads.isEmpty()) return;
+
+        QuarryGeometryHelper.Bounds b = qbe.getBounds();
+        ensureHeads(qbe, b);
+        if (qbe.heads.isEmpty() || qbe.layerY == null || qbe.layerY < level.getMinY()) return;
+
+        QuarryLayerMask mask = QuarryMiningManager.layerMask(qbe, level, b, qbe.getFacing(), qbe.layerY);
+        QuarryObstacleMap obstacles = QuarryGantryManager.obstacles(qbe, level, b);
+        double step = QuarryGantryManager.horizontalStep(qbe);
+        double liftStep = QuarryGantryManager.verticalStep(qbe);
+
+        for (QuarryHead h : qbe.heads) {
+            // New layer: restart at the beginning of the stripe (the main head skips claimed
+            // cells, so a block still under a head from the previous layer is finished first)
+            if (h.maskSeen != mask && !isFinishingOldLayer(qbe, level, h)) {
+                h.reset();
+                pickTarget(qbe, level, mask, obstacles, h, null);
+            }
+            if (h.target == null) continue; // stripe finished for this layer
+
+            if (!h.atTarget) {
+                travel(h, b, obstacles, step, liftStep);
+                continue;
+            }
+
+            if (mayMine) drill(qbe, level, b, mask, obstacles, h);
+        }
+    }
+
+    private static boolean isFinishingOldLayer(QuarryBlockEntity qbe, ServerLevel level, QuarryHead h) {
+        return h.target != null && h.target.getY() != qbe.layerY && QuarryMiningManager.shouldMine(level, h.target);
+    }
+
+    /**
+     * One tick toward the target: rise to the lift the straight line from here
+     * needs (QuarryObstacleMap.requiredLift, never lower while crossing), cross,
+     * then settle to the target column's own lift and start drilling.
+     */
+    private static void travel(QuarryHead h, QuarryGeometryHelper.Bounds b, QuarryObstacleMap obstacles,
+                               double step, double liftStep) {
+        int tx = h.target.getX(), tz = h.target.getZ();
+        double cx = tx + 0.5, cz = tz + 0.5;
+        boolean over = isOver(h);
+
+        h.toLift = over
+                ? obstacles.requiredLift(tx, tz, tx, tz)
+                : Math.max(h.lift, obstacles.requiredLift(Mth.floor(h.x), Mth.floor(h.z), tx, tz));
+
+        if (Math.abs(h.toLift - h.lift) > LIFT_EPS) {
+            h.lift += Mth.clamp(h.toLift - h.lift, -liftStep, liftStep);
+            return;
+        }
+        h.lift = h.toLift;
+
+        if (over) {
+            h.atTarget = true;
+            return;
+        }
+        moveToward(h, b, cx, cz, step);
+    }
+
+    private static boolean isOver(QuarryHead h) {
+        return Math.abs(h.target.getX() + 0.5 - h.x) < 1.0e-3 && Math.abs(h.target.getZ() + 0.5 - h.z) < 1.0e-3;
+    }
+
+    private static void moveToward(QuarryHead h, QuarryGeometryHelper.Bounds b, double tx, double tz, double step) {
+        double dx = tx - h.x, dz = tz - h.z;
+        double dist = Math.sqrt(dx * dx + dz * dz);
+        if (dist <= step || dist < 1.0e-3) {
+            h.x = tx;
+            h.z = tz;
+            return;
+        }
+        h.x = Mth.clamp(h.x + dx / dist * step, b.x0 + 1 + 0.01, b.x1 - 1 + 0.99);
+        h.z = Mth.clamp(h.z + dz / dist * step, b.z0 + 1 + 0.01, b.z1 - 1 + 0.99);
+    }
+
+    private static void drill(QuarryBlockEntity qbe, ServerLevel level, QuarryGeometryHelper.Bounds b,
+                              QuarryLayerMask mask, QuarryObstacleMap obstacles, QuarryHead h) {
+        // Same column order as the main head: blocks above the layer come out first, so a
+        // head never undercuts what the main head would still have to clear
+        BlockPos p = h.drillPos;
+        if (p == null || !QuarryMiningManager.shouldMine(level, p)) {
+            p = QuarryMiningManager.nextInColumn(level, b, h.target);
+            h.drillPos = p;
+            h.drillTicks = 0;
+        }
+        if (!QuarryMiningManager.shouldMine(level, p)) {
+            pickTarget(qbe, level, mask, obstacles, h, h.target); // someone else got it first
+            return;
+        }
+
+        // Shared buffer: a head only makes progress while the quarry can pay for it
+        int drain = Energy.QUARRY_DRAIN_PER_TICK;
+        if (qbe.energy.extractEnergy(drain, true) < drain) return;
+        qbe.energy.extractEnergy(drain, false);
+
+        if (++h.drillTicks < QuarryMiningManager.MINE_TICKS_PER_BLOCK) return;
+        if (!QuarryBalancer.tryConsumeToken(level)) {
+            h.drillTicks = QuarryMiningManager.MINE_TICKS_PER_BLOCK - 1; // finish on the next phase with a token
+            return;
+        }
+
+        QuarryOutputManager.mineOneBlockToQueue(qbe, level, qbe.getBlockPos(), p);
+        h.drillPos = null;
+        h.drillTicks = 0;
+        if (!p.equals(h.target)) return; // stay on the column until the layer cell itself is gone
+        pickTarget(qbe, level, mask, obstacles, h, p);
+    }
+
+    /** Next free cell of this head's stripe after 'from' (null or another layer = stripe start). */
+    private static void pickTarget(QuarryBlockEntity qbe, ServerLevel level, QuarryLayerMask mask,
+                                   QuarryObstacleMap obstacles, QuarryHead h, BlockPos from) {
+        if (from != null && from.getY() != qbe.layerY) from = null;
+        int n = Mth.clamp(qbe.headCount, 1, MAX_HEADS);
+        int size = mask.size();
+        int lo = (int) ((long) size * h.stripe / n);
+        int hi = (int) ((long) size * (h.stripe + 1) / n);
+
+        BlockPos next = mask.next(level, obstacles, from, lo, hi);
+        while (next != null && isClaimed(qbe, h, next)) {
+            next = mask.next(level, obstacles, next, lo, hi);
+        }
+
+        h.maskSeen = mask;
+        h.target = next;
+        h.drillPos = null;
+        h.atTarget = false;
+        h.drillTicks = 0;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Claims                                                                 */
+    /* ---------------------------------------------------------------------- */
+
+    /** True if an extra head is working this column (the main head skips it). */
+    public static boolean isClaimedByHead(QuarryBlockEntity qbe, BlockPos cell) {
+        for (QuarryHead h : qbe.heads) {
+            if (h.isOn(cell.getX(), cell.getZ())) return true;
+        }
+        return false;
+    }
+
+    private static boolean isClaimed(QuarryBlockEntity qbe, QuarryHead self, BlockPos cell) {
+        if (qbe.targetCol != null && qbe.targetCol.getX() == cell.getX() && qbe.targetCol.getZ() == cell.getZ()) {
+            return true;
+        }
+        for (QuarryHead h : qbe.heads) {
+            if (h != self && h.isOn(cell.getX(), cell.getZ())) return true;
+        }
+        return false;
+    }
+
+    /** Park every extra head (power loss, frame broken). */
+    static void resetAll(QuarryBlockEntity qbe) {
+        for (QuarryHead h : qbe.heads) h.reset();
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Client motion                                                          */
+    /* ---------------------------------------------------------------------- */
+
+    /** The head's move as the client should extrapolate it from 'now'. */
+    static QuarryMotionSegment motionSegment(QuarryBlockEntity qbe, QuarryHead h, long now) {
+        if (h.target == null || h.atTarget) {
+            return QuarryMotionSegment.still(h.x, h.z, h.lift, now, h.atTarget, h.drillTicks);
+        }
+        if (Math.abs(h.toLift - h.lift) > LIFT_EPS) {
+            // Rising before the cross or settling on the target: vertical only
+            return new QuarryMotionSegment(h.x, h.z, h.lift, h.x, h.z, h.toLift,
+                    0f, (float) QuarryGantryManager.verticalStep(qbe), now, false, 0);
+        }
+        return new QuarryMotionSegment(h.x, h.z, h.lift, h.target.getX() + 0.5, h.target.getZ() + 0.5, h.lift,
+                (float) QuarryGantryManager.horizontalStep(qbe), 0f, now, false, 0);
+    }
+}
@@ -0,0 +1,276 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import com.nick.buildcraft.registry.ModBlocks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mineable cells of ONE quarry layer, indexed in the layer's boustrophedon order.
+ *
+ * Bit i = i-th cell of the sweep (row by row, alternating column direction), so
+ * "next target after X" is a single BitSet.nextSetBit instead of a cell-by-cell
+ * walk with a getBlockState per cell.
+ *
+ * Built straight from the LevelChunkSection of each chunk the layer crosses:
+ * - all-air sections are skipped in O(1)
+ * - sections whose palette holds nothing mineable are skipped in O(palette)
+ * - only the remaining sections read their cells
+ *
+ * Masks of the next few layers are usually built ahead of time from section
+ * copies on a worker (QuarryLayerPlanner), so a new layer starts without a scan.
+ *
+ * Kept in sync by QuarryBlockChangeListener (one bit per block change). Bits are
+ * re-checked when they are handed out, so a missed update can only cost one
+ * extra lookup, never a wrong target.
+ */
+public final class QuarryLayerMask {
+
+    final int y;
+    final Direction facing;
+    final boolean leftToRight;
+    final boolean startAtTop;
+
+    private final int xMin, xMax, zMin, zMax;
+    private final boolean rowsAreZ;
+    private final int rowMin, rowMax, colMin, colMax;
+    private final int startRow, stepRow, cols;
+    private final boolean lrTrueIsInc;
+    private final BitSet bits;
+
+    QuarryLayerMask(QuarryGeometryHelper.Bounds b, Direction facing, int y, boolean leftToRight, boolean startAtTop) {
+        this.y = y;
+        this.facing = facing;
+        this.leftToRight = leftToRight;
+        this.startAtTop = startAtTop;
+
+        this.xMin = b.x0 + 1; this.xMax = b.x1 - 1;
+        this.zMin = b.z0 + 1; this.zMax = b.z1 - 1;
+
+        this.rowsAreZ = (facing == Direction.NORTH || facing == Direction.SOUTH);
+        this.rowMin = rowsAreZ ? zMin : xMin;
+        this.rowMax = rowsAreZ ? zMax : xMax;
+        this.colMin = rowsAreZ ? xMin : zMin;
+        this.colMax = rowsAreZ ? xMax : zMax;
+
+        // Same start row / column direction rules as the original forward scan
+        this.startRow = switch (facing) {
+            case NORTH -> (startAtTop ? zMin : zMax);
+            case SOUTH -> (startAtTop ? zMax : zMin);
+            case EAST  -> (startAtTop ? xMax : xMin);
+            case WEST  -> (startAtTop ? xMin : xMax);
+            default    -> (startAtTop ? zMin : zMax);
+        };
+        this.stepRow = (startRow == rowMin) ? +1 : -1;
+        this.cols = colMax - colMin + 1;
+
+        // For NORTH/EAST: lr==true means increasing columns; for SOUTH/WEST it's inverted
+        this.lrTrueIsInc = (facing == Direction.NORTH || facing == Direction.EAST);
+
+        this.bits = new BitSet(Math.max(0, (rowMax - rowMin + 1) * cols));
+    }
+
+    /** True if this mask was built for exactly this layer and sweep orientation. */
+    public boolean matches(Direction facing, int y, boolean leftToRight, boolean startAtTop) {
+        return this.y == y && this.facing == facing
+                && this.leftToRight == leftToRight && this.startAtTop == startAtTop;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Build                                                                  */
+    /* ---------------------------------------------------------------------- */
+
+    public static QuarryLayerMask build(Level level, QuarryGeometryHelper.Bounds b, Direction facing,
+                                        int y, boolean leftToRight, boolean startAtTop) {
+        QuarryLayerMask mask = new QuarryLayerMask(b, facing, y, leftToRight, startAtTop);
+        if (mask.xMin > mask.xMax || mask.zMin > mask.zMax) return mask;
+        if (y < level.getMinY() || y > level.getMaxY()) return mask;
+
+        BlockPos.MutableBlockPos p = new BlockPos.MutableBlockPos();
+        for (int cx = mask.xMin >> 4; cx <= mask.xMax >> 4; cx++) {
+            for (int cz = mask.zMin >> 4; cz <= mask.zMax >> 4; cz++) {
+                LevelChunk chunk = level.getChunk(cx, cz);
+                LevelChunkSection section = chunk.getSection(chunk.getSectionIndex(y));
+
+                // 🔥 whole 16x16 patch of this layer skipped without touching a single cell
+                if (section.hasOnlyAir()) continue;
+                if (!section.getStates().maybeHas(QuarryLayerMask::mayBeMineable)) continue;
+
+                int x0 = Math.max(mask.xMin, cx << 4), x1 = Math.min(mask.xMax, (cx << 4) + 15);
+                int z0 = Math.max(mask.zMin, cz << 4), z1 = Math.min(mask.zMax, (cz << 4) + 15);
+                for (int z = z0; z <= z1; z++) {
+                    for (int x = x0; x <= x1; x++) {
+                        BlockState bs = section.getBlockState(x & 15, y & 15, z & 15);
+                        if (!mayBeMineable(bs)) continue;
+                        p.set(x, y, z);
+                        if (QuarryMiningManager.shouldMine(level, bs, p)) {
+                            mask.bits.set(mask.index(x, z));
+                        }
+                    }
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Same as build(), from section copies taken on the server thread by QuarryLayerPlanner
+     * (keyed by SectionPos.asLong; a missing section holds nothing mineable). Touches no
+     * Level, so it is safe on a worker. The destroy speed is read without the world around
+     * the block, which is exact for vanilla blocks; the planner replays later changes and
+     * next() re-checks every bit it hands out.
+     */
+    static QuarryLayerMask plan(QuarryGeometryHelper.Bounds b, Direction facing, int y, boolean leftToRight,
+                                boolean startAtTop, Map<Long, PalettedContainer<BlockState>> sections) {
+        QuarryLayerMask mask = new QuarryLayerMask(b, facing, y, leftToRight, startAtTop);
+        if (mask.xMin > mask.xMax || mask.zMin > mask.zMax) return mask;
+
+        BlockPos.MutableBlockPos p = new BlockPos.MutableBlockPos();
+        int sy = SectionPos.blockToSectionCoord(y);
+        for (int cx = mask.xMin >> 4; cx <= mask.xMax >> 4; cx++) {
+            for (int cz = mask.zMin >> 4; cz <= mask.zMax >> 4; cz++) {
+                PalettedContainer<BlockState> states = sections.get(SectionPos.asLong(cx, sy, cz));
+                if (states == null) continue;
+
+                int x0 = Math.max(mask.xMin, cx << 4), x1 = Math.min(mask.xMax, (cx << 4) + 15);
+                int z0 = Math.max(mask.zMin, cz << 4), z1 = Math.min(mask.zMax, (cz << 4) + 15);
+                for (int z = z0; z <= z1; z++) {
+                    for (int x = x0; x <= x1; x++) {
+                        BlockState bs = states.get(x & 15, y & 15, z & 15);
+                        if (!mayBeMineable(bs)) continue;
+                        p.set(x, y, z);
+                        if (bs.getDestroySpeed(EmptyBlockGetter.INSTANCE, p) >= 0) {
+                            mask.bits.set(mask.index(x, z));
+                        }
+                    }
+                }
+            }
+        }
+        return mask;
+    }
+
+    /** Position-independent part of QuarryMiningManager.shouldMine, usable on a palette. */
+    static boolean mayBeMineable(BlockState bs) {
+        return !bs.isAir() && bs.getFluidState().isEmpty() && !bs.is(ModBlocks.FRAME.get());
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Queries / updates                                                      */
+    /* ---------------------------------------------------------------------- */
+
+    /**
+     * Next mineable cell strictly after 'from' in sweep order (from == null: from the start).
+     * Stale bits are dropped on the way; columns blocked at the ceiling are skipped but kept.
+     */
+    public BlockPos next(Level level, QuarryObstacleMap obstacles, BlockPos from) {
+        return next(level, obstacles, from, 0, size());
+    }
+
+    /**
+     * Same as next(), limited to sweep indices [lo, hi): one head's stripe of the layer.
+     * A 'from' outside the stripe restarts at lo.
+     */
+    public BlockPos next(Level level, QuarryObstacleMap obstacles, BlockPos from, int lo, int hi) {
+        int i = lo;
+        if (from != null && contains(from.getX(), from.getZ())) {
+            int f = index(from.getX(), from.getZ());
+            if (f >= lo && f < hi) i = f + 1;
+        }
+
+        for (i = nextMarked(i); i >= 0 && i < hi; i = nextMarked(i + 1)) {
+            int x = xAt(i), z = zAt(i);
+            BlockPos p = new BlockPos(x, y, z);
+            if (!QuarryMiningManager.shouldMine(level, p)) {
+                bits.clear(i);
+                continue;
+            }
+            if (obstacles.isBlockedAtCeiling(x, z)) continue;
+            return p;
+        }
+        return null;
+    }
+
+    /** Every cell still worth visiting on this layer, in sweep order (stale bits dropped, blocked columns skipped). */
+    public List<BlockPos> collectRemaining(Level level, QuarryObstacleMap obstacles) {
+        List<BlockPos> out = new ArrayList<>();
+        for (BlockPos p = next(level, obstacles, null); p != null; p = next(level, obstacles, p)) {
+            out.add(p);
+        }
+        return out;
+    }
+
+    /** Block at pos changed: refresh its bit if it lies on this layer. */
+    public void update(Level level, BlockPos pos) {
+        if (pos.getY() != y || !contains(pos.getX(), pos.getZ())) return;
+        mark(pos.getX(), pos.getZ(), QuarryMiningManager.shouldMine(level, pos));
+    }
+
+    /** Set or clear the bit of cell (x, z), which must lie on this layer. */
+    void mark(int x, int z, boolean mineable) {
+        bits.set(index(x, z), mineable);
+    }
+
+    /** First sweep index at or after i still marked mineable, or -1. */
+    int nextMarked(int i) {
+        return bits.nextSetBit(i);
+    }
+
+    /** Cells on this layer (mineable or not), i.e. the sweep index range [0, size). */
+    public int size() {
+        return Math.max(0, (rowMax - rowMin + 1) * cols);
+    }
+
+    /** Mineable cells left on this layer (blocked columns included). */
+    public int remaining() {
+        return bits.cardinality();
+    }
+
+    private boolean contains(int x, int z) {
+        return x >= xMin && x <= xMax && z >= zMin && z <= zMax;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Sweep order <-> cell                                                   */
+    /* ---------------------------------------------------------------------- */
+
+    private boolean rowIncreases(int rowIdx) {
+        boolean lrRow = ((rowIdx & 1) == 0) ? leftToRight : !leftToRight;
+        return lrTrueIsInc ? lrRow : !lrRow;
+    }
+
+    int index(int x, int z) {
+        int row = rowsAreZ ? z : x;
+        int col = rowsAreZ ? x : z;
+        int rowIdx = Math.abs(row - startRow);
+        int k = rowIncreases(rowIdx) ? (col - colMin) : (colMax - col);
+        return rowIdx * cols + k;
+    }
+
+    private int rowAt(int i) {
+        return startRow + stepRow * (i / cols);
+    }
+
+    private int colAt(int i) {
+        int rowIdx = i / cols, k = i % cols;
+        return rowIncreases(rowIdx) ? colMin + k : colMax - k;
+    }
+
+    int xAt(int i) {
+        return rowsAreZ ? colAt(i) : rowAt(i);
+    }
+
+    int zAt(int i) {
+        return rowsAreZ ? rowAt(i) : colAt(i);
+    }
+}
@@ -0,0 +1,176 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import com.nick.buildcraft.Config;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Builds the layer masks of the next few layers of a quarry off the server thread.
+ *
+ * When a layer starts, the chunk sections under it are copied on the server
+ * thread (PalettedContainer.copy, and only sections whose palette can hold
+ * something mineable) and the masks of the next Config "quarry.planAhead"
+ * layers are built from the copies on the background executor, each in the
+ * sweep orientation that layer will have (both flags flip on every descent).
+ *
+ * A copy goes stale as the world changes, so every block change on a planned
+ * layer after the snapshot is logged (QuarryBlockEntity.onBlockChanged) and
+ * replayed through QuarryLayerMask.update on the server thread before the plan
+ * is handed out. A footprint chunk reloading drops every plan (nothing is
+ * logged while it is unloaded). A plan that is not ready when its layer starts
+ * is not waited for: the layer is built synchronously as before.
+ *
+ * Owned by one quarry, not saved. Server thread only, except the submitted builds.
+ */
+public final class QuarryLayerPlanner {
+
+    private static final int DEFAULT_PLAN_AHEAD = 3;
+    private static final int MAX_LOGGED_CHANGES = 4096; // More changes than this on a planned layer: rebuild it instead
+
+    private static final class Plan {
+        final QuarryGeometryHelper.Bounds b;
+        final Direction facing;
+        final boolean leftToRight, startAtTop;
+        final CompletableFuture<QuarryLayerMask> mask;
+        final Set<BlockPos> changes = new HashSet<>();
+        boolean overflow = false;
+
+        Plan(QuarryGeometryHelper.Bounds b, Direction facing, boolean leftToRight, boolean startAtTop,
+             CompletableFuture<QuarryLayerMask> mask) {
+            this.b = b;
+            this.facing = facing;
+            this.leftToRight = leftToRight;
+            this.startAtTop = startAtTop;
+            this.mask = mask;
+        }
+
+        boolean matches(QuarryGeometryHelper.Bounds b, Direction facing, boolean leftToRight, boolean startAtTop) {
+            return this.facing == facing && this.leftToRight == leftToRight && this.startAtTop == startAtTop
+                    && this.b.x0 == b.x0 && this.b.x1 == b.x1
+                    && this.b.y0 == b.y0 && this.b.y1 == b.y1
+                    && this.b.z0 == b.z0 && this.b.z1 == b.z1;
+        }
+    }
+
+    private final Map<Integer, Plan> plans = new HashMap<>(); // Keyed by layer Y
+
+    public static int planAhead() {
+        if (!Config.SPEC.isLoaded()) return DEFAULT_PLAN_AHEAD;
+        return Config.QUARRY_PLAN_AHEAD.get();
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Server thread                                                          */
+    /* ---------------------------------------------------------------------- */
+
+    /**
+     * The planned mask for layer y, brought up to date with the changes since its
+     * snapshot; null if there is no finished plan for exactly this layer and orientation.
+     */
+    public QuarryLayerMask take(Level level, QuarryGeometryHelper.Bounds b, Direction facing,
+                                int y, boolean leftToRight, boolean startAtTop) {
+        Plan plan = plans.remove(y);
+        if (plan == null) return null;
+        if (plan.overflow || !plan.matches(b, facing, leftToRight, startAtTop)
+                || !plan.mask.isDone() || plan.mask.isCompletedExceptionally()) {
+            plan.mask.cancel(false);
+            return null;
+        }
+
+        QuarryLayerMask mask = plan.mask.join();
+        for (BlockPos pos : plan.changes) mask.update(level, pos);
+        return mask;
+    }
+
+    /**
+     * Layer y (with this orientation) just started: drop plans it made obsolete
+     * and snapshot + submit the layers below it that are not planned yet.
+     */
+    public void planBelow(Level level, QuarryGeometryHelper.Bounds b, Direction facing,
+                          int y, boolean leftToRight, boolean startAtTop) {
+        int ahead = planAhead();
+        Iterator<Map.Entry<Integer, Plan>> it = plans.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Plan> e = it.next();
+            int k = y - e.getKey();
+            boolean flipped = (k & 1) == 1;
+            if (k < 1 || k > ahead || !e.getValue().matches(b, facing, leftToRight ^ flipped, startAtTop ^ flipped)) {
+                e.getValue().mask.cancel(false);
+                it.remove();
+            }
+        }
+        if (ahead <= 0 || b.x1 - b.x0 < 2 || b.z1 - b.z0 < 2) return;
+
+        int xMin = b.x0 + 1, xMax = b.x1 - 1;
+        int zMin = b.z0 + 1, zMax = b.z1 - 1;
+
+        List<Integer> layers = new ArrayList<>();
+        for (int k = 1; k <= ahead; k++) {
+            int ly = y - k;
+            if (ly < level.getMinY()) break;
+            if (!plans.containsKey(ly)) layers.add(ly);
+        }
+        if (layers.isEmpty()) return;
+
+        // One copy per section, shared by every layer planned in it (filled before anything is submitted)
+        Map<Long, PalettedContainer<BlockState>> sections = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (int ly : layers) {
+            for (int cx = xMin >> 4; cx <= xMax >> 4; cx++) {
+                for (int cz = zMin >> 4; cz <= zMax >> 4; cz++) {
+                    long key = SectionPos.asLong(cx, SectionPos.blockToSectionCoord(ly), cz);
+                    if (!seen.add(key)) continue;
+
+                    LevelChunk chunk = level.getChunk(cx, cz);
+                    LevelChunkSection section = chunk.getSection(chunk.getSectionIndex(ly));
+                    if (section.hasOnlyAir()) continue;
+                    if (!section.getStates().maybeHas(QuarryLayerMask::mayBeMineable)) continue;
+                    sections.put(key, section.getStates().copy());
+                }
+            }
+        }
+
+        for (int ly : layers) {
+            boolean flipped = ((y - ly) & 1) == 1;
+            boolean lr = leftToRight ^ flipped;
+            boolean top = startAtTop ^ flipped;
+            CompletableFuture<QuarryLayerMask> mask = CompletableFuture.supplyAsync(
+                    () -> QuarryLayerMask.plan(b, facing, ly, lr, top, sections), Util.backgroundExecutor());
+            plans.put(ly, new Plan(b, facing, lr, top, mask));
+        }
+    }
+
+    /** Block at pos changed: log it for the plan of its layer. */
+    public void onBlockChanged(BlockPos pos) {
+        Plan plan = plans.get(pos.getY());
+        if (plan == null || plan.overflow) return;
+        if (plan.changes.size() >= MAX_LOGGED_CHANGES) {
+            plan.overflow = true;
+            plan.changes.clear();
+            return;
+        }
+        plan.changes.add(pos.immutable());
+    }
+
+    /** Forget every plan (power loss, frame broken or moved, chunk reloaded, quarry removed). */
+    public void clear() {
+        for (Plan plan : plans.values()) plan.mask.cancel(false);
+        plans.clear();
+    }
+}
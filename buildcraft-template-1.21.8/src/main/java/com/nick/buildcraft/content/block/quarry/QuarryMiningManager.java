@@ -14,7 +14,7 @@ import net.minecraft.world.level.material.FluidState;
  */
 public class QuarryMiningManager {
 
-    private static final int MINE_TICKS_PER_BLOCK = 10;
+    static final int MINE_TICKS_PER_BLOCK = 10;
     private static final int DRILL_TIME = MINE_TICKS_PER_BLOCK;
 
     /**
@@ -23,23 +23,12 @@ public class QuarryMiningManager {
      */
     public static void stepMining(QuarryBlockEntity qbe, ServerLevel level, BlockPos origin, BlockState controllerState) {
         Direction facing = controllerState.getValue(QuarryBlock.FACING);
-        QuarryGeometryHelper.Bounds b = QuarryGeometryHelper.boundsForFacing(origin, facing);
+        QuarryGeometryHelper.Bounds b = qbe.getBounds();
 
         final int topY = b.y0 - 1; // just below bottom frame (ceiling band)
         final int minY = level.dimensionType().minY();
 
-        if (qbe.layerY == null) {
-            qbe.layerY = topY;
-            qbe.layerLeftToRight = false; // start at right edge
-            qbe.layerStartAtTop  = false; // start from NEAR edge
-            if (qbe.targetCol == null) qbe.targetCol = nearRightInterior(b, facing);
-            qbe.atTarget = false;
-            qbe.drillTicks = 0;
-
-            qbe.finalSweepPending = false;
-            qbe.finalSweepCheckedThisLayer = false;
-            qbe.finalSweepTargets.clear();
-        }
+        startIfNeeded(qbe, b, facing);
 
         // Only mine when carriage is centered on the current target column
         if (!qbe.atTarget) {
@@ -70,46 +59,65 @@ public class QuarryMiningManager {
         }
 
         if (shouldMine(level, p)) {
-            // Track which block we're mining
-            if (qbe.currentlyMining == null || !qbe.currentlyMining.equals(p)) {
-                // Started mining a new block - clear old damage
+            // High-throughput mode: no per-block dwell, the whole section batch goes at once
+            final boolean batch = qbe.overrideMineY == null && QuarryBatchMiner.isActive(qbe);
+
+            if (batch) {
+                // No dwell and no break overlay: only clear one left over from the dwell path
                 if (qbe.currentlyMining != null) {
                     level.destroyBlockProgress(qbe.getBlockPos().hashCode(), qbe.currentlyMining, -1);
+                    qbe.currentlyMining = null;
                 }
-                qbe.currentlyMining = p;
                 qbe.miningDamage = 0;
                 qbe.drillTicks = 0;
-            }
+            } else {
+                // Track which block we're mining
+                if (qbe.currentlyMining == null || !qbe.currentlyMining.equals(p)) {
+                    // Started mining a new block - clear old damage
+                    if (qbe.currentlyMining != null) {
+                        level.destroyBlockProgress(qbe.getBlockPos().hashCode(), qbe.currentlyMining, -1);
+                    }
+                    qbe.currentlyMining = p;
+                    qbe.miningDamage = 0;
+                    qbe.drillTicks = 0;
+                }
 
-            // Increment drill ticks and show progressive damage
-            qbe.drillTicks++;
+                // Increment drill ticks and show progressive damage
+                qbe.drillTicks++;
 
-            // Calculate damage stage (0-10 based on progress)
-            int damageStage = (int)((qbe.drillTicks / (float)DRILL_TIME) * 10);
-            damageStage = Math.min(9, damageStage); // Max stage is 9 (0-9 = 10 stages)
+                // Calculate damage stage (0-10 based on progress)
+                int damageStage = (int)((qbe.drillTicks / (float)DRILL_TIME) * 10);
+                damageStage = Math.min(9, damageStage); // Max stage is 9 (0-9 = 10 stages)
 
-            // Send block damage to clients
-            if (damageStage != qbe.miningDamage) {
-                qbe.miningDamage = damageStage;
-                level.destroyBlockProgress(qbe.getBlockPos().hashCode(), p, damageStage);
-            }
+                // Send block damage to clients
+                if (damageStage != qbe.miningDamage) {
+                    qbe.miningDamage = damageStage;
+                    level.destroyBlockProgress(qbe.getBlockPos().hashCode(), p, damageStage);
+                }
 
-            // Wait for full drill time
-            if (qbe.drillTicks < DRILL_TIME) return;
-            qbe.drillTicks = 0;
+                // Wait for full drill time
+                if (qbe.drillTicks < DRILL_TIME) return;
+                qbe.drillTicks = 0;
 
-            // Block is fully broken - clear damage overlay and mine it
-            level.destroyBlockProgress(qbe.getBlockPos().hashCode(), p, -1);
-            qbe.currentlyMining = null;
-            qbe.miningDamage = 0;
+                // Block is fully broken - clear damage overlay and mine it
+                level.destroyBlockProgress(qbe.getBlockPos().hashCode(), p, -1);
+                qbe.currentlyMining = null;
+                qbe.miningDamage = 0;
+            }
 
             if (!QuarryBalancer.tryConsumeToken(level)) { return; }
 
             final boolean handledOverride = (qbe.overrideMineY != null);
 
             // Actually mine here (collect to queue only — no spawning here)
-            QuarryOutputManager.mineOneBlockToQueue(qbe, level, origin, p);
-            qbe.lastMined = p;
+            BlockPos searchAfter = qbe.targetCol;
+            if (batch) {
+                BlockPos last = QuarryBatchMiner.mineBatch(qbe, level, origin, b, facing, p);
+                searchAfter = new BlockPos(last.getX(), b.y0, last.getZ());
+            } else {
+                QuarryOutputManager.mineOneBlockToQueue(qbe, level, origin, p);
+                qbe.lastMined = p;
+            }
 
             if (handledOverride) {
                 // Stay on the column and re-check for more grief next tick
@@ -118,7 +126,7 @@ public class QuarryMiningManager {
             }
 
             // Normal on-layer mining: pick the next target AHEAD on this layer (no backtracking)
-            BlockPos nextOnLayer = findNextOnLayerForward(level, b, facing, qbe.targetCol, qbe.layerY, qbe);
+            BlockPos nextOnLayer = findNextOnLayerForward(level, b, facing, searchAfter, qbe.layerY, qbe);
             if (nextOnLayer != null) {
                 qbe.targetCol = new BlockPos(nextOnLayer.getX(), b.y0, nextOnLayer.getZ());
                 qbe.atTarget = false;
@@ -174,15 +182,7 @@ public class QuarryMiningManager {
                 }
             }
 
-            // Descend one layer
-            qbe.layerY--;
-            qbe.layerLeftToRight = !qbe.layerLeftToRight;
-            qbe.layerStartAtTop  = !qbe.layerStartAtTop;
-            qbe.tempSkip.clear(); // clear unreachable cache across layers
-            qbe.finalSweepPending = false;
-            qbe.finalSweepCheckedThisLayer = false;
-            qbe.finalSweepTargets.clear();
-
+            descend(qbe);
             if (qbe.layerY < minY) { return; }
 
             // For the NEW layer we start from the layer's start position
@@ -190,93 +190,77 @@ public class QuarryMiningManager {
         }
     }
 
+    /** First layer after (re)powering: top layer, sweep from the near right corner. */
+    static void startIfNeeded(QuarryBlockEntity qbe, QuarryGeometryHelper.Bounds b, Direction facing) {
+        if (qbe.layerY != null) return;
+        qbe.layerY = b.y0 - 1; // just below bottom frame (ceiling band)
+        qbe.layerLeftToRight = false; // start at right edge
+        qbe.layerStartAtTop  = false; // start from NEAR edge
+        if (qbe.targetCol == null) qbe.targetCol = nearRightInterior(b, facing);
+        qbe.atTarget = false;
+        qbe.drillTicks = 0;
+
+        qbe.finalSweepPending = false;
+        qbe.finalSweepCheckedThisLayer = false;
+        qbe.finalSweepTargets.clear();
+    }
+
+    /** Descend one layer; the sweep direction flips both ways. */
+    static void descend(QuarryBlockEntity qbe) {
+        qbe.layerY--;
+        qbe.layerLeftToRight = !qbe.layerLeftToRight;
+        qbe.layerStartAtTop  = !qbe.layerStartAtTop;
+        qbe.tempSkip.clear(); // clear unreachable cache across layers
+        qbe.finalSweepPending = false;
+        qbe.finalSweepCheckedThisLayer = false;
+        qbe.finalSweepTargets.clear();
+    }
+
     /**
-     * Scan forward on a single Y layer in LOCAL boustrophedon order (facing-aware).
+     * Next target on a single Y layer in LOCAL boustrophedon order (facing-aware).
      * If 'from' is null, start at the layer's start; otherwise begin strictly after 'from'.
+     * Backed by the quarry's per-layer QuarryLayerMask (rebuilt when the layer or sweep orientation changes).
+     * Cells an extra head is working on are skipped (QuarryHeadManager).
      */
     public static BlockPos findNextOnLayerForward(Level level, QuarryGeometryHelper.Bounds b, Direction facing, BlockPos from, int y, QuarryBlockEntity qbe) {
-        final int xMin = b.x0 + 1, xMax = b.x1 - 1;
-        final int zMin = b.z0 + 1, zMax = b.z1 - 1;
-
-        boolean rowsAreZ = (facing == Direction.NORTH || facing == Direction.SOUTH);
-        int rowMin = rowsAreZ ? zMin : xMin;
-        int rowMax = rowsAreZ ? zMax : xMax;
-        int colMin = rowsAreZ ? xMin : zMin;
-        int colMax = rowsAreZ ? xMax : zMax;
-
-        // Determine row iteration order based on layer start position
-        int startRow = switch (facing) {
-            case NORTH -> (qbe.layerStartAtTop ? zMin : zMax);
-            case SOUTH -> (qbe.layerStartAtTop ? zMax : zMin);
-            case EAST  -> (qbe.layerStartAtTop ? xMax : xMin);
-            case WEST  -> (qbe.layerStartAtTop ? xMin : xMax);
-            default    -> (qbe.layerStartAtTop ? zMin : zMax);
-        };
-
-        int stepRow = (startRow == rowMin) ? +1 : -1;
-
-        // For NORTH/EAST: lr==true means increasing columns; for SOUTH/WEST it's inverted
-        boolean lrTrueIsInc = (facing == Direction.NORTH || facing == Direction.EAST);
-
-        int curRow, curCol;
-
-        if (from == null) {
-            curRow = startRow;
-            int rowIdx = 0;
-            curCol = getColForRow(qbe, rowIdx, rowMin, colMin, colMax, lrTrueIsInc);
-        } else {
-            int fromRow = rowsAreZ ? from.getZ() : from.getX();
-            int fromCol = rowsAreZ ? from.getX() : from.getZ();
-            int rowIdx = Math.abs(fromRow - startRow);
-            boolean lrRow = ((rowIdx & 1) == 0) ? qbe.layerLeftToRight : !qbe.layerLeftToRight;
-            boolean inc = lrTrueIsInc ? lrRow : !lrRow;
-
-            curRow = fromRow;
-            curCol = fromCol + (inc ? +1 : -1); // strictly after 'from'
-            if (curCol < colMin || curCol > colMax) {
-                curRow = fromRow + stepRow;
-                if (curRow < rowMin || curRow > rowMax) return null; // layer exhausted
-                int nextRowIdx = Math.abs(curRow - startRow);
-                curCol = getColForRow(qbe, nextRowIdx, rowMin, colMin, colMax, lrTrueIsInc);
-            }
+        QuarryLayerMask mask = layerMask(qbe, level, b, facing, y);
+        QuarryObstacleMap obstacles = QuarryGantryManager.obstacles(qbe, level, b);
+        BlockPos next = mask.next(level, obstacles, from);
+        while (next != null && QuarryHeadManager.isClaimedByHead(qbe, next)) {
+            next = mask.next(level, obstacles, next);
         }
-
-        while (curRow >= rowMin && curRow <= rowMax) {
-            int rowIdx = Math.abs(curRow - startRow);
-            int colStep = getColStepForRow(qbe, rowIdx, lrTrueIsInc);
-
-            for (int c = curCol; c >= colMin && c <= colMax; c += colStep) {
-                int x = rowsAreZ ? c : curRow;
-                int z = rowsAreZ ? curRow : c;
-                if (QuarryGantryManager.columnBlockedAtCeiling(level, b, x, z)) continue;
-                BlockPos p = new BlockPos(x, y, z);
-                if (shouldMine(level, p)) return p;
-            }
-
-            curRow += stepRow;
-            if (curRow < rowMin || curRow > rowMax) break;
-            int nextRowIdx = Math.abs(curRow - startRow);
-            curCol = getColForRow(qbe, nextRowIdx, rowMin, colMin, colMax, lrTrueIsInc);
-        }
-
-        return null;
+        return next;
     }
 
-    private static int getColForRow(QuarryBlockEntity qbe, int rowIdxFromStart, int rowMin, int colMin, int colMax, boolean lrTrueIsInc) {
-        boolean lrRow = ((rowIdxFromStart & 1) == 0) ? qbe.layerLeftToRight : !qbe.layerLeftToRight;
-        boolean inc = lrTrueIsInc ? lrRow : !lrRow;
-        return inc ? colMin : colMax;
-    }
-
-    private static int getColStepForRow(QuarryBlockEntity qbe, int rowIdxFromStart, boolean lrTrueIsInc) {
-        boolean lrRow = ((rowIdxFromStart & 1) == 0) ? qbe.layerLeftToRight : !qbe.layerLeftToRight;
-        boolean inc = lrTrueIsInc ? lrRow : !lrRow;
-        return inc ? +1 : -1;
+    /**
+     * The quarry's mask for layer y in the current sweep orientation: the planned one
+     * if QuarryLayerPlanner has it ready, built here otherwise. A new layer also
+     * starts planning the layers below it.
+     */
+    static QuarryLayerMask layerMask(QuarryBlockEntity qbe, Level level, QuarryGeometryHelper.Bounds b, Direction facing, int y) {
+        QuarryLayerMask mask = qbe.layerMask;
+        if (mask == null || !mask.matches(facing, y, qbe.layerLeftToRight, qbe.layerStartAtTop)) {
+            boolean lr = qbe.layerLeftToRight, top = qbe.layerStartAtTop;
+            mask = qbe.layerPlanner.take(level, b, facing, y, lr, top);
+            if (mask == null) mask = QuarryLayerMask.build(level, b, facing, y, lr, top);
+            qbe.layerMask = mask;
+            qbe.layerPlanner.planBelow(level, b, facing, y, lr, top);
+        }
+        return mask;
     }
 
     /**
      * Look only up THIS column for the highest grief block above the current layer.
      */
+    /**
+     * The block a head over this layer cell mines next, in the main head's order:
+     * anything mineable above the cell in its column top-down (grief), then the cell.
+     */
+    static BlockPos nextInColumn(Level level, QuarryGeometryHelper.Bounds b, BlockPos cell) {
+        Integer gy = griefYInColumnAbove(level, b, cell.getX(), cell.getZ(), b.y0 - 1, cell.getY() + 1);
+        return gy != null ? new BlockPos(cell.getX(), gy, cell.getZ()) : cell;
+    }
+
     private static Integer griefYInColumnAbove(Level level, QuarryGeometryHelper.Bounds b, int x, int z, int topY, int stopYExclusive) {
         BlockPos.MutableBlockPos tmpPos = new BlockPos.MutableBlockPos();
         for (int y = topY; y >= stopYExclusive; --y) {
@@ -290,7 +274,13 @@ public class QuarryMiningManager {
      * True if we should mine this block.
      */
     public static boolean shouldMine(Level level, BlockPos p) {
-        BlockState bs = level.getBlockState(p);
+        return shouldMine(level, level.getBlockState(p), p);
+    }
+
+    /**
+     * True if we should mine this already-fetched state at p.
+     */
+    public static boolean shouldMine(Level level, BlockState bs, BlockPos p) {
         if (bs.isAir()) return false;
         FluidState fs = bs.getFluidState();
         if (!fs.isEmpty()) return false;
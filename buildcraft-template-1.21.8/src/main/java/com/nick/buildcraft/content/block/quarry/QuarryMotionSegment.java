@@ -0,0 +1,144 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+
+/**
+ * One straight gantry move as the client needs it: where it started, where it
+ * is heading, how fast, and when it started (server game time).
+ *
+ * The server only sends a new segment when the motion changes (new waypoint,
+ * lift target, drill state) or when the real position drifts away from what
+ * the client would extrapolate. In between, the client evaluates the segment
+ * every tick, so a moving gantry costs no packets at all.
+ *
+ * Horizontal and vertical motion are independent: each axis group moves
+ * toward its target at its own step per tick and stops there.
+ *
+ * The server drills only on its mining phase (QuarryBalancer.phases game
+ * ticks apart), so drill progress advances one step per drillPeriod ticks.
+ */
+public record QuarryMotionSegment(double x, double z, double lift,
+                                  double toX, double toZ, double toLift,
+                                  float step, float liftStep,
+                                  long startTick,
+                                  boolean atTarget, int drillTicks, int drillPeriod) {
+
+    public QuarryMotionSegment(double x, double z, double lift,
+                               double toX, double toZ, double toLift,
+                               float step, float liftStep,
+                               long startTick,
+                               boolean atTarget, int drillTicks) {
+        this(x, z, lift, toX, toZ, toLift, step, liftStep, startTick, atTarget, drillTicks, 1);
+    }
+
+    /** NBT form, carried in the block-entity update tag so newly tracking clients start extrapolating at once. */
+    public static final Codec<QuarryMotionSegment> CODEC = RecordCodecBuilder.create(i -> i.group(
+            Codec.DOUBLE.fieldOf("x").forGetter(QuarryMotionSegment::x),
+            Codec.DOUBLE.fieldOf("z").forGetter(QuarryMotionSegment::z),
+            Codec.DOUBLE.fieldOf("lift").forGetter(QuarryMotionSegment::lift),
+            Codec.DOUBLE.fieldOf("toX").forGetter(QuarryMotionSegment::toX),
+            Codec.DOUBLE.fieldOf("toZ").forGetter(QuarryMotionSegment::toZ),
+            Codec.DOUBLE.fieldOf("toLift").forGetter(QuarryMotionSegment::toLift),
+            Codec.FLOAT.fieldOf("step").forGetter(QuarryMotionSegment::step),
+            Codec.FLOAT.fieldOf("liftStep").forGetter(QuarryMotionSegment::liftStep),
+            Codec.LONG.fieldOf("start").forGetter(QuarryMotionSegment::startTick),
+            Codec.BOOL.fieldOf("atTarget").forGetter(QuarryMotionSegment::atTarget),
+            Codec.INT.fieldOf("drill").forGetter(QuarryMotionSegment::drillTicks),
+            Codec.INT.optionalFieldOf("period", 1).forGetter(QuarryMotionSegment::drillPeriod)
+    ).apply(i, QuarryMotionSegment::new));
+
+    /** A gantry standing still at (x, z, lift). */
+    public static QuarryMotionSegment still(double x, double z, double lift, long now, boolean atTarget, int drillTicks) {
+        return new QuarryMotionSegment(x, z, lift, x, z, lift, 0f, 0f, now, atTarget, drillTicks);
+    }
+
+    /** The same segment with drill progress paced at one step per 'period' game ticks. */
+    public QuarryMotionSegment withDrillPeriod(int period) {
+        int p = Math.max(1, period);
+        if (p == drillPeriod) return this;
+        return new QuarryMotionSegment(x, z, lift, toX, toZ, toLift, step, liftStep, startTick, atTarget, drillTicks, p);
+    }
+
+    public boolean sameMotion(QuarryMotionSegment o) {
+        return o != null
+                && toX == o.toX && toZ == o.toZ && toLift == o.toLift
+                && atTarget == o.atTarget
+                && (!atTarget || drillPeriod == o.drillPeriod);
+    }
+
+    /** True if a client extrapolating 'last' would no longer match this segment closely enough. */
+    public boolean supersedes(QuarryMotionSegment last, long now, double eps) {
+        return last == null
+                || !sameMotion(last)
+                || Math.abs(last.xAt(now) - x) > eps
+                || Math.abs(last.zAt(now) - z) > eps
+                || Math.abs(last.liftAt(now) - lift) > eps;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Evaluation                                                             */
+    /* ---------------------------------------------------------------------- */
+
+    private double elapsed(double t) {
+        return Math.max(0.0, t - startTick);
+    }
+
+    /** Horizontal progress toward the target, 0..1. */
+    private double horizontalFraction(double t) {
+        double dx = toX - x, dz = toZ - z;
+        double dist = Math.sqrt(dx * dx + dz * dz);
+        if (dist <= 1.0e-6) return 1.0;
+        return Math.min(1.0, step * elapsed(t) / dist);
+    }
+
+    public double xAt(double t) {
+        return x + (toX - x) * horizontalFraction(t);
+    }
+
+    public double zAt(double t) {
+        return z + (toZ - z) * horizontalFraction(t);
+    }
+
+    public double liftAt(double t) {
+        double d = toLift - lift;
+        double moved = Math.min(Math.abs(d), liftStep * elapsed(t));
+        return lift + Math.copySign(moved, d);
+    }
+
+    /** Drill progress keeps counting while parked on the target (one step per drillPeriod), capped at one block's worth. */
+    public int drillTicksAt(double t) {
+        if (!atTarget) return drillTicks;
+        long steps = (long) (elapsed(t) / Math.max(1, drillPeriod));
+        return (int) Math.min(QuarryMiningManager.MINE_TICKS_PER_BLOCK, drillTicks + steps);
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Wire format                                                            */
+    /* ---------------------------------------------------------------------- */
+
+    public void write(RegistryFriendlyByteBuf buf) {
+        buf.writeDouble(x);
+        buf.writeDouble(z);
+        buf.writeFloat((float) lift);
+        buf.writeDouble(toX);
+        buf.writeDouble(toZ);
+        buf.writeFloat((float) toLift);
+        buf.writeFloat(step);
+        buf.writeFloat(liftStep);
+        buf.writeVarLong(startTick);
+        buf.writeBoolean(atTarget);
+        buf.writeVarInt(drillTicks);
+        buf.writeVarInt(drillPeriod);
+    }
+
+    public static QuarryMotionSegment read(RegistryFriendlyByteBuf buf) {
+        return new QuarryMotionSegment(
+                buf.readDouble(), buf.readDouble(), buf.readFloat(),
+                buf.readDouble(), buf.readDouble(), buf.readFloat(),
+                buf.readFloat(), buf.readFloat(),
+                buf.readVarLong(),
+                buf.readBoolean(), buf.readVarInt(), buf.readVarInt());
+    }
+}
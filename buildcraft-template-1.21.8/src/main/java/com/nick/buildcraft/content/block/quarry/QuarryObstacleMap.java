@@ -0,0 +1,164 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+
+import java.util.Arrays;
+
+/**
+ * Per-quarry heightmap of gantry obstacles over the frame interior.
+ *
+ * One int per column = ObstacleScanner.findHighestObstacle(level, b, x, z, b.y0)
+ * (-1 when clear), plus one bit for "blocked at the ceiling". Every question the
+ * gantry asks while pathing (impassable? lift needed along this line? blocked
+ * at the ceiling?) becomes an array read instead of a column of getBlockState.
+ *
+ * - built once, then carried from layer to layer (the rows it reads, above y0,
+ *   do not depend on the layer being mined)
+ * - patched one column at a time by QuarryBlockEntity.onBlockChanged
+ *   (QuarryBlockChangeListener) and after the quarry breaks a block
+ */
+public final class QuarryObstacleMap {
+
+    /** Same guard as ObstacleScanner: the top two rows belong to the frame / gantry. */
+    private static final int CEILING_GUARD_HEIGHT = 2;
+
+    final int layerY;
+
+    private final QuarryGeometryHelper.Bounds b;
+    private final int xMin, zMin, width, depth;
+    private final int maxLift;
+
+    private final int[] highest;          // highest obstacle Y in the column, -1 = clear
+    private final boolean[] ceilingBlocked;
+
+    QuarryObstacleMap(QuarryGeometryHelper.Bounds b, int layerY) {
+        this.b = b;
+        this.layerY = layerY;
+        this.xMin = b.x0 + 1;
+        this.zMin = b.z0 + 1;
+        this.width = Math.max(0, (b.x1 - 1) - xMin + 1);
+        this.depth = Math.max(0, (b.z1 - 1) - zMin + 1);
+        this.maxLift = b.y1 - b.y0 - CEILING_GUARD_HEIGHT;
+
+        this.highest = new int[width * depth];
+        this.ceilingBlocked = new boolean[width * depth];
+        Arrays.fill(highest, -1);
+    }
+
+    /** True if this map was built for these bounds and this layer. */
+    public boolean matches(QuarryGeometryHelper.Bounds b, int layerY) {
+        return this.layerY == layerY && sameBounds(b);
+    }
+
+    public boolean sameBounds(QuarryGeometryHelper.Bounds b) {
+        return this.b.x0 == b.x0 && this.b.x1 == b.x1
+                && this.b.y0 == b.y0 && this.b.y1 == b.y1
+                && this.b.z0 == b.z0 && this.b.z1 == b.z1;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Build / update                                                         */
+    /* ---------------------------------------------------------------------- */
+
+    public static QuarryObstacleMap build(Level level, QuarryGeometryHelper.Bounds b, int layerY) {
+        QuarryObstacleMap map = new QuarryObstacleMap(b, layerY);
+        for (int zi = 0; zi < map.depth; zi++) {
+            for (int xi = 0; xi < map.width; xi++) {
+                map.scanColumn(level, map.xMin + xi, map.zMin + zi);
+            }
+        }
+        return map;
+    }
+
+    /** This map's columns under another layer key (same bounds); nothing is rescanned. */
+    public QuarryObstacleMap forLayer(int layerY) {
+        QuarryObstacleMap map = new QuarryObstacleMap(b, layerY);
+        System.arraycopy(highest, 0, map.highest, 0, highest.length);
+        System.arraycopy(ceilingBlocked, 0, map.ceilingBlocked, 0, ceilingBlocked.length);
+        return map;
+    }
+
+    /** Block at pos changed: rescan its column if it can affect the gantry. */
+    public void update(Level level, BlockPos pos) {
+        if (!contains(pos.getX(), pos.getZ())) return;
+        if (pos.getY() < b.y0 || pos.getY() > b.y1 - CEILING_GUARD_HEIGHT) return;
+        scanColumn(level, pos.getX(), pos.getZ());
+    }
+
+    /** One pass up the column: heightmap rows first, then the ceiling row. */
+    private void scanColumn(Level level, int x, int z) {
+        int top = -1;
+        int maxScanY = b.y1 - CEILING_GUARD_HEIGHT - 1;
+        for (int y = b.y0; y <= maxScanY; y++) {
+            if (ObstacleScanner.isObstacle(level, b, x, y, z)) top = y;
+        }
+        setColumn(x, z, top, ObstacleScanner.isColumnBlockedAtCeiling(level, b, x, z));
+    }
+
+    /** Store one column's scan result; (x, z) must lie in the interior. */
+    void setColumn(int x, int z, int highestObstacleY, boolean blockedAtCeiling) {
+        int i = index(x, z);
+        highest[i] = highestObstacleY;
+        ceilingBlocked[i] = blockedAtCeiling;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Queries (O(1) per column)                                              */
+    /* ---------------------------------------------------------------------- */
+
+    /** Highest obstacle Y in the column, -1 if clear or outside the interior. */
+    public int highestObstacle(int x, int z) {
+        return contains(x, z) ? highest[index(x, z)] : -1;
+    }
+
+    /** Same rule as ObstacleScanner.isColumnImpassable (minY = b.y0). */
+    public boolean isImpassable(int x, int z) {
+        int obstacleY = highestObstacle(x, z);
+        if (obstacleY < 0) return false;
+        return (obstacleY - b.y0) + 1.5 > maxLift;
+    }
+
+    public boolean isBlockedAtCeiling(int x, int z) {
+        return contains(x, z) && ceilingBlocked[index(x, z)];
+    }
+
+    /**
+     * Same result as ObstacleScanner.calculateRequiredLift: Bresenham walk from
+     * current to target (both inclusive), highest obstacle + 3, clamped to max lift.
+     */
+    public double requiredLift(int currentX, int currentZ, int targetX, int targetZ) {
+        int highestObstacleWorldY = -1;
+
+        int dx = Math.abs(targetX - currentX);
+        int dz = Math.abs(targetZ - currentZ);
+        int sx = currentX < targetX ? 1 : -1;
+        int sz = currentZ < targetZ ? 1 : -1;
+        int err = dx - dz;
+
+        int x = currentX;
+        int z = currentZ;
+
+        while (true) {
+            int obstacleY = highestObstacle(x, z);
+            if (obstacleY > highestObstacleWorldY) highestObstacleWorldY = obstacleY;
+
+            if (x == targetX && z == targetZ) break;
+
+            int e2 = 2 * err;
+            if (e2 > -dz) { err -= dz; x += sx; }
+            if (e2 < dx)  { err += dx; z += sz; }
+        }
+
+        if (highestObstacleWorldY < 0) return 0.0;
+        return Math.min((highestObstacleWorldY - b.y0) + 3.0, maxLift);
+    }
+
+    private boolean contains(int x, int z) {
+        return x >= xMin && x < xMin + width && z >= zMin && z < zMin + depth;
+    }
+
+    private int index(int x, int z) {
+        return (z - zMin) * width + (x - xMin);
+    }
+}
@@ -0,0 +1,147 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import com.nick.buildcraft.Config;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.storage.ValueInput;
+import net.minecraft.world.level.storage.ValueOutput;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counted, capped store for mined drops.
+ *
+ * Drops are merged by item + components into one count each (insertion order
+ * kept, so the oldest item type leaves first). A quarry mining cobble for an
+ * hour holds ONE entry, not thousands of stacks.
+ *
+ * When total() reaches the cap (Config "quarry.outputBuffer") the quarry stops
+ * mining until the flush frees space: back-pressure instead of an unbounded
+ * queue or item entities spilled into the world.
+ */
+public final class QuarryOutputBuffer {
+
+    public static final int DEFAULT_CAPACITY = 640;
+
+    /** Item + components identity; the template always has count 1. */
+    private static final class Key {
+        final ItemStack template;
+        final int hash;
+
+        Key(ItemStack stack) {
+            this.template = stack.copyWithCount(1);
+            this.hash = ItemStack.hashItemAndComponents(stack);
+        }
+
+        @Override public boolean equals(Object o) {
+            return o instanceof Key k && ItemStack.isSameItemSameComponents(template, k.template);
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final LinkedHashMap<Key, Integer> counts = new LinkedHashMap<>();
+    private int total = 0;
+
+    public static int capacity() {
+        if (!Config.SPEC.isLoaded()) return DEFAULT_CAPACITY;
+        return Config.QUARRY_OUTPUT_BUFFER.get();
+    }
+
+    public int total() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    /** No room for another block's drops: mining should wait for the flush. */
+    public boolean isFull() {
+        return total >= capacity();
+    }
+
+    /** Always accepts (a single block's drops may overshoot the cap; isFull then pauses mining). */
+    public void add(ItemStack stack) {
+        if (stack == null || stack.isEmpty()) return;
+        counts.merge(new Key(stack), stack.getCount(), Integer::sum);
+        total += stack.getCount();
+    }
+
+    public void clear() {
+        counts.clear();
+        total = 0;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Draining                                                               */
+    /* ---------------------------------------------------------------------- */
+
+    /** Something that takes a whole stack and hands back what it could not take. */
+    @FunctionalInterface
+    public interface Sink {
+        ItemStack insert(ItemStack stack);
+    }
+
+    /**
+     * Offer up to maxStacks full (merged) stacks to the sink, oldest item type first.
+     * Stops at the first stack the sink does not take completely.
+     *
+     * @return stacks the sink took (wholly or partly), to charge against maxStacks budgets
+     */
+    public int drain(Sink sink, int maxStacks) {
+        int stacks = 0;
+        Iterator<Map.Entry<Key, Integer>> it = counts.entrySet().iterator();
+        while (it.hasNext() && maxStacks-- > 0) {
+            Map.Entry<Key, Integer> e = it.next();
+            int have = e.getValue();
+            ItemStack offer = e.getKey().template.copyWithCount(Math.min(have, e.getKey().template.getMaxStackSize()));
+
+            ItemStack leftover = sink.insert(offer);
+            int taken = offer.getCount() - (leftover == null ? 0 : leftover.getCount());
+            if (taken <= 0) break;
+
+            stacks++;
+            total -= taken;
+            if (have - taken <= 0) it.remove();
+            else e.setValue(have - taken);
+
+            if (taken < offer.getCount()) break; // back-pressure: the target is full
+        }
+        return stacks;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Persistence                                                            */
+    /* ---------------------------------------------------------------------- */
+
+    public void save(ValueOutput out) {
+        out.putInt("OutBn", counts.size());
+        int i = 0;
+        for (Map.Entry<Key, Integer> e : counts.entrySet()) {
+            out.store("OutB_" + i, ItemStack.CODEC, e.getKey().template);
+            out.putInt("OutBc_" + i, e.getValue());
+            i++;
+        }
+    }
+
+    public void load(ValueInput in) {
+        clear();
+        int n = in.getIntOr("OutBn", 0);
+        for (int i = 0; i < n; i++) {
+            int count = in.getIntOr("OutBc_" + i, 0);
+            in.read("OutB_" + i, ItemStack.CODEC).ifPresent(s -> {
+                if (count > 0) add(s.copyWithCount(count));
+            });
+        }
+
+        // Saves from before the buffer: plain stack queue
+        int qn = in.getIntOr("OutQn", 0);
+        for (int i = 0; i < qn; i++) {
+            in.read("OutQ_" + i, ItemStack.CODEC).ifPresent(this::add);
+        }
+    }
+}
@@ -1,32 +1,40 @@
 package com.nick.buildcraft.content.block.quarry;
 
 import com.nick.buildcraft.content.block.pipe.StonePipeBlockEntity;
-import com.nick.buildcraft.energy.Energy;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.server.level.ServerLevel;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.items.IItemHandler;
+import net.neoforged.neoforge.items.ItemHandlerHelper;
 
 import java.util.List;
 
 /**
- * Item queue management and drop-safe output delivery.
+ * Output buffer management and drop-safe output delivery.
  * Prevents duplication and "pop-outs" during power cycles.
+ *
+ * Drops go into the quarry's counted QuarryOutputBuffer. Flushing pushes whole
+ * merged stacks to any adjacent item handler (above first), looked up through
+ * one BlockCapabilityCache per side. Nothing is ever spilled into the world:
+ * when the buffer is full the quarry simply stops mining (back-pressure).
  */
 public class QuarryOutputManager {
 
-    private static final boolean DROP_WHEN_DISCONNECTED = true;
-    private static final int FLUSH_TRIES_PER_TICK = 4;
+    private static final int FLUSH_STACKS_PER_TICK = 4;
+
+    /** Output sides in preference order: above first (the classic pipe spot), then the rest. */
+    private static final Direction[] OUTPUT_SIDES = {
+            Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST, Direction.DOWN
+    };
 
     /**
      * Mine a block and queue its drops for output.
-     * Sets the power-on flush gate once a block is successfully mined.
      */
     public static void mineOneBlockToQueue(QuarryBlockEntity qbe, ServerLevel level, BlockPos quarryPos, BlockPos target) {
         BlockState bs = level.getBlockState(target);
@@ -39,104 +47,59 @@ public class QuarryOutputManager {
 
         // Queue the drops
         for (ItemStack stack : drops) {
-            if (stack == null || stack.isEmpty()) continue;
-            qbe.outputQueue.addLast(stack.copy());
+            qbe.output.add(stack);
         }
 
-        // We mined something after (re)powering on → allow flushing again
-        qbe.allowFlushAfterPowerOn = true;
-
         qbe.setChanged();
     }
 
-    /**
-     * Try to push queued stacks into the block above.
-     * Gated to avoid phantom motion on power-on.
-     */
-    public static void flushOutput(QuarryBlockEntity qbe, ServerLevel level, BlockPos quarryPos) {
-        if (!qbe.allowFlushAfterPowerOn) return;     // Gate until we mine again
-        if (qbe.outputQueue.isEmpty()) return;
-
-        // If there's nowhere to send items and the toggle is on, spill everything upward
-        if (DROP_WHEN_DISCONNECTED && !hasOutputTarget(level, quarryPos)) {
-            BlockPos eject = quarryPos.above();
-            while (!qbe.outputQueue.isEmpty()) {
-                ItemStack s = qbe.outputQueue.pollFirst();
-                if (s != null && !s.isEmpty()) {
-                    Block.popResource(level, eject, s);
-                }
-            }
-            return;
-        }
-
-        // Otherwise, try to insert a few per tick; requeue leftovers and stop early on backpressure
-        int tries = Math.min(FLUSH_TRIES_PER_TICK, qbe.outputQueue.size());
-        for (int i = 0; i < tries; i++) {
-            ItemStack s = qbe.outputQueue.pollFirst();
-            if (s == null || s.isEmpty()) continue;
-
-            ItemStack leftover = tryOutputUp(level, quarryPos, s);
-            if (!leftover.isEmpty()) {
-                // Still blocked: put it back and stop early this tick
-                qbe.outputQueue.addFirst(leftover);
-                break;
-            }
-        }
+    /** Buffer at its cap: the quarry must not mine until the flush makes room. */
+    public static boolean isBackedUp(QuarryBlockEntity qbe) {
+        return qbe.output.isFull();
     }
 
     /**
-     * Try to output an item stack into the block above.
-     * Returns the leftover amount that couldn't be inserted.
+     * Push buffered stacks into adjacent handlers. Runs whenever the quarry
+     * ticks with work power, so a buffer that filled up (mining paused) always
+     * drains again.
      */
-    private static ItemStack tryOutputUp(Level level, BlockPos quarryPos, ItemStack stackIn) {
-        if (!(level instanceof ServerLevel sl) || stackIn.isEmpty()) return stackIn;
-
-        BlockPos up = quarryPos.above();
-
-        // 1) Prefer a normal inventory/pipe that exposes IItemHandler
-        IItemHandler handler = sl.getCapability(Capabilities.ItemHandler.BLOCK, up, Direction.DOWN);
-        if (handler != null) {
-            ItemStack remaining = stackIn;
-            for (int i = 0; i < handler.getSlots() && !remaining.isEmpty(); i++) {
-                remaining = handler.insertItem(i, remaining, false);
-            }
-            if (!remaining.isEmpty()) {
-                // 2) If that handler didn't take it, fall back to pipe contract
-                BlockEntity be = sl.getBlockEntity(up);
-                if (be instanceof StonePipeBlockEntity pipe) {
-                    remaining = pipe.offer(remaining, Direction.DOWN);
-                }
+    public static void flushOutput(QuarryBlockEntity qbe, ServerLevel level, BlockPos quarryPos) {
+        if (qbe.output.isEmpty()) return;
+
+        int budget = FLUSH_STACKS_PER_TICK;
+        for (Direction side : OUTPUT_SIDES) {
+            if (budget <= 0 || qbe.output.isEmpty()) break;
+
+            IItemHandler handler = outputCache(qbe, level, quarryPos, side).getCapability();
+            BlockEntity be = (handler == null) ? level.getBlockEntity(quarryPos.relative(side)) : null;
+            StonePipeBlockEntity pipe = (be instanceof StonePipeBlockEntity p) ? p : null;
+            if (handler == null && pipe == null) continue;
+
+            Direction from = side.getOpposite();
+            int stacks = qbe.output.drain(stack -> {
+                ItemStack remaining = stack;
+                if (handler != null) remaining = ItemHandlerHelper.insertItem(handler, remaining, false);
+                if (!remaining.isEmpty() && pipe != null) remaining = pipe.offer(remaining, from);
+                return remaining;
+            }, budget);
+
+            if (stacks > 0) {
+                budget -= stacks;
+                qbe.setChanged();
             }
-            return remaining;
-        }
-
-        // 3) No handler? If it's our pipe, use its lightweight offer API
-        BlockEntity be = sl.getBlockEntity(up);
-        if (be instanceof StonePipeBlockEntity pipe) {
-            return pipe.offer(stackIn, Direction.DOWN);
         }
-
-        // 4) Nothing to accept it
-        return stackIn;
     }
 
-    /**
-     * Check if the block above has an inventory or pipe to accept output.
-     */
-    private static boolean hasOutputTarget(ServerLevel level, BlockPos quarryPos) {
-        BlockPos up = quarryPos.above();
-
-        IItemHandler handler = level.getCapability(Capabilities.ItemHandler.BLOCK, up, Direction.DOWN);
-        if (handler != null) return true;
-
-        BlockEntity be = level.getBlockEntity(up);
-        return (be instanceof StonePipeBlockEntity);
-    }
-
-    /**
-     * Reset the power-on flush gate when power is lost.
-     */
-    public static void resetFlushGate(QuarryBlockEntity qbe) {
-        qbe.allowFlushAfterPowerOn = false;
+    /** Capability cache for one side of the controller, created on first use. */
+    private static BlockCapabilityCache<IItemHandler, Direction> outputCache(QuarryBlockEntity qbe, ServerLevel level,
+                                                                            BlockPos quarryPos, Direction side) {
+        var caches = qbe.outputCaches;
+        int i = side.get3DDataValue();
+        if (caches[i] == null) {
+            caches[i] = BlockCapabilityCache.create(
+                    Capabilities.ItemHandler.BLOCK, level, quarryPos.relative(side), side.getOpposite(),
+                    () -> !qbe.isRemoved(), () -> {});
+        }
+        return caches[i];
     }
 }
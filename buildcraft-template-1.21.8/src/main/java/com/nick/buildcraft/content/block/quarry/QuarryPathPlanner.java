@@ -0,0 +1,232 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Grid A* for the gantry over the frame interior, without per-plan allocation.
+ *
+ * Cells are indexed (z - zMin) * width + (x - xMin). All per-cell state lives in
+ * int arrays owned by the quarry and reused between plans:
+ * - gScore / parent / stamp: a cell's entries are only valid when stamp == generation,
+ *   so starting a new plan is one ++generation instead of clearing the arrays
+ * - heap / heapPos: indexed binary min-heap on f, with a real decrease-key
+ *
+ * Ordering is deterministic: lower f first, then lower h (closer to the goal),
+ * then lower cell index. Neighbours expand in the order +X, -X, +Z, -Z.
+ * Only the returned path (a few BlockPos) is allocated.
+ *
+ * Tie-break change: the HashMap A* this replaced had a heuristic that was
+ * always 0 and broke ties by PriorityQueue internals. Path lengths are the
+ * same, but where several shortest routes exist the gantry may now take a
+ * different one. QuarryPathPlannerTest pins the current routes.
+ */
+public final class QuarryPathPlanner {
+
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DZ = {0, 0, 1, -1};
+
+    private int xMin, zMin, width, depth;
+
+    private int[] gScore = new int[0];
+    private int[] fScore = new int[0];
+    private int[] parent = new int[0];
+    private int[] stamp = new int[0];
+    private int[] closedStamp = new int[0];
+    private int generation = 0;
+
+    private int[] heap = new int[0];
+    private int[] heapPos = new int[0];   // -1 = not in heap (valid only when stamp == generation)
+    private int heapSize = 0;
+
+    private int goalX, goalZ;
+
+    /**
+     * Shortest 4-connected path from start (exclusive) to goal (inclusive), at Y = b.y0.
+     * Empty if the goal is outside the interior, impassable, or unreachable.
+     */
+    public ArrayDeque<BlockPos> plan(QuarryObstacleMap obstacles, QuarryGeometryHelper.Bounds b,
+                                     BlockPos start, BlockPos goal) {
+        ArrayDeque<BlockPos> empty = new ArrayDeque<>();
+        if (start == null || goal == null) return empty;
+
+        prepare(b);
+
+        if (!contains(goal.getX(), goal.getZ())) return empty;
+        if (obstacles.isImpassable(goal.getX(), goal.getZ())) return empty;
+
+        // Start can sit outside the interior only in degenerate cases; plan nothing then
+        if (!contains(start.getX(), start.getZ())) return empty;
+
+        goalX = goal.getX();
+        goalZ = goal.getZ();
+        int s = index(start.getX(), start.getZ());
+        int t = index(goalX, goalZ);
+
+        touch(s);
+        gScore[s] = 0;
+        fScore[s] = heuristic(s);
+        parent[s] = -1;
+        push(s);
+
+        while (heapSize > 0) {
+            int current = pop();
+
+            if (current == t) return reconstruct(b, s, t);
+            closedStamp[current] = generation;
+
+            int cx = xMin + current % width;
+            int cz = zMin + current / width;
+            int nextG = gScore[current] + 1;
+
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int nz = cz + DZ[d];
+                if (!contains(nx, nz)) continue;
+
+                int n = index(nx, nz);
+                if (closedStamp[n] == generation) continue;
+
+                // Skip impassable columns
+                if (obstacles.isImpassable(nx, nz)) continue;
+
+                if (stamp[n] != generation) {
+                    touch(n);
+                } else if (nextG >= gScore[n]) {
+                    continue;
+                }
+
+                gScore[n] = nextG;
+                fScore[n] = nextG + heuristic(n);
+                parent[n] = current;
+
+                if (heapPos[n] < 0) push(n);
+                else siftUp(heapPos[n]);
+            }
+        }
+
+        return empty; // No path found
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Grid                                                                   */
+    /* ---------------------------------------------------------------------- */
+
+    /** New generation; arrays only grow when the interior does. */
+    private void prepare(QuarryGeometryHelper.Bounds b) {
+        xMin = b.x0 + 1;
+        zMin = b.z0 + 1;
+        width = Math.max(0, (b.x1 - 1) - xMin + 1);
+        depth = Math.max(0, (b.z1 - 1) - zMin + 1);
+
+        int cells = width * depth;
+        if (stamp.length < cells) {
+            gScore = new int[cells];
+            fScore = new int[cells];
+            parent = new int[cells];
+            stamp = new int[cells];
+            closedStamp = new int[cells];
+            heap = new int[cells];
+            heapPos = new int[cells];
+            generation = 0;
+        }
+
+        heapSize = 0;
+        if (++generation == Integer.MAX_VALUE) {
+            // Wrapped: old stamps could collide, so clear once and restart the count
+            Arrays.fill(stamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+    }
+
+    private void touch(int n) {
+        stamp[n] = generation;
+        heapPos[n] = -1;
+    }
+
+    private boolean contains(int x, int z) {
+        return x >= xMin && x < xMin + width && z >= zMin && z < zMin + depth;
+    }
+
+    private int index(int x, int z) {
+        return (z - zMin) * width + (x - xMin);
+    }
+
+    private int heuristic(int n) {
+        int x = xMin + n % width;
+        int z = zMin + n / width;
+        return Math.abs(x - goalX) + Math.abs(z - goalZ);
+    }
+
+    private ArrayDeque<BlockPos> reconstruct(QuarryGeometryHelper.Bounds b, int s, int t) {
+        ArrayDeque<BlockPos> path = new ArrayDeque<>();
+        for (int n = t; n != s; n = parent[n]) {
+            if (n < 0) return new ArrayDeque<>(); // Path reconstruction failed
+            path.addFirst(new BlockPos(xMin + n % width, b.y0, zMin + n / width));
+        }
+        return path;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Indexed binary heap                                                    */
+    /* ---------------------------------------------------------------------- */
+
+    private boolean less(int a, int b) {
+        if (fScore[a] != fScore[b]) return fScore[a] < fScore[b];
+        int ha = fScore[a] - gScore[a], hb = fScore[b] - gScore[b];
+        if (ha != hb) return ha < hb;
+        return a < b;
+    }
+
+    private void push(int n) {
+        heap[heapSize] = n;
+        heapPos[n] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapPos[top] = -1;
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapPos[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int n = heap[i];
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            int pn = heap[p];
+            if (!less(n, pn)) break;
+            heap[i] = pn;
+            heapPos[pn] = i;
+            i = p;
+        }
+        heap[i] = n;
+        heapPos[n] = i;
+    }
+
+    private void siftDown(int i) {
+        int n = heap[i];
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int c = 2 * i + 1;
+            int r = c + 1;
+            if (r < heapSize && less(heap[r], heap[c])) c = r;
+            int cn = heap[c];
+            if (!less(cn, n)) break;
+            heap[i] = cn;
+            heapPos[cn] = i;
+            i = c;
+        }
+        heap[i] = n;
+        heapPos[n] = i;
+    }
+}
@@ -0,0 +1,72 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.nick.buildcraft.BuildCraft;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * /buildcraft quarries: per-quarry tick cost in the executing player's world.
+ *
+ * One line per loaded quarry with its layer, mode (visual / catch-up), average
+ * microseconds per tick over the last QuarryTickBudget window against its
+ * share, and per subsystem the time spent and how often it had to wait.
+ */
+@EventBusSubscriber(modid = BuildCraft.MODID)
+public final class QuarryStatsCommand {
+
+    private QuarryStatsCommand() {}
+
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        event.getDispatcher().register(Commands.literal(BuildCraft.MODID)
+                .requires(src -> src.hasPermission(2))
+                .then(Commands.literal("quarries").executes(QuarryStatsCommand::listQuarries)));
+    }
+
+    private static int listQuarries(CommandContext<CommandSourceStack> ctx) {
+        CommandSourceStack src = ctx.getSource();
+        ServerLevel level = src.getLevel();
+        List<QuarryBlockEntity> quarries = QuarryBlockChangeListener.quarries(level);
+
+        src.sendSuccess(() -> Component.literal(String.format(Locale.ROOT,
+                "%d quarries in %s (window %d ticks)", quarries.size(),
+                level.dimension().location(), QuarryTickBudget.STATS_WINDOW_TICKS)), false);
+
+        for (QuarryBlockEntity qbe : quarries) {
+            String line = describe(qbe);
+            src.sendSuccess(() -> Component.literal(line), false);
+        }
+        return quarries.size();
+    }
+
+    private static String describe(QuarryBlockEntity qbe) {
+        QuarryTickBudget budget = qbe.budget;
+        BlockPos p = qbe.getBlockPos();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "[%d, %d, %d] layer %s, %s, %.1f/%.1f us/t (allowance %.1f)",
+                p.getX(), p.getY(), p.getZ(),
+                qbe.layerY == null ? "-" : qbe.layerY.toString(),
+                qbe.catchingUp ? "catch-up" : "visual",
+                budget.totalAverageMicros(), budget.shareMicros(), budget.allowanceMicros()));
+
+        for (QuarryTickBudget.Work w : QuarryTickBudget.Work.values()) {
+            double us = budget.averageMicros(w);
+            int deferred = budget.deferred(w);
+            if (us < 0.05 && deferred == 0) continue;
+            sb.append(String.format(Locale.ROOT, " | %s %.1f", w.name().toLowerCase(Locale.ROOT), us));
+            if (deferred > 0) sb.append(" (waited ").append(deferred).append(')');
+        }
+        return sb.toString();
+    }
+}
@@ -4,7 +4,6 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.world.level.Level;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -21,17 +20,10 @@ public class QuarrySweepManager {
         qbe.finalSweepCheckedThisLayer = true;  // ensure we compute once per layer
         qbe.finalSweepTargets.clear();
 
-        final int xMin = b.x0 + 1, xMax = b.x1 - 1;
-        final int zMin = b.z0 + 1, zMax = b.z1 - 1;
-
-        List<BlockPos> missing = new ArrayList<>();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int x = xMin; x <= xMax; x++) {
-                if (QuarryGantryManager.columnBlockedAtCeiling(level, b, x, z)) continue;
-                BlockPos p = new BlockPos(x, y, z);
-                if (QuarryMiningManager.shouldMine(level, p)) missing.add(p);
-            }
-        }
+        // Only the cells still set in the layer mask, not the whole area (runs inside mining's budget, counted apart)
+        qbe.budget.begin(QuarryTickBudget.Work.SWEEP);
+        List<BlockPos> missing = QuarryMiningManager.layerMask(qbe, level, b, facing, y).collectRemaining(level, QuarryGantryManager.obstacles(qbe, level, b));
+        qbe.budget.end();
 
         if (missing.isEmpty()) {
             qbe.finalSweepPending = false;
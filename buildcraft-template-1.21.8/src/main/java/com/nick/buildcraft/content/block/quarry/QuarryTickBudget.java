@@ -0,0 +1,130 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.Arrays;
+
+/**
+ * Per-quarry CPU budget, measured with System.nanoTime.
+ *
+ * Every tick the quarry is credited its share of the world's quarry time
+ * budget (QuarryBalancer.timeShareNanos: Config "quarry.tickBudgetMicros",
+ * scaled down with MSPT, split over the active quarries). Each subsystem asks
+ * mayRun() before doing deferrable work and wraps the work in begin()/end():
+ * - the measured time is taken off the allowance, which may go negative; an
+ *   expensive step (a long A* plan, a layer rebuild) is repaid over the next
+ *   ticks instead of being cut off halfway
+ * - work that is refused simply keeps its state on the block entity and runs
+ *   on a later tick (drill progress, a pending repath, a flush, a frame verify)
+ * - unspent allowance carries over, up to MAX_CARRY_TICKS shares
+ *
+ * A busy server therefore slows quarries down gradually rather than letting
+ * them add a fixed cost to every tick. QuarryBalancer tokens still cap block
+ * removals per world tick; this budget covers the CPU time around them.
+ *
+ * begin()/end() nest: time spent in an inner work (the final sweep inside
+ * mining) is attributed to the inner work only and charged once.
+ *
+ * Stats are kept per window of STATS_WINDOW_TICKS and shown by /buildcraft quarries.
+ */
+public final class QuarryTickBudget {
+
+    public enum Work { FRAME, GANTRY, PATHING, HEADS, MINING, SWEEP, OUTPUT }
+
+    private static final int MAX_CARRY_TICKS = 4;
+    private static final int MAX_DEPTH = 4;
+    public static final int STATS_WINDOW_TICKS = 100;
+
+    private static final int WORKS = Work.values().length;
+
+    private long allowanceNs = 0;
+    private long shareNs = 0;
+
+    // Open begin() calls
+    private final Work[] open = new Work[MAX_DEPTH];
+    private final long[] openStart = new long[MAX_DEPTH];
+    private final long[] openInner = new long[MAX_DEPTH];
+    private int depth = 0;
+
+    // Stats: current window, and the last complete one
+    private long windowStartGT = Long.MIN_VALUE;
+    private int windowTicks = 0;
+    private final long[] windowNs = new long[WORKS];
+    private final int[] windowDeferred = new int[WORKS];
+    private int lastTicks = 0;
+    private final long[] lastNs = new long[WORKS];
+    private final int[] lastDeferred = new int[WORKS];
+
+    /** Once per quarry tick, before any work: credit this tick's share. */
+    public void beginTick(ServerLevel level) {
+        depth = 0; // a work that threw last tick never ended
+
+        long gt = level.getGameTime();
+        if (windowStartGT == Long.MIN_VALUE || gt - windowStartGT >= STATS_WINDOW_TICKS) {
+            lastTicks = windowTicks;
+            System.arraycopy(windowNs, 0, lastNs, 0, WORKS);
+            System.arraycopy(windowDeferred, 0, lastDeferred, 0, WORKS);
+            Arrays.fill(windowNs, 0L);
+            Arrays.fill(windowDeferred, 0);
+            windowTicks = 0;
+            windowStartGT = gt;
+        }
+        windowTicks++;
+
+        shareNs = QuarryBalancer.timeShareNanos(level);
+        allowanceNs = Math.min(allowanceNs + shareNs, shareNs * MAX_CARRY_TICKS);
+    }
+
+    /** True if deferrable work may run now; counted as deferred otherwise. */
+    public boolean mayRun(Work w) {
+        if (allowanceNs > 0) return true;
+        windowDeferred[w.ordinal()]++;
+        return false;
+    }
+
+    public void begin(Work w) {
+        if (depth == MAX_DEPTH) return;
+        open[depth] = w;
+        openStart[depth] = System.nanoTime();
+        openInner[depth] = 0;
+        depth++;
+    }
+
+    public void end() {
+        if (depth == 0) return;
+        depth--;
+        long total = System.nanoTime() - openStart[depth];
+        windowNs[open[depth].ordinal()] += total - openInner[depth];
+        if (depth > 0) openInner[depth - 1] += total;
+        else allowanceNs -= total;
+    }
+
+    /* ---------------------------------------------------------------------- */
+    /*  Stats (last complete window)                                           */
+    /* ---------------------------------------------------------------------- */
+
+    /** Average microseconds per tick spent on w. */
+    public double averageMicros(Work w) {
+        return lastTicks == 0 ? 0.0 : lastNs[w.ordinal()] / 1000.0 / lastTicks;
+    }
+
+    public double totalAverageMicros() {
+        double sum = 0.0;
+        for (Work w : Work.values()) sum += averageMicros(w);
+        return sum;
+    }
+
+    /** Times w was refused for lack of budget. */
+    public int deferred(Work w) {
+        return lastDeferred[w.ordinal()];
+    }
+
+    public double shareMicros() {
+        return shareNs / 1000.0;
+    }
+
+    /** Current allowance; negative while an overrun is being repaid. */
+    public double allowanceMicros() {
+        return allowanceNs / 1000.0;
+    }
+}
@@ -2,7 +2,6 @@ package com.nick.buildcraft.content.block.refinery;
 
 import com.nick.buildcraft.api.engine.EnginePowerAcceptorApi;
 import com.nick.buildcraft.api.engine.EnginePulseAcceptorApi;
-import com.nick.buildcraft.content.block.engine.EngineBlockEntity;
 import com.nick.buildcraft.registry.ModFluids;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -41,8 +40,9 @@ public class RefineryBlockEntity extends BlockEntity
     public static final double MAGNET_TRAVEL_DISTANCE = 0.75;
     private static final int RESTING_ANIMATION_SPEED = 5; // ticks to reach resting position
 
-    // Engine RPM tracking
-    private int lastQueriedRPM = BASE_RPM;  // RPM from adjacent engines (defaults to base)
+    // Engine RPM tracking (pushed by the engines facing us, see onEngineRpmChanged)
+    private final int[] engineRpmBySide = new int[6];  // By 3D data value; 0 = no running engine
+    private int engineRPM = BASE_RPM;                  // Fastest adjacent engine (defaults to base)
 
     // ===== FLUID STORAGE =====
     // Two oil input tanks (visually on the back)
@@ -102,6 +102,18 @@ public class RefineryBlockEntity extends BlockEntity
         setChanged();
     }
 
+    @Override
+    public void onEngineRpmChanged(Direction from, int rpm) {
+        if (level == null || level.isClientSide) return;
+        engineRpmBySide[from.get3DDataValue()] = Math.max(0, rpm);
+        int rpmNow = fastestEngineRPM();
+        if (rpmNow != engineRPM) {
+            engineRPM = rpmNow;
+            setChanged();
+            syncToClient();
+        }
+    }
+
     // ===== MAIN TICK LOGIC =====
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, RefineryBlockEntity entity) {
@@ -109,9 +121,6 @@ public class RefineryBlockEntity extends BlockEntity
 
         boolean wasPowered = entity.isActive;
 
-        // Query adjacent engines every tick to catch RPM/phase changes immediately
-        entity.lastQueriedRPM = entity.getAdjacentEngineRPM(level, pos);
-
         // Active if we have queued pulses
         entity.isActive = entity.queuedPulses > 0;
 
@@ -141,9 +150,6 @@ public class RefineryBlockEntity extends BlockEntity
         entity.magnet1ProgressO = entity.magnet1Progress;
         entity.magnet2ProgressO = entity.magnet2Progress;
 
-        // Query adjacent engines every tick on client too for real-time animation updates
-        entity.lastQueriedRPM = entity.getAdjacentEngineRPM(level, pos);
-
         if (entity.isActive) {
             entity.updateActiveAnimation();
         } else {
@@ -197,7 +203,7 @@ public class RefineryBlockEntity extends BlockEntity
     private void updateActiveAnimation() {
         // Calculate dynamic period based on engine RPM
         // Scale inversely: higher RPM = smaller period = faster animation
-        float dynamicPeriod = (float) PERIOD * BASE_RPM / Math.max(lastQueriedRPM, 1);
+        float dynamicPeriod = (float) PERIOD * BASE_RPM / Math.max(engineRPM, 1);
 
         // Sinusoidal movement for magnet 1
         pumpTick++;
@@ -456,6 +462,7 @@ public class RefineryBlockEntity extends BlockEntity
         out.putInt("QueuedPulses", queuedPulses);
         out.putInt("PumpTick", pumpTick);
         out.putInt("IsActive", isActive ? 1 : 0);
+        out.putIntArray("EngineRPMs", engineRpmBySide);
 
         oilTank1.serialize(out.child("OilTank1"));
         oilTank2.serialize(out.child("OilTank2"));
@@ -468,34 +475,22 @@ public class RefineryBlockEntity extends BlockEntity
         queuedPulses = in.getInt("QueuedPulses").orElse(0);
         pumpTick = in.getInt("PumpTick").orElse(0);
         isActive = in.getInt("IsActive").orElse(0) != 0;
+        in.getIntArray("EngineRPMs").ifPresent(a -> System.arraycopy(a, 0, engineRpmBySide, 0, Math.min(a.length, 6)));
+        engineRPM = fastestEngineRPM();
 
         oilTank1.deserialize(in.childOrEmpty("OilTank1"));
         oilTank2.deserialize(in.childOrEmpty("OilTank2"));
         fuelTank.deserialize(in.childOrEmpty("FuelTank"));
     }
 
-    // ===== ENGINE RPM QUERYING =====
+    // ===== ENGINE RPM =====
 
-    /**
-     * Queries adjacent block entities for engines and returns the highest RPM found.
-     * Searches in all 6 directions (up, down, north, south, east, west).
-     */
-    private int getAdjacentEngineRPM(Level level, BlockPos pos) {
-        int maxRPM = BASE_RPM;  // Default to base if no engines found
-
-        // Check all 6 directions
-        for (Direction direction : Direction.values()) {
-            BlockPos neighborPos = pos.relative(direction);
-            BlockEntity neighborEntity = level.getBlockEntity(neighborPos);
-
-            if (neighborEntity instanceof EngineBlockEntity engine) {
-                int engineRPM = engine.getRPM();
-                if (engineRPM > maxRPM) {
-                    maxRPM = engineRPM;
-                }
-            }
+    /** Highest RPM pushed by an adjacent engine, or BASE_RPM if none is faster. */
+    private int fastestEngineRPM() {
+        int maxRPM = BASE_RPM;
+        for (int rpm : engineRpmBySide) {
+            if (rpm > maxRPM) maxRPM = rpm;
         }
-
         return maxRPM;
     }
 }
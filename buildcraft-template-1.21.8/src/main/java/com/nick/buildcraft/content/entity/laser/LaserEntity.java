@@ -88,6 +88,12 @@ public class LaserEntity extends Entity {
         out.putDouble("EndX",   e.x); out.putDouble("EndY",   e.y); out.putDouble("EndZ",   e.z);
     }
 
+    // Transient markers: never written to disk (quarries from older versions saved theirs; those drop on the next save)
+    @Override
+    public boolean shouldBeSaved() {
+        return false;
+    }
+
     @Override
     public Packet<ClientGamePacketListener> getAddEntityPacket(ServerEntity serverEntity) {
         return new ClientboundAddEntityPacket(this, serverEntity);
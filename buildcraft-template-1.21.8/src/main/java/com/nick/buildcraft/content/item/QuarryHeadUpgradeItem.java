@@ -0,0 +1,32 @@
+package com.nick.buildcraft.content.item;
+
+import com.nick.buildcraft.content.block.quarry.QuarryBlockEntity;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.context.UseOnContext;
+
+/**
+ * Quarry head upgrade: use on a quarry controller to fit one more mining head
+ * (up to QuarryHeadManager.MAX_HEADS per frame). The heads split each layer
+ * into stripes and share the quarry's energy buffer.
+ */
+public class QuarryHeadUpgradeItem extends Item {
+    public QuarryHeadUpgradeItem(Properties props) {
+        super(props);
+    }
+
+    @Override
+    public InteractionResult useOn(UseOnContext ctx) {
+        var level = ctx.getLevel();
+        if (!(level.getBlockEntity(ctx.getClickedPos()) instanceof QuarryBlockEntity qbe)) {
+            return InteractionResult.PASS;
+        }
+        if (level.isClientSide) return InteractionResult.SUCCESS;
+
+        if (!qbe.installHead()) return InteractionResult.FAIL; // already at max heads
+        if (ctx.getPlayer() == null || !ctx.getPlayer().getAbilities().instabuild) {
+            ctx.getItemInHand().shrink(1);
+        }
+        return InteractionResult.SUCCESS;
+    }
+}
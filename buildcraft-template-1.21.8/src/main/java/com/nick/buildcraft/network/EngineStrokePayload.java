@@ -0,0 +1,52 @@
+package com.nick.buildcraft.network;
+
+import com.nick.buildcraft.BuildCraft;
+import com.nick.buildcraft.content.block.engine.EngineBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Piston stroke of one engine (server -> client).
+ *
+ * Sent only when the stroke changes (engine starts or stops, heat phase or
+ * healing speed changes the period); the client animates the piston from its
+ * own game time in between: pumpTick = (gameTime - startGT) % period + 1.
+ */
+public record EngineStrokePayload(BlockPos pos, long startGT, int period, boolean running) implements CustomPacketPayload {
+
+    public static final Type<EngineStrokePayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(BuildCraft.MODID, "engine_stroke"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, EngineStrokePayload> STREAM_CODEC =
+            StreamCodec.ofMember(EngineStrokePayload::write, EngineStrokePayload::read);
+
+    @Override
+    public Type<EngineStrokePayload> type() {
+        return TYPE;
+    }
+
+    private void write(RegistryFriendlyByteBuf buf) {
+        buf.writeBlockPos(pos);
+        buf.writeVarLong(startGT);
+        buf.writeVarInt(period);
+        buf.writeBoolean(running);
+    }
+
+    private static EngineStrokePayload read(RegistryFriendlyByteBuf buf) {
+        return new EngineStrokePayload(buf.readBlockPos(), buf.readVarLong(), buf.readVarInt(), buf.readBoolean());
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Client handling (runs on the main thread)                             */
+    /* --------------------------------------------------------------------- */
+
+    public static void handleClient(EngineStrokePayload payload, IPayloadContext context) {
+        if (context.player().level().getBlockEntity(payload.pos()) instanceof EngineBlockEntity engine) {
+            engine.applyStroke(payload.startGT(), payload.period(), payload.running());
+        }
+    }
+}
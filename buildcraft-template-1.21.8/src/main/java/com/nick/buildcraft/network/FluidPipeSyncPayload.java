@@ -0,0 +1,94 @@
+package com.nick.buildcraft.network;
+
+import com.nick.buildcraft.BuildCraft;
+import com.nick.buildcraft.content.block.fluidpipe.FluidPipeBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.fluids.FluidStack;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact render-state delta for fluid pipes (server -> client).
+ *
+ * One packet carries every pipe in a single chunk that changed this tick.
+ * Each entry has a dirty mask (see FluidPipeBlockEntity.DIRTY_*) and only
+ * the masked fields are written:
+ *  - fluid : FluidStack (type only, amount is always 1)
+ *  - fill  : quantized fill fraction, 0..FILL_STEPS (one byte)
+ *  - flow  : downstream side, Direction 3D value + 1 (0 = none, one byte)
+ */
+public record FluidPipeSyncPayload(List<Entry> entries) implements CustomPacketPayload {
+
+    public static final Type<FluidPipeSyncPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(BuildCraft.MODID, "fluid_pipe_sync"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, FluidPipeSyncPayload> STREAM_CODEC =
+            StreamCodec.ofMember(FluidPipeSyncPayload::write, FluidPipeSyncPayload::read);
+
+    /** One pipe's changed render fields. Unmasked fields are ignored by the receiver. */
+    public record Entry(BlockPos pos, int mask, FluidStack fluid, int fill, int flow) {}
+
+    @Override
+    public Type<FluidPipeSyncPayload> type() {
+        return TYPE;
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Wire format                                                           */
+    /* --------------------------------------------------------------------- */
+
+    private void write(RegistryFriendlyByteBuf buf) {
+        buf.writeVarInt(entries.size());
+        for (Entry e : entries) {
+            buf.writeBlockPos(e.pos());
+            buf.writeByte(e.mask());
+            if ((e.mask() & FluidPipeBlockEntity.DIRTY_FLUID) != 0) {
+                FluidStack.OPTIONAL_STREAM_CODEC.encode(buf, e.fluid());
+            }
+            if ((e.mask() & FluidPipeBlockEntity.DIRTY_FILL) != 0) {
+                buf.writeByte(e.fill());
+            }
+            if ((e.mask() & FluidPipeBlockEntity.DIRTY_FLOW) != 0) {
+                buf.writeByte(e.flow() + 1);
+            }
+        }
+    }
+
+    private static FluidPipeSyncPayload read(RegistryFriendlyByteBuf buf) {
+        int count = buf.readVarInt();
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BlockPos pos = buf.readBlockPos();
+            int mask = buf.readUnsignedByte();
+            FluidStack fluid = (mask & FluidPipeBlockEntity.DIRTY_FLUID) != 0
+                    ? FluidStack.OPTIONAL_STREAM_CODEC.decode(buf)
+                    : FluidStack.EMPTY;
+            int fill = (mask & FluidPipeBlockEntity.DIRTY_FILL) != 0 ? buf.readUnsignedByte() : 0;
+            int flow = (mask & FluidPipeBlockEntity.DIRTY_FLOW) != 0
+                    ? buf.readUnsignedByte() - 1
+                    : FluidPipeBlockEntity.FLOW_NONE;
+            entries.add(new Entry(pos, mask, fluid, fill, flow));
+        }
+        return new FluidPipeSyncPayload(entries);
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Client handling (runs on the main thread)                             */
+    /* --------------------------------------------------------------------- */
+
+    public static void handleClient(FluidPipeSyncPayload payload, IPayloadContext context) {
+        Level level = context.player().level();
+        for (Entry e : payload.entries()) {
+            if (level.getBlockEntity(e.pos()) instanceof FluidPipeBlockEntity pipe) {
+                pipe.applyRenderSync(e.mask(), e.fluid(), e.fill(), e.flow());
+            }
+        }
+    }
+}
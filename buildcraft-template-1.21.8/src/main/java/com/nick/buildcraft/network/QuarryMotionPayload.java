@@ -0,0 +1,52 @@
+package com.nick.buildcraft.network;
+
+import com.nick.buildcraft.BuildCraft;
+import com.nick.buildcraft.content.block.quarry.QuarryBlockEntity;
+import com.nick.buildcraft.content.block.quarry.QuarryMotionSegment;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * Gantry motion segment for one quarry head (server -> client).
+ *
+ * Replaces the per-tick full block-entity update while the gantry moves:
+ * the client extrapolates the segment locally until the next one arrives.
+ * head 0 is the main gantry, 1..3 the extra heads of an upgraded quarry.
+ */
+public record QuarryMotionPayload(BlockPos pos, int head, QuarryMotionSegment segment) implements CustomPacketPayload {
+
+    public static final Type<QuarryMotionPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(BuildCraft.MODID, "quarry_motion"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, QuarryMotionPayload> STREAM_CODEC =
+            StreamCodec.ofMember(QuarryMotionPayload::write, QuarryMotionPayload::read);
+
+    @Override
+    public Type<QuarryMotionPayload> type() {
+        return TYPE;
+    }
+
+    private void write(RegistryFriendlyByteBuf buf) {
+        buf.writeBlockPos(pos);
+        buf.writeVarInt(head);
+        segment.write(buf);
+    }
+
+    private static QuarryMotionPayload read(RegistryFriendlyByteBuf buf) {
+        return new QuarryMotionPayload(buf.readBlockPos(), buf.readVarInt(), QuarryMotionSegment.read(buf));
+    }
+
+    /* --------------------------------------------------------------------- */
+    /* Client handling (runs on the main thread)                             */
+    /* --------------------------------------------------------------------- */
+
+    public static void handleClient(QuarryMotionPayload payload, IPayloadContext context) {
+        if (context.player().level().getBlockEntity(payload.pos()) instanceof QuarryBlockEntity qbe) {
+            qbe.applyMotion(payload.head(), payload.segment());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.nick.buildcraft.registry;
+
+import com.nick.buildcraft.BuildCraft;
+import com.nick.buildcraft.content.block.quarry.QuarryGameTests;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.DeferredRegister;
+
+import java.util.function.Consumer;
+
+/**
+ * GameTest functions. Each one is bound to a structure and a time limit by a
+ * test instance in data/buildcraft/test_instance (run with the gameTestServer
+ * config or /test).
+ */
+public final class ModGameTests {
+    private ModGameTests() {}
+
+    public static final DeferredRegister<Consumer<GameTestHelper>> TEST_FUNCTIONS =
+            DeferredRegister.create(Registries.TEST_FUNCTION, BuildCraft.MODID);
+
+    public static final DeferredHolder<Consumer<GameTestHelper>, Consumer<GameTestHelper>> QUARRY_CATCH_UP_PARITY =
+            TEST_FUNCTIONS.register("quarry_catch_up_parity", () -> QuarryGameTests::catchUpParity);
+}
@@ -1,6 +1,7 @@
 package com.nick.buildcraft.registry;
 
 import com.nick.buildcraft.BuildCraft;
+import com.nick.buildcraft.content.item.QuarryHeadUpgradeItem;
 import com.nick.buildcraft.content.item.WrenchItem;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceKey;
@@ -149,4 +150,17 @@ public final class ModItems {
                                             ResourceLocation.fromNamespaceAndPath(BuildCraft.MODID, "wrench")
                                     ))
                     ));
+
+    /* ---------- Upgrades ---------- */
+
+    public static final DeferredItem<Item> QUARRY_HEAD_UPGRADE =
+            ITEMS.register("quarry_head_upgrade",
+                    () -> new QuarryHeadUpgradeItem(
+                            new Item.Properties()
+                                    .stacksTo(16)
+                                    .setId(ResourceKey.create(
+                                            Registries.ITEM,
+                                            ResourceLocation.fromNamespaceAndPath(BuildCraft.MODID, "quarry_head_upgrade")
+                                    ))
+                    ));
 }
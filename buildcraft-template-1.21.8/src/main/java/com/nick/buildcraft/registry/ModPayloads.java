@@ -0,0 +1,65 @@
+package com.nick.buildcraft.registry;
+
+import com.nick.buildcraft.network.EngineStrokePayload;
+import com.nick.buildcraft.network.FluidPipeSyncPayload;
+import com.nick.buildcraft.network.QuarryMotionPayload;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+import net.neoforged.neoforge.network.registration.PayloadRegistrar;
+
+/**
+ * Central custom-packet wiring for BuildCraft.
+ *
+ * Bump PROTOCOL_VERSION whenever a payload's wire format changes so
+ * mismatched client/server builds refuse to connect instead of desyncing.
+ *
+ * This class is hooked into the mod event bus from BuildCraft.
+ */
+public final class ModPayloads {
+
+    private ModPayloads() {}
+
+    public static final String PROTOCOL_VERSION = "5";
+
+    /** Call this once in your mod constructor: ModPayloads.register(modEventBus); */
+    public static void register(IEventBus modEventBus) {
+        modEventBus.addListener(ModPayloads::onRegisterPayloads);
+    }
+
+    private static void onRegisterPayloads(RegisterPayloadHandlersEvent event) {
+        PayloadRegistrar registrar = event.registrar(PROTOCOL_VERSION);
+
+        /* ------------------------------------------------------------------
+         * FLUID PIPE
+         * ------------------------------------------------------------------ */
+
+        // batched per-chunk render deltas (fluid / fill / wave front)
+        registrar.playToClient(
+                FluidPipeSyncPayload.TYPE,
+                FluidPipeSyncPayload.STREAM_CODEC,
+                FluidPipeSyncPayload::handleClient
+        );
+
+        /* ------------------------------------------------------------------
+         * QUARRY
+         * ------------------------------------------------------------------ */
+
+        // gantry motion segments, extrapolated client-side between packets
+        registrar.playToClient(
+                QuarryMotionPayload.TYPE,
+                QuarryMotionPayload.STREAM_CODEC,
+                QuarryMotionPayload::handleClient
+        );
+
+        /* ------------------------------------------------------------------
+         * ENGINES
+         * ------------------------------------------------------------------ */
+
+        // piston stroke (start time + period), animated client-side
+        registrar.playToClient(
+                EngineStrokePayload.TYPE,
+                EngineStrokePayload.STREAM_CODEC,
+                EngineStrokePayload::handleClient
+        );
+    }
+}
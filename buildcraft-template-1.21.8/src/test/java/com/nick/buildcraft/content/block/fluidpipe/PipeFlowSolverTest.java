@@ -0,0 +1,178 @@
+package com.nick.buildcraft.content.block.fluidpipe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Headless checks for PipeFlowSolver: no Level, no block entities, fixed seeds.
+ */
+class PipeFlowSolverTest {
+
+    private static final long CAPACITY = 1000L;
+
+    /** Straight line 0 -> 1 -> ... -> n-1. */
+    private static int[] chain(int n) {
+        int[] parent = new int[n];
+        for (int id = 0; id < n; id++) parent[id] = id - 1;
+        return parent;
+    }
+
+    /** Root with n leaf children. */
+    private static int[] star(int n) {
+        int[] parent = new int[n + 1];
+        parent[0] = -1;
+        return parent;
+    }
+
+    /** Random tree in BFS-compatible order (every parent id is smaller than its child's). */
+    private static int[] randomTree(Random rnd, int n) {
+        int[] parent = new int[n];
+        parent[0] = -1;
+        for (int id = 1; id < n; id++) parent[id] = rnd.nextInt(id);
+        return parent;
+    }
+
+    // ---------------------------------------------------------------------
+    // Volume conservation
+    // ---------------------------------------------------------------------
+
+    @Test
+    void stepConservesVolume() {
+        Random rnd = new Random(42L);
+        for (int trial = 0; trial < 50; trial++) {
+            PipeFlowSolver solver = new PipeFlowSolver(randomTree(rnd, 1 + rnd.nextInt(200)), CAPACITY);
+            long expected = 0L;
+
+            for (int tick = 0; tick < 100; tick++) {
+                expected += solver.inject(0, rnd.nextInt(1500));
+                int leaf = rnd.nextInt(solver.size());
+                if (solver.childCount(leaf) == 0) expected -= solver.drain(leaf, rnd.nextInt(300));
+
+                solver.step(1 + rnd.nextInt(4));
+                assertEquals(expected, solver.totalVolume(), "trial " + trial + " tick " + tick);
+            }
+        }
+    }
+
+    @Test
+    void injectAndDrainReportWhatMoved() {
+        PipeFlowSolver solver = new PipeFlowSolver(chain(3), CAPACITY);
+
+        assertEquals(CAPACITY, solver.inject(0, 5000L));
+        assertEquals(0L, solver.inject(0, 1L));
+        assertEquals(CAPACITY, solver.drain(0, 5000L));
+        assertEquals(0L, solver.drain(0, 1L));
+        assertEquals(0L, solver.totalVolume());
+    }
+
+    // ---------------------------------------------------------------------
+    // Capacity limits
+    // ---------------------------------------------------------------------
+
+    @Test
+    void noPipeEverExceedsCapacity() {
+        Random rnd = new Random(7L);
+        PipeFlowSolver solver = new PipeFlowSolver(randomTree(rnd, 128), CAPACITY);
+
+        for (int tick = 0; tick < 500; tick++) {
+            solver.inject(0, CAPACITY);
+            solver.step(3);
+            for (int id = 0; id < solver.size(); id++) {
+                long a = solver.amount(id);
+                assertTrue(a >= 0L && a <= CAPACITY, "pipe " + id + " holds " + a);
+            }
+        }
+        // with no drain the whole network ends up full, and nothing more fits
+        assertEquals(0L, solver.freeSpace());
+        assertEquals(0L, solver.inject(0, 1L));
+    }
+
+    @Test
+    void setAmountClampsToCapacity() {
+        PipeFlowSolver solver = new PipeFlowSolver(chain(2), CAPACITY);
+        solver.setAmount(0, CAPACITY * 3);
+        solver.setAmount(1, -5L);
+        assertEquals(CAPACITY, solver.amount(0));
+        assertEquals(0L, solver.amount(1));
+    }
+
+    @Test
+    void fullChildIsSkipped() {
+        PipeFlowSolver solver = new PipeFlowSolver(star(2), CAPACITY);
+        solver.setAmount(1, CAPACITY);
+        solver.inject(0, 600L);
+
+        solver.step(1);
+
+        assertEquals(CAPACITY, solver.amount(1));
+        assertEquals(600L, solver.amount(2));
+        assertEquals(0L, solver.amount(0));
+    }
+
+    // ---------------------------------------------------------------------
+    // Splitting at branches
+    // ---------------------------------------------------------------------
+
+    @Test
+    void branchSplitsEvenly() {
+        PipeFlowSolver solver = new PipeFlowSolver(star(3), CAPACITY);
+        solver.inject(0, 900L);
+
+        solver.step(1);
+
+        assertEquals(0L, solver.amount(0));
+        for (int child = 1; child <= 3; child++) assertEquals(300L, solver.amount(child));
+    }
+
+    @Test
+    void unevenAmountSplitsWithinOneMb() {
+        for (int children = 2; children <= 6; children++) {
+            for (long mb = 1L; mb <= 50L; mb++) {
+                PipeFlowSolver solver = new PipeFlowSolver(star(children), CAPACITY);
+                solver.inject(0, mb);
+                solver.step(1);
+
+                long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+                for (int child = 1; child <= children; child++) {
+                    min = Math.min(min, solver.amount(child));
+                    max = Math.max(max, solver.amount(child));
+                }
+                assertTrue(max - min <= 1L, children + " children, " + mb + " mB: " + min + ".." + max);
+                assertEquals(mb, solver.totalVolume());
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Propagation and determinism
+    // ---------------------------------------------------------------------
+
+    @Test
+    void forwardSweepReachesEndOfChain() {
+        PipeFlowSolver solver = new PipeFlowSolver(chain(10), CAPACITY);
+        solver.inject(0, 500L);
+
+        solver.step(1);
+
+        assertEquals(500L, solver.amount(9));
+    }
+
+    @Test
+    void sameInputsGiveSameState() {
+        int[] parent = randomTree(new Random(99L), 300);
+        PipeFlowSolver a = new PipeFlowSolver(parent, CAPACITY);
+        PipeFlowSolver b = new PipeFlowSolver(parent, CAPACITY);
+
+        for (int tick = 0; tick < 200; tick++) {
+            a.inject(0, 37L * tick);
+            b.inject(0, 37L * tick);
+            a.step(2);
+            b.step(2);
+        }
+        for (int id = 0; id < parent.length; id++) assertEquals(a.amount(id), b.amount(id));
+    }
+}
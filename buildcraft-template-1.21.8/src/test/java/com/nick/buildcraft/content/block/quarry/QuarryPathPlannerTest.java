@@ -0,0 +1,152 @@
+package com.nick.buildcraft.content.block.quarry;
+
+import net.minecraft.core.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Golden paths for QuarryPathPlanner over a hand-built QuarryObstacleMap.
+ *
+ * Frame x/z 0..10 (interior 1..9), y 64..69, so max lift is 3 and a column
+ * whose highest obstacle is at y >= 66 is impassable.
+ *
+ * The exact routes pin the tie-break (lower f, then lower h, then lower cell
+ * index; neighbours +X, -X, +Z, -Z): a change to it shows up here first.
+ */
+class QuarryPathPlannerTest {
+
+    private static final QuarryGeometryHelper.Bounds BOUNDS = new QuarryGeometryHelper.Bounds(0, 64, 0, 10, 69, 10);
+    private static final int Y = BOUNDS.y0;
+    private static final int WALL = 66;     // impassable
+    private static final int BUMP = 64;     // passable, needs lift
+
+    private static QuarryObstacleMap emptyMap() {
+        return new QuarryObstacleMap(BOUNDS, Y);
+    }
+
+    private static String plan(QuarryObstacleMap map, int sx, int sz, int gx, int gz) {
+        ArrayDeque<BlockPos> path = new QuarryPathPlanner().plan(map, BOUNDS, new BlockPos(sx, Y, sz), new BlockPos(gx, Y, gz));
+        StringJoiner out = new StringJoiner(" ");
+        for (BlockPos p : path) out.add("(" + p.getX() + "," + p.getZ() + ")");
+        return out.toString();
+    }
+
+    // ---------------------------------------------------------------------
+    // Golden paths
+    // ---------------------------------------------------------------------
+
+    @Test
+    void openGrid() {
+        assertEquals("(2,1) (3,1) (4,1) (4,2) (4,3)", plan(emptyMap(), 1, 1, 4, 3));
+        assertEquals("(9,8) (9,7) (9,6) (8,6) (7,6)", plan(emptyMap(), 9, 9, 7, 6));
+    }
+
+    @Test
+    void detourThroughGapInWall() {
+        QuarryObstacleMap map = emptyMap();
+        for (int z = 1; z <= 8; z++) map.setColumn(5, z, WALL, false);
+
+        assertEquals("(3,2) (4,2) (4,3) (4,4) (4,5) (4,6) (4,7) (4,8) (4,9) (5,9) "
+                + "(6,9) (6,8) (6,7) (6,6) (6,5) (6,4) (6,3) (6,2) (7,2) (8,2)", plan(map, 2, 2, 8, 2));
+    }
+
+    @Test
+    void lowObstacleIsCrossedNotAvoided() {
+        QuarryObstacleMap map = emptyMap();
+        map.setColumn(3, 1, BUMP, false);
+
+        assertFalse(map.isImpassable(3, 1));
+        assertEquals("(2,1) (3,1) (4,1) (5,1)", plan(map, 1, 1, 5, 1));
+        assertEquals(3.0, map.requiredLift(1, 1, 5, 1));
+        assertEquals(0.0, map.requiredLift(1, 2, 5, 2));
+    }
+
+    @Test
+    void nothingToPlan() {
+        QuarryObstacleMap map = emptyMap();
+        map.setColumn(6, 6, WALL, false);
+
+        assertEquals("", plan(map, 3, 3, 3, 3));                 // already there
+        assertEquals("", plan(map, 3, 3, 6, 6));                 // goal impassable
+        assertEquals("", plan(map, 3, 3, 10, 3));                // goal on the frame
+
+        for (int x = 7; x <= 9; x++) map.setColumn(x, 7, WALL, false);
+        for (int z = 8; z <= 9; z++) map.setColumn(7, z, WALL, false);
+        assertEquals("", plan(map, 3, 3, 9, 9));                 // goal walled in
+    }
+
+    // ---------------------------------------------------------------------
+    // Shortest length, valid steps, reuse
+    // ---------------------------------------------------------------------
+
+    @Test
+    void randomMapsMatchBreadthFirstLength() {
+        Random rnd = new Random(2024L);
+        QuarryPathPlanner reused = new QuarryPathPlanner();
+
+        for (int trial = 0; trial < 300; trial++) {
+            QuarryObstacleMap map = emptyMap();
+            boolean[][] blocked = new boolean[11][11];
+            for (int x = 1; x <= 9; x++) {
+                for (int z = 1; z <= 9; z++) {
+                    if (rnd.nextInt(4) == 0) {
+                        map.setColumn(x, z, WALL, false);
+                        blocked[x][z] = true;
+                    }
+                }
+            }
+            int sx = 1 + rnd.nextInt(9), sz = 1 + rnd.nextInt(9);
+            int gx = 1 + rnd.nextInt(9), gz = 1 + rnd.nextInt(9);
+            blocked[sx][sz] = false;
+            map.setColumn(sx, sz, -1, false);
+
+            BlockPos start = new BlockPos(sx, Y, sz), goal = new BlockPos(gx, Y, gz);
+            ArrayDeque<BlockPos> path = reused.plan(map, BOUNDS, start, goal);
+            ArrayDeque<BlockPos> fresh = new QuarryPathPlanner().plan(map, BOUNDS, start, goal);
+
+            int expected = (sx == gx && sz == gz) ? 0 : bfsLength(blocked, sx, sz, gx, gz);
+            assertEquals(Math.max(expected, 0), path.size(), "trial " + trial);
+            assertEquals(Arrays.asList(fresh.toArray()), Arrays.asList(path.toArray()), "reused planner, trial " + trial);
+
+            int x = sx, z = sz;
+            for (BlockPos p : path) {
+                assertEquals(1, Math.abs(p.getX() - x) + Math.abs(p.getZ() - z), "trial " + trial);
+                assertFalse(blocked[p.getX()][p.getZ()], "trial " + trial);
+                assertEquals(Y, p.getY());
+                x = p.getX();
+                z = p.getZ();
+            }
+            if (!path.isEmpty()) assertTrue(x == gx && z == gz, "trial " + trial);
+        }
+    }
+
+    /** Reference shortest 4-connected distance over the interior, -1 if unreachable. */
+    private static int bfsLength(boolean[][] blocked, int sx, int sz, int gx, int gz) {
+        if (blocked[gx][gz]) return -1;
+        int[][] dist = new int[11][11];
+        for (int[] row : dist) Arrays.fill(row, -1);
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        dist[sx][sz] = 0;
+        queue.add(new int[]{sx, sz});
+        int[][] steps = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        while (!queue.isEmpty()) {
+            int[] c = queue.poll();
+            for (int[] s : steps) {
+                int nx = c[0] + s[0], nz = c[1] + s[1];
+                if (nx < 1 || nx > 9 || nz < 1 || nz > 9) continue;
+                if (blocked[nx][nz] || dist[nx][nz] >= 0) continue;
+                dist[nx][nz] = dist[c[0]][c[1]] + 1;
+                queue.add(new int[]{nx, nz});
+            }
+        }
+        return dist[gx][gz];
+    }
+}